@@ -24,6 +24,12 @@ public interface EventConstants {
   String DESTINATION = "office-v1";
   String OPERATION_HEADER = "operation";
 
+  // Carries OfficeEvent and EmployeeEvent payloads with the full state after the change,
+  // using the same operation header values as DESTINATION.
+  String ENRICHED_DESTINATION = "office-v1-enriched";
+  String VERSION_HEADER = "event-version";
+  String ENRICHED_EVENT_VERSION = "1";
+
   String INITIALIZE = "initialize";
 
   String OPERATION_POST_OFFICE = "post-office";
@@ -32,12 +38,14 @@ public interface EventConstants {
   String OPERATION_PUT_ADDRESS = "put-address";
   String OPERATION_DELETE_ADDRESS = "delete-address";
   String OPERATION_PUT_REFERENCE = "put-reference";
+  String OPERATION_IMPORT_OFFICES = "import-offices";
 
   String OPERATION_POST_EMPLOYEE = "post-employee";
   String OPERATION_PUT_EMPLOYEE = "put-employee";
   String OPERATION_DELETE_EMPLOYEE = "delete-employee";
   String OPERATION_PUT_CONTACT_DETAIL = "put-contact-detail";
   String OPERATION_DELETE_CONTACT_DETAIL = "delete-contact-detail";
+  String OPERATION_IMPORT_EMPLOYEES = "import-employees";
 
   String SELECTOR_INITIALIZE = OPERATION_HEADER + " = '" + INITIALIZE + "'";
 
@@ -47,10 +55,12 @@ public interface EventConstants {
   String SELECTOR_PUT_ADDRESS = OPERATION_HEADER + " = '" + OPERATION_PUT_ADDRESS + "'";
   String SELECTOR_DELETE_ADDRESS = OPERATION_HEADER + " = '" + OPERATION_DELETE_ADDRESS + "'";
   String SELECTOR_PUT_REFERENCE = OPERATION_HEADER + " = '" + OPERATION_PUT_REFERENCE + "'";
+  String SELECTOR_IMPORT_OFFICES = OPERATION_HEADER + " = '" + OPERATION_IMPORT_OFFICES + "'";
 
   String SELECTOR_POST_EMPLOYEE = OPERATION_HEADER + " = '" + OPERATION_POST_EMPLOYEE + "'";
   String SELECTOR_PUT_EMPLOYEE = OPERATION_HEADER + " = '" + OPERATION_PUT_EMPLOYEE + "'";
   String SELECTOR_DELETE_EMPLOYEE = OPERATION_HEADER + " = '" + OPERATION_DELETE_EMPLOYEE + "'";
   String SELECTOR_PUT_CONTACT_DETAIL = OPERATION_HEADER + " = '" + OPERATION_PUT_CONTACT_DETAIL + "'";
   String SELECTOR_DELETE_CONTACT_DETAIL = OPERATION_HEADER + " = '" + OPERATION_DELETE_CONTACT_DETAIL + "'";
+  String SELECTOR_IMPORT_EMPLOYEES = OPERATION_HEADER + " = '" + OPERATION_IMPORT_EMPLOYEES + "'";
 }
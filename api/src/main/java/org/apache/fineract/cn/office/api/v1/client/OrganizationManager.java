@@ -19,22 +19,29 @@
 package org.apache.fineract.cn.office.api.v1.client;
 
 import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.ChangePage;
 import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
 import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
 import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeNode;
 import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
 import java.util.List;
+import java.util.Map;
 import javax.validation.Valid;
 import org.apache.fineract.cn.api.annotation.ThrowsException;
 import org.apache.fineract.cn.api.annotation.ThrowsExceptions;
 import org.apache.fineract.cn.api.util.CustomFeignClientsConfiguration;
 import org.springframework.cloud.netflix.feign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -67,6 +74,65 @@ public interface OrganizationManager {
                           @RequestParam(value = "sortColumn", required = false) final String sortColumn,
                           @RequestParam(value = "sortDirection", required = false) final String sortDirection);
 
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  OfficePage fetchOfficesWithFields(@RequestParam(value = "term", required = false) final String term,
+                                    @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                                    @RequestParam(value = "size", required = false) final Integer size,
+                                    @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                    @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                    @RequestParam(value = "fields", required = false) final String fields,
+                                    @RequestParam(value = "expand", required = false) final String expand);
+
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  OfficePage fetchOfficesByCursor(@RequestParam(value = "term", required = false) final String term,
+                                  @RequestParam(value = "cursor") final String cursor,
+                                  @RequestParam(value = "size", required = false) final Integer size,
+                                  @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                  @RequestParam(value = "sortDirection", required = false) final String sortDirection);
+
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  List<Office> findOfficesByIdentifiers(@RequestParam(value = "identifiers") final List<String> identifiers);
+
+  @RequestMapping(
+      value = "/offices?lookup",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  List<Office> lookupOffices(@RequestBody final List<String> identifiers);
+
+  @RequestMapping(
+      value = "/offices?import",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.CONFLICT, exception = AlreadyExistsException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  void importOffices(@RequestBody final OfficeNode officeNode);
+
   @RequestMapping(
       value = "/offices/{identifier}",
       method = RequestMethod.GET,
@@ -76,6 +142,19 @@ public interface OrganizationManager {
   @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class)
   Office findOfficeByIdentifier(@PathVariable("identifier") final String identifier);
 
+  @RequestMapping(
+      value = "/offices/{identifier}",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.NOT_MODIFIED, exception = NotModifiedException.class)
+  })
+  ResponseEntity<Office> findOfficeIfModified(@PathVariable("identifier") final String identifier,
+                                              @RequestHeader(HttpHeaders.IF_NONE_MATCH) final String eTag);
+
   @RequestMapping(
       value = "/offices/{identifier}",
       method = RequestMethod.PUT,
@@ -88,6 +167,20 @@ public interface OrganizationManager {
   })
   void updateOffice(@PathVariable("identifier") final String identifier, @RequestBody final Office office);
 
+  @RequestMapping(
+      value = "/offices/{identifier}",
+      method = RequestMethod.PUT,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  ResponseEntity<Office> updateOfficeWithPreference(@PathVariable("identifier") final String identifier,
+                                                    @RequestBody final Office office,
+                                                    @RequestHeader("Prefer") final String prefer);
+
   @RequestMapping(
       value = "/offices/{identifier}",
       method = RequestMethod.POST,
@@ -113,6 +206,58 @@ public interface OrganizationManager {
                          @RequestParam(value = "sortColumn", required = false) final String sortColumn,
                          @RequestParam(value = "sortDirection", required = false) final String sortDirection);
 
+  @RequestMapping(
+      value = "/offices/{identifier}/branches",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  OfficePage getBranchesWithFields(@PathVariable("identifier") final String identifier,
+                                   @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                                   @RequestParam(value = "size", required = false) final Integer size,
+                                   @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                   @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                   @RequestParam(value = "fields", required = false) final String fields,
+                                   @RequestParam(value = "expand", required = false) final String expand);
+
+  @RequestMapping(
+      value = "/offices/{identifier}/descendants",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  OfficePage getDescendants(@PathVariable("identifier") final String identifier,
+                            @RequestParam(value = "maxDepth", required = false) final Integer maxDepth,
+                            @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                            @RequestParam(value = "size", required = false) final Integer size,
+                            @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                            @RequestParam(value = "sortDirection", required = false) final String sortDirection);
+
+  @RequestMapping(
+      value = "/offices/{identifier}/ancestors",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  OfficePage getAncestors(@PathVariable("identifier") final String identifier,
+                          @RequestParam(value = "maxDepth", required = false) final Integer maxDepth,
+                          @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                          @RequestParam(value = "size", required = false) final Integer size,
+                          @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                          @RequestParam(value = "sortDirection", required = false) final String sortDirection);
+
   @RequestMapping(
       value = "/offices/{identifier}",
       method = RequestMethod.DELETE,
@@ -139,6 +284,19 @@ public interface OrganizationManager {
   )
   Address getAddressOfOffice(@PathVariable("identifier") final String identifier);
 
+  @RequestMapping(
+      value = "/offices/{identifier}/address",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.NOT_MODIFIED, exception = NotModifiedException.class)
+  })
+  ResponseEntity<Address> getAddressOfOfficeIfModified(@PathVariable("identifier") final String identifier,
+                                                       @RequestHeader(HttpHeaders.IF_NONE_MATCH) final String eTag);
+
   @RequestMapping(
       value = "/offices/{identifier}/address",
       method = RequestMethod.DELETE,
@@ -157,6 +315,33 @@ public interface OrganizationManager {
   @ThrowsException(status = HttpStatus.CONFLICT, exception = AlreadyExistsException.class)
   void createEmployee(@RequestBody final Employee employee);
 
+  @RequestMapping(
+      value = "/employees",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  List<Employee> findEmployeesByIdentifiers(@RequestParam(value = "identifiers") final List<String> identifiers);
+
+  @RequestMapping(
+      value = "/employees?lookup",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  List<Employee> lookupEmployees(@RequestBody final List<String> identifiers);
+
+  @RequestMapping(
+      value = "/employees/import",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  EmployeeImportReport importEmployees(@RequestBody final List<Employee> employees);
+
   @RequestMapping(
       value = "/employees",
       method = RequestMethod.GET,
@@ -171,6 +356,42 @@ public interface OrganizationManager {
                               @RequestParam(value = "sortColumn", required = false) final String sortColumn,
                               @RequestParam(value = "sortDirection", required = false) final String sortDirection);
 
+  @RequestMapping(
+      value = "/employees",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  EmployeePage fetchEmployeesWithFields(@RequestParam(value = "term", required = false) final String term,
+                                        @RequestParam(value = "office", required = false) final String officeIdentifier,
+                                        @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                                        @RequestParam(value = "size", required = false) final Integer size,
+                                        @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                        @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                        @RequestParam(value = "fields", required = false) final String fields,
+                                        @RequestParam(value = "expand", required = false) final String expand);
+
+  @RequestMapping(
+      value = "/employees",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  })
+  EmployeePage fetchEmployeesByCursor(@RequestParam(value = "term", required = false) final String term,
+                                      @RequestParam(value = "office", required = false) final String officeIdentifier,
+                                      @RequestParam(value = "cursor") final String cursor,
+                                      @RequestParam(value = "size", required = false) final Integer size,
+                                      @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                      @RequestParam(value = "sortDirection", required = false) final String sortDirection);
+
   @RequestMapping(
       value = "/employees/{useridentifier}",
       method = RequestMethod.GET,
@@ -180,6 +401,19 @@ public interface OrganizationManager {
   @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class)
   Employee findEmployee(@PathVariable("useridentifier") final String identifier);
 
+  @RequestMapping(
+      value = "/employees/{useridentifier}",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.NOT_MODIFIED, exception = NotModifiedException.class)
+  })
+  ResponseEntity<Employee> findEmployeeIfModified(@PathVariable("useridentifier") final String identifier,
+                                                  @RequestHeader(HttpHeaders.IF_NONE_MATCH) final String eTag);
+
   @RequestMapping(
       value = "/employees/{useridentifier}",
       method = RequestMethod.PUT,
@@ -219,6 +453,19 @@ public interface OrganizationManager {
   @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class)
   List<ContactDetail> fetchContactDetails(@PathVariable("useridentifier") final String identifier);
 
+  @RequestMapping(
+      value = "/employees/{useridentifier}/contacts",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsExceptions({
+      @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class),
+      @ThrowsException(status = HttpStatus.NOT_MODIFIED, exception = NotModifiedException.class)
+  })
+  ResponseEntity<List<ContactDetail>> fetchContactDetailsIfModified(@PathVariable("useridentifier") final String identifier,
+                                                                    @RequestHeader(HttpHeaders.IF_NONE_MATCH) final String eTag);
+
   @RequestMapping(
       value = "/employees/{useridentifier}/contacts",
       method = RequestMethod.DELETE,
@@ -237,4 +484,22 @@ public interface OrganizationManager {
   @ThrowsException(status = HttpStatus.NOT_FOUND, exception = NotFoundException.class)
   void addExternalReference(@PathVariable("identifier") final String officeIdentifier,
                             @RequestBody @Valid final ExternalReference externalReference);
+
+  @RequestMapping(
+      value = "/changes",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  @ThrowsException(status = HttpStatus.BAD_REQUEST, exception = BadRequestException.class)
+  ChangePage fetchChanges(@RequestParam(value = "since", required = false) final String since,
+                          @RequestParam(value = "size", required = false) final Integer size);
+
+  @RequestMapping(
+      value = "/metrics/commands",
+      method = RequestMethod.GET,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.ALL_VALUE
+  )
+  Map<String, Map<String, Double>> fetchCommandMetrics();
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.api.v1.domain;
+
+import java.util.List;
+
+/**
+ * A single entry of the change feed. Depending on the type, one of the state fields holds the state
+ * after the change. Deletions leave them empty, except for external references, which are identified
+ * by their office and type and therefore keep the deleted reference.
+ */
+@SuppressWarnings("unused")
+public class Change {
+
+  public enum Type {
+    OFFICE,
+    ADDRESS,
+    EXTERNAL_REFERENCE,
+    EMPLOYEE,
+    CONTACT_DETAILS
+  }
+
+  public enum Action {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private Type type;
+  private Action action;
+  private String identifier;
+  private String changedBy;
+  private String changedOn;
+  private Office office;
+  private Address address;
+  private ExternalReference externalReference;
+  private Employee employee;
+  private List<ContactDetail> contactDetails;
+
+  public Change() {
+    super();
+  }
+
+  public String getType() {
+    return this.type.name();
+  }
+
+  public void setType(final String type) {
+    this.type = Type.valueOf(type);
+  }
+
+  public String getAction() {
+    return this.action.name();
+  }
+
+  public void setAction(final String action) {
+    this.action = Action.valueOf(action);
+  }
+
+  public String getIdentifier() {
+    return this.identifier;
+  }
+
+  public void setIdentifier(final String identifier) {
+    this.identifier = identifier;
+  }
+
+  public String getChangedBy() {
+    return this.changedBy;
+  }
+
+  public void setChangedBy(final String changedBy) {
+    this.changedBy = changedBy;
+  }
+
+  public String getChangedOn() {
+    return this.changedOn;
+  }
+
+  public void setChangedOn(final String changedOn) {
+    this.changedOn = changedOn;
+  }
+
+  public Office getOffice() {
+    return this.office;
+  }
+
+  public void setOffice(final Office office) {
+    this.office = office;
+  }
+
+  public Address getAddress() {
+    return this.address;
+  }
+
+  public void setAddress(final Address address) {
+    this.address = address;
+  }
+
+  public ExternalReference getExternalReference() {
+    return this.externalReference;
+  }
+
+  public void setExternalReference(final ExternalReference externalReference) {
+    this.externalReference = externalReference;
+  }
+
+  public Employee getEmployee() {
+    return this.employee;
+  }
+
+  public void setEmployee(final Employee employee) {
+    this.employee = employee;
+  }
+
+  public List<ContactDetail> getContactDetails() {
+    return this.contactDetails;
+  }
+
+  public void setContactDetails(final List<ContactDetail> contactDetails) {
+    this.contactDetails = contactDetails;
+  }
+}
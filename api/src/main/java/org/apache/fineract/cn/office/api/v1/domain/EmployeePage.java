@@ -28,6 +28,7 @@ public class EmployeePage {
   private List<Employee> employees;
   private Integer totalPages;
   private Long totalElements;
+  private String nextCursor;
 
   public EmployeePage() {
     super();
@@ -56,4 +57,12 @@ public class EmployeePage {
   public void setTotalElements(final Long totalElements) {
     this.totalElements = totalElements;
   }
+
+  public String getNextCursor() {
+    return this.nextCursor;
+  }
+
+  public void setNextCursor(final String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.api.v1.domain;
+
+import java.util.Objects;
+
+@SuppressWarnings("unused")
+public class ImportError {
+
+  private Integer row;
+  private String identifier;
+  private String message;
+
+  public ImportError() {
+    super();
+  }
+
+  public ImportError(final Integer row, final String identifier, final String message) {
+    super();
+    this.row = row;
+    this.identifier = identifier;
+    this.message = message;
+  }
+
+  public Integer getRow() {
+    return this.row;
+  }
+
+  public void setRow(final Integer row) {
+    this.row = row;
+  }
+
+  public String getIdentifier() {
+    return this.identifier;
+  }
+
+  public void setIdentifier(final String identifier) {
+    this.identifier = identifier;
+  }
+
+  public String getMessage() {
+    return this.message;
+  }
+
+  public void setMessage(final String message) {
+    this.message = message;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ImportError that = (ImportError) o;
+    return Objects.equals(row, that.row) &&
+            Objects.equals(identifier, that.identifier) &&
+            Objects.equals(message, that.message);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(row, identifier, message);
+  }
+
+  @Override
+  public String toString() {
+    return "ImportError{" +
+            "row=" + row +
+            ", identifier='" + identifier + '\'' +
+            ", message='" + message + '\'' +
+            '}';
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.api.v1.domain;
+
+@SuppressWarnings("unused")
+public class OfficeEvent {
+
+  private String identifier;
+  private Office office;
+  private Office parent;
+
+  public OfficeEvent() {
+    super();
+  }
+
+  public OfficeEvent(final String identifier, final Office office, final Office parent) {
+    super();
+    this.identifier = identifier;
+    this.office = office;
+    this.parent = parent;
+  }
+
+  public String getIdentifier() {
+    return this.identifier;
+  }
+
+  public void setIdentifier(final String identifier) {
+    this.identifier = identifier;
+  }
+
+  public Office getOffice() {
+    return this.office;
+  }
+
+  public void setOffice(final Office office) {
+    this.office = office;
+  }
+
+  public Office getParent() {
+    return this.parent;
+  }
+
+  public void setParent(final Office parent) {
+    this.parent = parent;
+  }
+}
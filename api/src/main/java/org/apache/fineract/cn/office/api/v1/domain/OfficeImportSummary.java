@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.api.v1.domain;
+
+import java.util.Objects;
+
+@SuppressWarnings("unused")
+public class OfficeImportSummary {
+
+  private String identifier;
+  private Integer offices;
+  private Integer levels;
+
+  public OfficeImportSummary() {
+    super();
+  }
+
+  public OfficeImportSummary(final String identifier, final Integer offices, final Integer levels) {
+    super();
+    this.identifier = identifier;
+    this.offices = offices;
+    this.levels = levels;
+  }
+
+  public String getIdentifier() {
+    return this.identifier;
+  }
+
+  public void setIdentifier(final String identifier) {
+    this.identifier = identifier;
+  }
+
+  public Integer getOffices() {
+    return this.offices;
+  }
+
+  public void setOffices(final Integer offices) {
+    this.offices = offices;
+  }
+
+  public Integer getLevels() {
+    return this.levels;
+  }
+
+  public void setLevels(final Integer levels) {
+    this.levels = levels;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    OfficeImportSummary that = (OfficeImportSummary) o;
+    return Objects.equals(identifier, that.identifier) &&
+            Objects.equals(offices, that.offices) &&
+            Objects.equals(levels, that.levels);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(identifier, offices, levels);
+  }
+
+  @Override
+  public String toString() {
+    return "OfficeImportSummary{" +
+            "identifier='" + identifier + '\'' +
+            ", offices=" + offices +
+            ", levels=" + levels +
+            '}';
+  }
+}
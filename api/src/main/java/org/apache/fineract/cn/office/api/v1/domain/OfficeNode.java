@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.api.v1.domain;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+@SuppressWarnings("unused")
+public class OfficeNode {
+
+  @NotNull
+  @Valid
+  private Office office;
+  @Valid
+  private List<OfficeNode> branches;
+
+  public OfficeNode() {
+    super();
+  }
+
+  public Office getOffice() {
+    return this.office;
+  }
+
+  public void setOffice(final Office office) {
+    this.office = office;
+  }
+
+  public List<OfficeNode> getBranches() {
+    return this.branches;
+  }
+
+  public void setBranches(final List<OfficeNode> branches) {
+    this.branches = branches;
+  }
+}
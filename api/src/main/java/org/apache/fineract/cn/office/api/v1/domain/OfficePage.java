@@ -28,6 +28,7 @@ public class OfficePage {
   private List<Office> offices;
   private Integer totalPages;
   private Long totalElements;
+  private String nextCursor;
 
   public OfficePage() {
     super();
@@ -56,4 +57,12 @@ public class OfficePage {
   public void setTotalElements(final Long totalElements) {
     this.totalElements = totalElements;
   }
+
+  public String getNextCursor() {
+    return this.nextCursor;
+  }
+
+  public void setNextCursor(final String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
+import org.apache.fineract.cn.office.internal.mapper.AddressMapper;
+import org.apache.fineract.cn.office.internal.mapper.ContactDetailMapper;
+import org.apache.fineract.cn.office.internal.mapper.EmployeeMapper;
+import org.apache.fineract.cn.office.internal.mapper.OfficeMapper;
+import org.apache.fineract.cn.office.internal.repository.AddressEntity;
+import org.apache.fineract.cn.office.internal.repository.ContactDetailEntity;
+import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps a page worth of entities to their API representation, the way the list endpoints do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+  @Param({"20", "200", "2000"})
+  public int rows;
+
+  private List<OfficeEntity> officeEntities;
+  private List<AddressEntity> addressEntities;
+  private List<EmployeeEntity> employeeEntities;
+  private List<ContactDetailEntity> contactDetailEntities;
+
+  @Setup
+  public void createEntities() {
+    final Payloads payloads = new Payloads();
+    final OfficePage officePage = payloads.officePage(this.rows);
+    final EmployeePage employeePage = payloads.employeePage(this.rows);
+
+    this.officeEntities = officePage.getOffices().stream().map(OfficeMapper::map).collect(Collectors.toList());
+    this.addressEntities = officePage.getOffices().stream()
+        .map(office -> AddressMapper.map(office.getAddress()))
+        .collect(Collectors.toList());
+    this.employeeEntities = new ArrayList<>(this.rows);
+    this.contactDetailEntities = new ArrayList<>();
+    for (final Employee employee : employeePage.getEmployees()) {
+      final EmployeeEntity employeeEntity = EmployeeMapper.map(employee);
+      final OfficeEntity assignedOffice = new OfficeEntity();
+      assignedOffice.setIdentifier(employee.getAssignedOffice());
+      employeeEntity.setAssignedOffice(assignedOffice);
+      this.employeeEntities.add(employeeEntity);
+      employee.getContactDetails().forEach(contactDetail -> {
+        final ContactDetailEntity contactDetailEntity = ContactDetailMapper.map(contactDetail);
+        contactDetailEntity.setEmployee(employeeEntity);
+        this.contactDetailEntities.add(contactDetailEntity);
+      });
+    }
+  }
+
+  @Benchmark
+  public List<Office> mapOffices() {
+    final List<Office> offices = new ArrayList<>(this.officeEntities.size());
+    for (final OfficeEntity officeEntity : this.officeEntities) {
+      offices.add(OfficeMapper.map(officeEntity));
+    }
+    return offices;
+  }
+
+  @Benchmark
+  public List<Address> mapAddresses() {
+    final List<Address> addresses = new ArrayList<>(this.addressEntities.size());
+    for (final AddressEntity addressEntity : this.addressEntities) {
+      addresses.add(AddressMapper.map(addressEntity));
+    }
+    return addresses;
+  }
+
+  @Benchmark
+  public List<Employee> mapEmployees() {
+    final List<Employee> employees = new ArrayList<>(this.employeeEntities.size());
+    for (final EmployeeEntity employeeEntity : this.employeeEntities) {
+      employees.add(EmployeeMapper.map(employeeEntity));
+    }
+    return employees;
+  }
+
+  @Benchmark
+  public List<ContactDetail> mapContactDetails() {
+    final List<ContactDetail> contactDetails = new ArrayList<>(this.contactDetailEntities.size());
+    for (final ContactDetailEntity contactDetailEntity : this.contactDetailEntities) {
+      contactDetails.add(ContactDetailMapper.map(contactDetailEntity));
+    }
+    return contactDetails;
+  }
+}
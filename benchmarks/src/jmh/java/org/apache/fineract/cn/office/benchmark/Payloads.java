@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
+
+/**
+ * Builds payloads shaped like the ones the service returns, with field lengths close to what
+ * real organizations store. The same seed always yields the same payloads.
+ */
+final class Payloads {
+
+  private static final long SEED = 42L;
+  private static final int CONTACT_DETAILS_PER_EMPLOYEE = 3;
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ";
+
+  private final Random random;
+
+  Payloads() {
+    super();
+    this.random = new Random(SEED);
+  }
+
+  OfficePage officePage(final int rows) {
+    final List<Office> offices = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      offices.add(this.office(i));
+    }
+    final OfficePage officePage = new OfficePage();
+    officePage.setOffices(offices);
+    officePage.setTotalPages(10);
+    officePage.setTotalElements(rows * 10L);
+    return officePage;
+  }
+
+  EmployeePage employeePage(final int rows) {
+    final List<Employee> employees = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      employees.add(this.employee(i, CONTACT_DETAILS_PER_EMPLOYEE));
+    }
+    final EmployeePage employeePage = new EmployeePage();
+    employeePage.setEmployees(employees);
+    employeePage.setTotalPages(10);
+    employeePage.setTotalElements(rows * 10L);
+    return employeePage;
+  }
+
+  Employee employee(final int index, final int contactDetails) {
+    final Employee employee = new Employee();
+    employee.setIdentifier("employee-" + index);
+    employee.setGivenName(this.text(12));
+    employee.setMiddleName(this.text(8));
+    employee.setSurname(this.text(16));
+    employee.setAssignedOffice("office-" + this.random.nextInt(100));
+    final List<ContactDetail> contactDetailList = new ArrayList<>(contactDetails);
+    for (int i = 0; i < contactDetails; i++) {
+      contactDetailList.add(this.contactDetail(i));
+    }
+    employee.setContactDetails(contactDetailList);
+    return employee;
+  }
+
+  Office office(final int index) {
+    final Office office = new Office();
+    office.setIdentifier("office-" + index);
+    office.setParentIdentifier(index > 0 ? "office-" + this.random.nextInt(index) : null);
+    office.setName(this.text(24));
+    office.setDescription(this.text(200));
+    office.setAddress(this.address());
+    office.setExternalReferences(this.random.nextBoolean());
+    return office;
+  }
+
+  Address address() {
+    final Address address = new Address();
+    address.setStreet(this.text(32));
+    address.setCity(this.text(16));
+    address.setRegion(this.text(16));
+    address.setPostalCode(String.valueOf(10000 + this.random.nextInt(90000)));
+    address.setCountryCode("DE");
+    address.setCountry("Germany");
+    return address;
+  }
+
+  ContactDetail contactDetail(final int preferenceLevel) {
+    final ContactDetail contactDetail = new ContactDetail();
+    final ContactDetail.Type[] types = ContactDetail.Type.values();
+    contactDetail.setType(types[this.random.nextInt(types.length)].name());
+    contactDetail.setGroup(ContactDetail.Group.BUSINESS.name());
+    contactDetail.setValue(this.text(24));
+    contactDetail.setPreferenceLevel(preferenceLevel + 1);
+    return contactDetail;
+  }
+
+  private String text(final int length) {
+    final char[] characters = new char[length];
+    for (int i = 0; i < length; i++) {
+      characters[i] = ALPHABET.charAt(this.random.nextInt(ALPHABET.length()));
+    }
+    return new String(characters);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
+import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serializes and deserializes list responses and a single employee with Jackson, which renders
+ * the REST responses, and with Gson, which the service uses for events and the change log. For
+ * the single employee, rows are its contact details.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+  @Param({"20", "200", "2000"})
+  public int rows;
+
+  private Gson gson;
+  private ObjectMapper objectMapper;
+
+  private OfficePage officePage;
+  private EmployeePage employeePage;
+  private Employee employee;
+
+  private String officePageJson;
+  private String employeePageJson;
+  private String employeeJson;
+
+  @Setup
+  public void createPayloads() throws IOException {
+    this.gson = new GsonBuilder().create();
+    this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    final Payloads payloads = new Payloads();
+    this.officePage = payloads.officePage(this.rows);
+    this.employeePage = payloads.employeePage(this.rows);
+    this.employee = payloads.employee(0, this.rows);
+
+    this.officePageJson = this.objectMapper.writeValueAsString(this.officePage);
+    this.employeePageJson = this.objectMapper.writeValueAsString(this.employeePage);
+    this.employeeJson = this.objectMapper.writeValueAsString(this.employee);
+  }
+
+  @Benchmark
+  public String serializeOfficePageWithJackson() throws IOException {
+    return this.objectMapper.writeValueAsString(this.officePage);
+  }
+
+  @Benchmark
+  public String serializeOfficePageWithGson() {
+    return this.gson.toJson(this.officePage);
+  }
+
+  @Benchmark
+  public OfficePage deserializeOfficePageWithJackson() throws IOException {
+    return this.objectMapper.readValue(this.officePageJson, OfficePage.class);
+  }
+
+  @Benchmark
+  public OfficePage deserializeOfficePageWithGson() {
+    return this.gson.fromJson(this.officePageJson, OfficePage.class);
+  }
+
+  @Benchmark
+  public String serializeEmployeePageWithJackson() throws IOException {
+    return this.objectMapper.writeValueAsString(this.employeePage);
+  }
+
+  @Benchmark
+  public String serializeEmployeePageWithGson() {
+    return this.gson.toJson(this.employeePage);
+  }
+
+  @Benchmark
+  public EmployeePage deserializeEmployeePageWithJackson() throws IOException {
+    return this.objectMapper.readValue(this.employeePageJson, EmployeePage.class);
+  }
+
+  @Benchmark
+  public EmployeePage deserializeEmployeePageWithGson() {
+    return this.gson.fromJson(this.employeePageJson, EmployeePage.class);
+  }
+
+  @Benchmark
+  public String serializeEmployeeWithJackson() throws IOException {
+    return this.objectMapper.writeValueAsString(this.employee);
+  }
+
+  @Benchmark
+  public String serializeEmployeeWithGson() {
+    return this.gson.toJson(this.employee);
+  }
+
+  @Benchmark
+  public Employee deserializeEmployeeWithJackson() throws IOException {
+    return this.objectMapper.readValue(this.employeeJson, Employee.class);
+  }
+
+  @Benchmark
+  public Employee deserializeEmployeeWithGson() {
+    return this.gson.fromJson(this.employeeJson, Employee.class);
+  }
+}
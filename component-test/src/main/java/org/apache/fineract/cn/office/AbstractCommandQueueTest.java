@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.api.util.ApiConstants;
+import org.apache.fineract.cn.api.util.UserContextHolder;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.lang.config.TenantHeaderFilter;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.junit.Assert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.embedded.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Saturates a command queue with one worker and room for one command: a row lock taken by the
+ * test keeps the worker busy with the first update, the second update waits in the queue and the
+ * third one is beyond its capacity.
+ */
+abstract class AbstractCommandQueueTest extends AbstractOfficeTest {
+
+  private static final long MAX_WAIT = 5000L;
+
+  @Autowired
+  MetricRegistry metricRegistry;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @LocalServerPort
+  private int port;
+
+  long rejections() {
+    return this.metricRegistry.counter("office.commands.queue.rejections").getCount();
+  }
+
+  RowLock lockOffice(final String identifier) throws SQLException {
+    final Connection connection = this.dataSource.getConnection();
+    connection.setAutoCommit(false);
+    try (final PreparedStatement statement =
+             connection.prepareStatement("SELECT id FROM horus_offices WHERE identifier = ? FOR UPDATE")) {
+      statement.setString(1, identifier);
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        Assert.assertTrue(resultSet.next());
+      }
+    }
+    return new RowLock(connection);
+  }
+
+  void awaitQueue(final int depth, final int active) throws InterruptedException {
+    final Gauge<?> depthGauge = this.metricRegistry.getGauges().get("office.commands.queue.depth");
+    final Gauge<?> activeGauge = this.metricRegistry.getGauges().get("office.commands.queue.active");
+    final long deadline = System.currentTimeMillis() + MAX_WAIT;
+    while (!(depthGauge.getValue().equals(depth) && activeGauge.getValue().equals(active))) {
+      Assert.assertTrue("Queue did not reach depth " + depth + " with " + active + " active.",
+          System.currentTimeMillis() < deadline);
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+  }
+
+  /**
+   * Sends {@code PUT /offices/{identifier}} without the Feign client, which hides response
+   * headers of failed requests.
+   */
+  ResponseEntity<Void> putOffice(final Office office, final String tenant, final String accessToken) {
+    return new RestTemplate().exchange("http://localhost:" + this.port + "/office/v1/offices/{identifier}",
+        HttpMethod.PUT, new HttpEntity<>(office, this.headers(tenant, accessToken)), Void.class, office.getIdentifier());
+  }
+
+  /**
+   * Sends {@code POST /employees/import} without the Feign client.
+   */
+  ResponseEntity<EmployeeImportReport> importEmployees(final List<Employee> employees, final String tenant,
+                                                       final String accessToken) {
+    return new RestTemplate().exchange("http://localhost:" + this.port + "/office/v1/employees/import",
+        HttpMethod.POST, new HttpEntity<>(employees, this.headers(tenant, accessToken)), EmployeeImportReport.class);
+  }
+
+  private HttpHeaders headers(final String tenant, final String accessToken) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set(TenantHeaderFilter.TENANT_HEADER, tenant);
+    headers.set(ApiConstants.USER_HEADER, TEST_USER);
+    headers.set(ApiConstants.AUTHORIZATION_HEADER, accessToken);
+    return headers;
+  }
+
+  String tenant() {
+    return TenantContextHolder.checkedGetIdentifier();
+  }
+
+  String accessToken() {
+    return UserContextHolder.checkedGetAccessToken();
+  }
+
+  static class RowLock implements AutoCloseable {
+
+    private final Connection connection;
+
+    private RowLock(final Connection connection) {
+      super();
+      this.connection = connection;
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        this.connection.rollback();
+      } finally {
+        this.connection.close();
+      }
+    }
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.fineract.cn.api.context.AutoUserContext;
 import org.apache.fineract.cn.office.api.v1.EventConstants;
 import org.apache.fineract.cn.office.api.v1.client.OrganizationManager;
 import org.apache.fineract.cn.office.rest.config.OfficeRestConfiguration;
+import org.apache.fineract.cn.office.rest.config.StatementBudget;
 import org.apache.fineract.cn.test.env.TestEnvironment;
 import org.apache.fineract.cn.test.fixture.TenantDataStoreContextTestRule;
 import org.apache.fineract.cn.test.fixture.cassandra.CassandraInitializer;
@@ -46,15 +47,19 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
 @SuppressWarnings("SpringAutowiredFieldsWarningInspection")
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
-        classes = {AbstractOfficeTest.TestConfiguration.class})
+        classes = {AbstractOfficeTest.TestConfiguration.class},
+        properties = "office.threads.virtual.enabled=${office.test.virtualThreads:false}")
+// test classes enabling optional features run their own context on the same port
+@DirtiesContext
 public class AbstractOfficeTest extends SuiteTestEnvironment {
   private static final String APP_NAME = "office-v1";
-  private static final String TEST_USER = "thutmosis";
+  static final String TEST_USER = "thutmosis";
 
   private final static TestEnvironment testEnvironment = new TestEnvironment(APP_NAME);
   private final static CassandraInitializer cassandraInitializer = new CassandraInitializer();
@@ -78,16 +83,24 @@ public class AbstractOfficeTest extends SuiteTestEnvironment {
   @Autowired
   EventRecorder eventRecorder;
 
+  @Autowired
+  StatementBudget statementBudget;
+
   private AutoUserContext userContext;
 
   @Before
   public void prepareTest ( ) {
     userContext = tenantApplicationSecurityEnvironment.createAutoUserContext(TEST_USER);
+    statementBudget.reset();
   }
 
   @After
   public void cleanupTest ( ) {
-    userContext.close();
+    try {
+      statementBudget.verify();
+    } finally {
+      userContext.close();
+    }
   }
 
   public boolean waitForInitialize ( ) {
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.api.context.AutoUserContext;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.util.LoadGenerator;
+import org.apache.fineract.cn.office.util.LoadReport;
+import org.apache.fineract.cn.office.util.TenantDataGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Sends a mix of office and employee requests at a fixed rate against a generated tenant and writes the
+ * results to {@code build/load-test/<name>.json}. The mix is given as weights, e.g.
+ * {@code -Doffice.load.mix=officeLookup=50,employeeListing=50} for reads only. Writes are measured until
+ * the command is accepted, not until its event arrives.
+ */
+public class BenchmarkRequestMix extends AbstractOfficeTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkRequestMix.class);
+  private static final String NAME = System.getProperty("office.load.name", "request-mix");
+  private static final String MIX = System.getProperty("office.load.mix",
+      "officeLookup=40,employeeListing=40,employeeCreate=8,employeeUpdate=6,contactReplacement=6");
+  private static final int RATE = Integer.getInteger("office.load.rate", 50);
+  private static final int DURATION = Integer.getInteger("office.load.duration", 30);
+  private static final int WARM_UP = Integer.getInteger("office.load.warmUp", 5);
+  private static final int CLIENTS = Integer.getInteger("office.load.clients", 128);
+  private static final long SEED = Long.getLong("office.load.seed", 42L);
+  private static final int EMPLOYEES = Integer.getInteger("office.load.employees", 20000);
+  private static final String OUTPUT = System.getProperty("office.load.output", "build/load-test");
+  private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("office.load.maxErrorRate", "0.01"));
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  public void shouldSendRequestMix() throws Exception {
+    final TenantDataGenerator.GeneratedTenant tenant = TenantDataGenerator.withSeed(SEED)
+        .depth(2)
+        .fanOut(10)
+        .employees(EMPLOYEES)
+        .generate(this.dataSource);
+    final List<String> offices = new ArrayList<>();
+    for (int level = 0; level <= 2; level++) {
+      offices.addAll(tenant.getOfficeIdentifiers(level));
+    }
+
+    final Map<String, LoadGenerator.Operation> operations = new LinkedHashMap<>();
+    operations.put("officeLookup", (index, random) ->
+        this.organizationManager.findOfficeByIdentifier(pick(random, offices)));
+    operations.put("employeeListing", (index, random) ->
+        this.organizationManager.fetchEmployees(null, pick(random, offices), 0, 20, null, null));
+    operations.put("employeeCreate", (index, random) ->
+        this.organizationManager.createEmployee(this.employee("load-e" + Integer.toString(index, 36), pick(random, offices), random)));
+    operations.put("employeeUpdate", (index, random) -> {
+      final String identifier = tenant.getEmployeeIdentifier(random.nextInt(tenant.getEmployees()));
+      this.organizationManager.updateEmployee(identifier, this.employee(identifier, pick(random, offices), random));
+    });
+    operations.put("contactReplacement", (index, random) -> {
+      final String identifier = tenant.getEmployeeIdentifier(random.nextInt(tenant.getEmployees()));
+      this.organizationManager.setContactDetails(identifier, this.contactDetails(identifier, random));
+    });
+
+    final LoadGenerator loadGenerator = LoadGenerator.atRate(RATE)
+        .duration(DURATION)
+        .warmUp(WARM_UP)
+        .clients(CLIENTS)
+        .seed(SEED)
+        .clientContext(this.clientContext());
+    this.parseMix().forEach((operation, weight) -> {
+      if (!operations.containsKey(operation)) {
+        throw new IllegalArgumentException("Unknown operation " + operation + ", expected one of " + operations.keySet());
+      }
+      loadGenerator.operation(operation, weight, operations.get(operation));
+    });
+
+    final LoadReport loadReport = loadGenerator.run(NAME);
+    final Path file = loadReport.writeTo(Paths.get(OUTPUT));
+    LOGGER.info("{}, written to {}", loadReport, file.toAbsolutePath());
+    loadReport.getOperations().forEach((operation, statistics) -> LOGGER.info("{}: {}", operation, statistics));
+
+    Assert.assertTrue(loadReport.toString(), loadReport.getTotal().getErrorRate() <= MAX_ERROR_RATE);
+  }
+
+  private Supplier<AutoCloseable> clientContext() {
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    return () -> {
+      TenantContextHolder.setIdentifier(tenant);
+      final AutoUserContext userContext = this.tenantApplicationSecurityEnvironment.createAutoUserContext(TEST_USER);
+      return () -> {
+        try {
+          userContext.close();
+        } finally {
+          TenantContextHolder.clear();
+        }
+      };
+    };
+  }
+
+  private Map<String, Integer> parseMix() {
+    final Map<String, Integer> mix = new LinkedHashMap<>();
+    Arrays.stream(MIX.split(",")).map(String::trim).filter(entry -> !entry.isEmpty()).forEach(entry -> {
+      final String[] weight = entry.split("=");
+      mix.put(weight[0].trim(), Integer.valueOf(weight[1].trim()));
+    });
+    return mix;
+  }
+
+  private Employee employee(final String identifier, final String office, final Random random) {
+    final Employee employee = new Employee();
+    employee.setIdentifier(identifier);
+    employee.setGivenName("Given" + random.nextInt(1000));
+    employee.setSurname("Surname" + random.nextInt(1000));
+    employee.setAssignedOffice(office);
+    return employee;
+  }
+
+  private List<ContactDetail> contactDetails(final String identifier, final Random random) {
+    final ContactDetail email = new ContactDetail();
+    email.setType(ContactDetail.Type.EMAIL.name());
+    email.setGroup(ContactDetail.Group.BUSINESS.name());
+    email.setValue(identifier + "." + random.nextInt(1000) + "@example.org");
+    email.setPreferenceLevel(1);
+    final ContactDetail mobile = new ContactDetail();
+    mobile.setType(ContactDetail.Type.MOBILE.name());
+    mobile.setGroup(ContactDetail.Group.PRIVATE.name());
+    mobile.setValue(String.format("+%d %09d", 1 + random.nextInt(98), random.nextInt(1000000000)));
+    mobile.setPreferenceLevel(2);
+    return Arrays.asList(email, mobile);
+  }
+
+  private static String pick(final Random random, final List<String> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+}
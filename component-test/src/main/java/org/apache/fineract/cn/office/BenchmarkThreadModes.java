@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.cn.api.context.AutoUserContext;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.util.EmployeeFactory;
+import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Measures throughput and latency of {@code GET /employees} and {@code POST /employees}. Run it once
+ * as is and once with {@code -Doffice.test.virtualThreads=true} to compare platform with virtual
+ * threads. A write is measured until its event arrives, so it covers the command as well.
+ * Commands are handed to the command gateway directly; add {@code -Doffice.test.commandQueue=true}
+ * to measure them through the bounded command queue instead. Both settings are logged with the
+ * results.
+ */
+@TestPropertySource(properties = "office.commands.queue.enabled=${office.test.commandQueue:false}")
+public class BenchmarkThreadModes extends AbstractOfficeTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkThreadModes.class);
+  private static final int CLIENTS = Integer.getInteger("office.benchmark.clients", 64);
+  private static final int REQUESTS = Integer.getInteger("office.benchmark.requests", 2000);
+  private static final int WARM_UP_REQUESTS = REQUESTS / 10;
+
+  @Test
+  public void shouldMeasureEmployeeRequests() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Request post = () -> {
+      final Employee employee = EmployeeFactory.createRandomEmployee();
+      employee.setAssignedOffice(office.getIdentifier());
+      this.organizationManager.createEmployee(employee);
+      return this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier());
+    };
+    final Request get = () -> {
+      this.organizationManager.fetchEmployees(null, office.getIdentifier(), 0, 20, null, null);
+      return true;
+    };
+
+    final String setup = (Boolean.getBoolean("office.test.virtualThreads") ? "virtual" : "platform")
+        + (Boolean.getBoolean("office.test.commandQueue") ? " threads with command queue" : " threads without command queue");
+    this.run(post, WARM_UP_REQUESTS);
+    final Result posts = this.run(post, REQUESTS);
+    this.run(get, WARM_UP_REQUESTS);
+    final Result gets = this.run(get, REQUESTS);
+    LOGGER.info("POST /employees on {}: {}", setup, posts);
+    LOGGER.info("GET /employees on {}: {}", setup, gets);
+
+    Assert.assertEquals(0, posts.errors);
+    Assert.assertEquals(0, gets.errors);
+  }
+
+  private Result run(final Request request, final int count) throws Exception {
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    final long[] latencies = new long[count];
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger errors = new AtomicInteger();
+    final ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+    try {
+      final long start = System.nanoTime();
+      final List<Future<?>> futures = new ArrayList<>(CLIENTS);
+      for (int i = 0; i < CLIENTS; i++) {
+        futures.add(clients.submit(() -> {
+          TenantContextHolder.setIdentifier(tenant);
+          try (final AutoUserContext ignored = this.tenantApplicationSecurityEnvironment.createAutoUserContext(TEST_USER)) {
+            for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+              final long requestStart = System.nanoTime();
+              try {
+                if (!request.send()) {
+                  errors.incrementAndGet();
+                }
+              } catch (final Exception ex) {
+                errors.incrementAndGet();
+              }
+              latencies[index] = System.nanoTime() - requestStart;
+            }
+          } finally {
+            TenantContextHolder.clear();
+          }
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+      return new Result(count, System.nanoTime() - start, latencies, errors.get());
+    } finally {
+      clients.shutdown();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Request {
+    boolean send() throws Exception;
+  }
+
+  private static class Result {
+    private final double throughput;
+    private final double p50;
+    private final double p99;
+    private final int errors;
+
+    Result(final int count, final long elapsedNanos, final long[] latencies, final int errors) {
+      super();
+      Arrays.sort(latencies);
+      this.throughput = count / (elapsedNanos / 1e9d);
+      this.p50 = latencies[(int) Math.ceil(count * 0.50d) - 1] / 1e6d;
+      this.p99 = latencies[(int) Math.ceil(count * 0.99d) - 1] / 1e6d;
+      this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.1f requests/s, p50 %.1f ms, p99 %.1f ms, %d errors", this.throughput, this.p50, this.p99, this.errors);
+    }
+  }
+}
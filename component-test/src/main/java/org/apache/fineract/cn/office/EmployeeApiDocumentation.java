@@ -36,6 +36,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
@@ -221,7 +222,8 @@ public class EmployeeApiDocumentation extends TestEmployee {
                             fieldWithPath("employees[1].assignedOffice").description("second employee's assigned office"),
                             fieldWithPath("employees[1].contactDetails").type("List<ContactDetail>").description("second employee's contact details"),
                             fieldWithPath("totalPages").type("Integer").description("Page of Employees"),
-                            fieldWithPath("totalElements").type("Integer").description("Page of Employees"))));
+                            fieldWithPath("totalElements").type("Integer").description("Page of Employees"),
+                            fieldWithPath("nextCursor").type("String").description("Cursor of the next page, only set for cursor based paging"))));
   }
 
   @Test
@@ -463,4 +465,76 @@ public class EmployeeApiDocumentation extends TestEmployee {
             .andExpect(status().isAccepted())
             .andDo(document("document-delete-contact-details", preprocessResponse(prettyPrint())));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void documentExportEmployees ( ) throws Exception {
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    employee.setIdentifier("exportedEmployee");
+
+    final ContactDetail email = new ContactDetail();
+    email.setType(ContactDetail.Type.EMAIL.name());
+    email.setGroup(ContactDetail.Group.BUSINESS.name());
+    email.setValue("exported@example.org");
+    email.setPreferenceLevel(1);
+
+    final ContactDetail phone = new ContactDetail();
+    phone.setType(ContactDetail.Type.PHONE.name());
+    phone.setGroup(ContactDetail.Group.BUSINESS.name());
+    phone.setValue("987654321");
+    phone.setPreferenceLevel(2);
+
+    employee.setContactDetails(Arrays.asList(email, phone));
+    this.organizationManager.createEmployee(employee);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier());
+
+    final String export = this.mockMvc.perform(get("/employees/export")
+            .accept(MediaType.ALL_VALUE))
+            .andExpect(status().isOk())
+            .andDo(document("document-export-employees"))
+            .andReturn().getResponse().getContentAsString();
+
+    final Gson gson = new Gson();
+    final Employee exportedEmployee = Arrays.stream(export.split("\n"))
+            .map(line -> gson.fromJson(line, Employee.class))
+            .filter(candidate -> candidate.getIdentifier().equals(employee.getIdentifier()))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    Assert.assertEquals(2, exportedEmployee.getContactDetails().size());
+    Assert.assertEquals(email.getValue(), exportedEmployee.getContactDetails().get(0).getValue());
+  }
+
+  @Test
+  public void documentImportEmployees ( ) throws Exception {
+
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+    final String csv = String.join("\n",
+            "identifier,givenName,surname,assignedOffice,email,phone",
+            "importedEmployee,Kwame,Mensah," + office.getIdentifier() + ",kwame@example.org,\"+233 20 000 0000\"",
+            "unassignedEmployee,Ama,Owusu,unknownOffice,ama@example.org,");
+
+    this.mockMvc.perform(post("/employees/import")
+            .contentType("text/csv")
+            .content(csv))
+            .andExpect(status().isOk())
+            .andDo(document("document-import-employees", preprocessResponse(prettyPrint()),
+                    responseFields(
+                            fieldWithPath("imported").description("Number of imported employees"),
+                            fieldWithPath("errors").type("List<ImportError>").description("Rows which could not be imported"),
+                            fieldWithPath("errors[].row").description("Position of the row, starting with 1 after the header"),
+                            fieldWithPath("errors[].identifier").description("Identifier given in the row"),
+                            fieldWithPath("errors[].message").description("Reason the row was not imported"))));
+
+    final Employee importedEmployee = this.organizationManager.findEmployee("importedEmployee");
+    Assert.assertEquals(office.getIdentifier(), importedEmployee.getAssignedOffice());
+    Assert.assertEquals(2, importedEmployee.getContactDetails().size());
+
+    this.organizationManager.deleteEmployee(importedEmployee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, importedEmployee.getIdentifier());
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+}
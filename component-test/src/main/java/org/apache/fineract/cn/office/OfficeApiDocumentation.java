@@ -34,18 +34,23 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.Arrays;
+
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class OfficeApiDocumentation extends TestOffice {
@@ -89,6 +94,41 @@ public class OfficeApiDocumentation extends TestOffice {
                             fieldWithPath("description").description("Employee's middle name"))));
   }
 
+  @Test
+  public void documentCreateOfficeAndWaitForCompletion ( ) throws Exception {
+
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setIdentifier("Kampala");
+    office.setName("Kampala Savings MFI");
+    office.setDescription("Savings Office In Kampala");
+
+    Gson gson = new Gson();
+    this.mockMvc.perform(post("/offices")
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .header("Prefer", "return=representation")
+            .content(gson.toJson(office))
+            .accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Preference-Applied", "return=representation"))
+            .andDo(document("document-create-office-and-wait-for-completion", preprocessRequest(prettyPrint()), preprocessResponse(prettyPrint()),
+                    requestHeaders(
+                            headerWithName("Prefer").description("_return=representation_ waits for the command to complete")),
+                    requestFields(
+                            fieldWithPath("identifier").description("office's identifier"),
+                            fieldWithPath("name").description("office name"),
+                            fieldWithPath("description").description("office description")),
+                    responseFields(
+                            fieldWithPath("identifier").description("office's identifier"),
+                            fieldWithPath("name").description("office name"),
+                            fieldWithPath("description").description("office description"),
+                            fieldWithPath("parentIdentifier").type("String").description("Parent's branch"),
+                            fieldWithPath("address").type("Address").description("Office's address"),
+                            fieldWithPath("externalReferences").description("External references"))));
+
+    final Office createdOffice = this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+    Assert.assertEquals(office.getName(), createdOffice.getName());
+  }
+
   @Test
   public void documentFindOffice ( ) throws Exception {
 
@@ -253,7 +293,8 @@ public class OfficeApiDocumentation extends TestOffice {
                                     "}"),
                             fieldWithPath("offices[1].externalReferences").description("second branch's external reference"),
                             fieldWithPath("totalPages").type("Integer").description("Page of offices"),
-                            fieldWithPath("totalElements").type("Integer").description("Page of offices"))));
+                            fieldWithPath("totalElements").type("Integer").description("Page of offices"),
+                            fieldWithPath("nextCursor").type("String").description("Cursor of the next page, only set for cursor based paging"))));
   }
 
   @Test
@@ -373,6 +414,30 @@ public class OfficeApiDocumentation extends TestOffice {
             .andDo(document("document-delete-office-address", preprocessResponse(prettyPrint())));
   }
 
+  @Test
+  public void documentExportOffices ( ) throws Exception {
+
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setIdentifier("exportedOffice");
+    office.setName("Exported Office");
+    office.setDescription("Office To Be Exported");
+    office.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.createOffice(office);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+    final String export = this.mockMvc.perform(get("/offices/export")
+            .accept(MediaType.ALL_VALUE))
+            .andExpect(status().isOk())
+            .andDo(document("document-export-offices"))
+            .andReturn().getResponse().getContentAsString();
+
+    final Gson gson = new Gson();
+    Assert.assertTrue(Arrays.stream(export.split("\n"))
+            .map(line -> gson.fromJson(line, Office.class))
+            .anyMatch(exportedOffice -> exportedOffice.getIdentifier().equals(office.getIdentifier())
+                    && exportedOffice.getAddress() != null));
+  }
+
   // TODO : Fix documentAddExternalReference() method
   /*
   @Test
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import java.util.Collections;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.util.EmployeeFactory;
+import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+
+@TestPropertySource(properties = {
+    "office.commands.queue.enabled=true",
+    "office.commands.queue.workers=1",
+    "office.commands.queue.capacity=1",
+    "office.commands.queue.rejectionPolicy=REJECT",
+    "office.commands.queue.retryAfter=3"
+})
+public class TestCommandQueue extends AbstractCommandQueueTest {
+
+  @Test
+  public void shouldRunCommandsThroughBoundedQueue() throws Exception {
+    final long rejections = this.rejections();
+
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    Assert.assertTrue(this.metricRegistry.getGauges().containsKey("office.commands.queue.depth"));
+    Assert.assertTrue(this.metricRegistry.getGauges().containsKey("office.commands.queue.active"));
+    Assert.assertEquals(rejections, this.rejections());
+    Assert.assertEquals(office.getName(), this.organizationManager.findOfficeByIdentifier(office.getIdentifier()).getName());
+  }
+
+  @Test
+  public void shouldRejectCommandsWhenQueueIsFull() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final long rejections = this.rejections();
+    try (final RowLock ignored = this.lockOffice(office.getIdentifier())) {
+      office.setName(RandomStringUtils.randomAlphanumeric(32));
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(0, 1);
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(1, 1);
+
+      try {
+        this.putOffice(office, this.tenant(), this.accessToken());
+        Assert.fail();
+      } catch (final HttpClientErrorException ex) {
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        Assert.assertEquals("3", ex.getResponseHeaders().getFirst("Retry-After"));
+      }
+      Assert.assertEquals(rejections + 1L, this.rejections());
+    }
+
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+    this.awaitQueue(0, 0);
+    Assert.assertEquals(office.getName(), this.organizationManager.findOfficeByIdentifier(office.getIdentifier()).getName());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
+  @Test
+  public void shouldRejectEmployeeImportWhenQueueIsFull() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    final long rejections = this.rejections();
+    try (final RowLock ignored = this.lockOffice(office.getIdentifier())) {
+      office.setName(RandomStringUtils.randomAlphanumeric(32));
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(0, 1);
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(1, 1);
+
+      try {
+        this.importEmployees(Collections.singletonList(employee), this.tenant(), this.accessToken());
+        Assert.fail();
+      } catch (final HttpClientErrorException ex) {
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        Assert.assertEquals("3", ex.getResponseHeaders().getFirst("Retry-After"));
+      }
+      Assert.assertEquals(rejections + 1L, this.rejections());
+    }
+
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+    this.awaitQueue(0, 0);
+    Assert.assertEquals(Integer.valueOf(1),
+        this.importEmployees(Collections.singletonList(employee), this.tenant(), this.accessToken()).getBody().getImported());
+
+    this.organizationManager.deleteEmployee(employee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier());
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+    "office.commands.queue.enabled=true",
+    "office.commands.queue.workers=1",
+    "office.commands.queue.capacity=1",
+    "office.commands.queue.rejectionPolicy=CALLER_RUNS"
+})
+public class TestCommandQueueCallerRuns extends AbstractCommandQueueTest {
+
+  @Test
+  public void shouldRunCommandOnRequestThreadWhenQueueIsFull() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final long rejections = this.rejections();
+    final CompletableFuture<ResponseEntity<Void>> callerRuns;
+    try (final RowLock ignored = this.lockOffice(office.getIdentifier())) {
+      office.setName(RandomStringUtils.randomAlphanumeric(32));
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(0, 1);
+      this.organizationManager.updateOffice(office.getIdentifier(), office);
+      this.awaitQueue(1, 1);
+
+      // the request thread runs the command itself, so the request waits for the lock as well
+      final String tenant = this.tenant();
+      final String accessToken = this.accessToken();
+      callerRuns = CompletableFuture.supplyAsync(() -> this.putOffice(office, tenant, accessToken));
+      final long deadline = System.currentTimeMillis() + 5000L;
+      while (this.rejections() == rejections && System.currentTimeMillis() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(10L);
+      }
+      Assert.assertEquals(rejections + 1L, this.rejections());
+      Assert.assertFalse(callerRuns.isDone());
+    }
+
+    Assert.assertEquals(HttpStatus.ACCEPTED, callerRuns.get(5L, TimeUnit.SECONDS).getStatusCode());
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+    this.awaitQueue(0, 0);
+    Assert.assertEquals(office.getName(), this.organizationManager.findOfficeByIdentifier(office.getIdentifier()).getName());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+}
@@ -22,21 +22,48 @@ import org.apache.fineract.cn.office.api.v1.EventConstants;
 import org.apache.fineract.cn.office.api.v1.client.AlreadyExistsException;
 import org.apache.fineract.cn.office.api.v1.client.BadRequestException;
 import org.apache.fineract.cn.office.api.v1.client.NotFoundException;
+import org.apache.fineract.cn.office.api.v1.client.NotModifiedException;
 import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
 import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
+import org.apache.fineract.cn.office.api.v1.domain.ImportError;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.fineract.cn.office.util.EmployeeFactory;
 import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
 
 public class TestEmployee extends AbstractOfficeTest {
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Before
+  public void declareStatementBudget() {
+    this.statementBudget.declare("GET /employees", 6);
+    this.statementBudget.declare("GET /employees/{useridentifier}", 4);
+    this.statementBudget.declare("GET /employees/{useridentifier}/contacts", 4);
+  }
+
   @Test
   public void shouldCreateEmployee() throws Exception {
     final Employee employee = EmployeeFactory.createRandomEmployee();
@@ -260,6 +287,57 @@ public class TestEmployee extends AbstractOfficeTest {
     }
   }
 
+  @Test
+  public void shouldUpdateOnlyChangedContactDetails() throws Exception {
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    this.organizationManager.createEmployee(employee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+
+    final ContactDetail email = new ContactDetail();
+    email.setType(ContactDetail.Type.EMAIL.name());
+    email.setGroup(ContactDetail.Group.BUSINESS.name());
+    email.setValue("test@example.org");
+    email.setPreferenceLevel(1);
+
+    final ContactDetail phone = new ContactDetail();
+    phone.setType(ContactDetail.Type.PHONE.name());
+    phone.setGroup(ContactDetail.Group.BUSINESS.name());
+    phone.setValue("123456789");
+    phone.setPreferenceLevel(2);
+
+    final ContactDetail mobile = new ContactDetail();
+    mobile.setType(ContactDetail.Type.MOBILE.name());
+    mobile.setGroup(ContactDetail.Group.PRIVATE.name());
+    mobile.setValue("987654321");
+    mobile.setPreferenceLevel(3);
+
+    this.organizationManager.setContactDetails(employee.getIdentifier(), Arrays.asList(email, phone, mobile));
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_CONTACT_DETAIL, employee.getIdentifier()));
+
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+    final List<Long> storedIds = this.contactDetailIds(jdbcTemplate, employee.getIdentifier());
+    final Long storedSequenceValue = jdbcTemplate.queryForObject("SELECT last_value FROM horus_contact_details_id_seq", Long.class);
+
+    phone.setValue("555000111");
+    this.organizationManager.setContactDetails(employee.getIdentifier(), Arrays.asList(email, phone, mobile));
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_CONTACT_DETAIL, employee.getIdentifier()));
+
+    Assert.assertEquals(Arrays.asList(email, phone, mobile), this.organizationManager.fetchContactDetails(employee.getIdentifier()));
+    Assert.assertEquals(storedIds, this.contactDetailIds(jdbcTemplate, employee.getIdentifier()));
+    Assert.assertEquals(storedSequenceValue, jdbcTemplate.queryForObject("SELECT last_value FROM horus_contact_details_id_seq", Long.class));
+
+    email.setPreferenceLevel(2);
+    phone.setPreferenceLevel(1);
+    this.organizationManager.setContactDetails(employee.getIdentifier(), Arrays.asList(phone, email));
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_CONTACT_DETAIL, employee.getIdentifier()));
+
+    Assert.assertEquals(Arrays.asList(phone, email), this.organizationManager.fetchContactDetails(employee.getIdentifier()));
+    Assert.assertEquals(storedIds.subList(0, 2), this.contactDetailIds(jdbcTemplate, employee.getIdentifier()));
+
+    this.organizationManager.deleteEmployee(employee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier());
+  }
+
   @Test
   public void shouldNotSetContactDetailEmployeeNotFound() throws Exception {
     final ContactDetail contactDetail = new ContactDetail();
@@ -312,4 +390,334 @@ public class TestEmployee extends AbstractOfficeTest {
     this.organizationManager.deleteEmployee(employee.getIdentifier());
     this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier());
   }
+
+  @Test
+  public void shouldFetchEmployeesWithConstantNumberOfQueries() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final String prefix = RandomStringUtils.randomAlphanumeric(8);
+    for (int i = 0; i < 11; i++) {
+      final Employee employee = EmployeeFactory.createRandomEmployee();
+      employee.setIdentifier(prefix + i);
+      employee.setAssignedOffice(office.getIdentifier());
+      this.organizationManager.createEmployee(employee);
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+
+      final ContactDetail email = new ContactDetail();
+      email.setType(ContactDetail.Type.EMAIL.name());
+      email.setGroup(ContactDetail.Group.BUSINESS.name());
+      email.setValue(employee.getIdentifier() + "@example.org");
+      email.setPreferenceLevel(1);
+
+      final ContactDetail phone = new ContactDetail();
+      phone.setType(ContactDetail.Type.PHONE.name());
+      phone.setGroup(ContactDetail.Group.BUSINESS.name());
+      phone.setValue("123456789");
+      phone.setPreferenceLevel(2);
+
+      this.organizationManager.setContactDetails(employee.getIdentifier(), Arrays.asList(phone, email));
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_CONTACT_DETAIL, employee.getIdentifier()));
+    }
+
+    final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    statistics.clear();
+    final EmployeePage smallPage = this.organizationManager.fetchEmployees(prefix, null, 0, 2, null, null);
+    final long statementsForSmallPage = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    final EmployeePage largePage = this.organizationManager.fetchEmployees(prefix, null, 0, 10, null, null);
+    final long statementsForLargePage = statistics.getPrepareStatementCount();
+
+    statistics.setStatisticsEnabled(false);
+
+    Assert.assertEquals(2, smallPage.getEmployees().size());
+    Assert.assertEquals(10, largePage.getEmployees().size());
+    Assert.assertEquals(statementsForSmallPage, statementsForLargePage);
+
+    largePage.getEmployees().forEach(employee -> {
+      Assert.assertEquals(office.getIdentifier(), employee.getAssignedOffice());
+      Assert.assertEquals(2, employee.getContactDetails().size());
+      Assert.assertEquals(Integer.valueOf(1), employee.getContactDetails().get(0).getPreferenceLevel());
+      Assert.assertEquals(Integer.valueOf(2), employee.getContactDetails().get(1).getPreferenceLevel());
+    });
+  }
+
+  @Test
+  public void shouldFetchEmployeesWithFields() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    employee.setAssignedOffice(office.getIdentifier());
+    final ContactDetail email = new ContactDetail();
+    email.setType(ContactDetail.Type.EMAIL.name());
+    email.setGroup(ContactDetail.Group.BUSINESS.name());
+    email.setValue(employee.getIdentifier() + "@example.org");
+    email.setPreferenceLevel(1);
+    employee.setContactDetails(Collections.singletonList(email));
+    this.organizationManager.createEmployee(employee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+
+    final EmployeePage sparsePage = this.organizationManager.fetchEmployeesWithFields(null, office.getIdentifier(), 0, 20,
+        null, null, "givenName,surname", null);
+    Assert.assertEquals(Long.valueOf(1L), sparsePage.getTotalElements());
+    final Employee sparseEmployee = sparsePage.getEmployees().get(0);
+    Assert.assertEquals(employee.getIdentifier(), sparseEmployee.getIdentifier());
+    Assert.assertEquals(employee.getGivenName(), sparseEmployee.getGivenName());
+    Assert.assertEquals(employee.getSurname(), sparseEmployee.getSurname());
+    Assert.assertNull(sparseEmployee.getMiddleName());
+    Assert.assertNull(sparseEmployee.getAssignedOffice());
+    Assert.assertNull(sparseEmployee.getContactDetails());
+
+    final EmployeePage expandedPage = this.organizationManager.fetchEmployeesWithFields(employee.getIdentifier(), null, 0, 20,
+        null, null, "assignedOffice", "contactDetails");
+    final Employee expandedEmployee = expandedPage.getEmployees().get(0);
+    Assert.assertEquals(office.getIdentifier(), expandedEmployee.getAssignedOffice());
+    Assert.assertNull(expandedEmployee.getGivenName());
+    Assert.assertEquals(1, expandedEmployee.getContactDetails().size());
+    Assert.assertEquals(email.getValue(), expandedEmployee.getContactDetails().get(0).getValue());
+
+    try {
+      this.organizationManager.fetchEmployeesWithFields(null, null, 0, 20, null, null, null, "assignedOffice");
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+
+    this.organizationManager.deleteEmployee(employee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier());
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
+  @Test
+  public void shouldPageEmployeesByCursor() throws Exception {
+    final String prefix = RandomStringUtils.randomAlphanumeric(8);
+    final List<String> surnames = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final Employee employee = EmployeeFactory.createRandomEmployee();
+      employee.setIdentifier(prefix + i);
+      employee.setSurname(i % 2 == 0 ? "Doe" : null);
+      this.organizationManager.createEmployee(employee);
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+      surnames.add(employee.getSurname());
+    }
+
+    final List<String> identifiers = new ArrayList<>();
+    String cursor = "";
+    do {
+      final EmployeePage employeePage = this.organizationManager.fetchEmployeesByCursor(prefix, null, cursor, 2, "surname", "DESC");
+      Assert.assertNull(employeePage.getTotalElements());
+      Assert.assertTrue(employeePage.getEmployees().size() <= 2);
+      employeePage.getEmployees().forEach(employee -> identifiers.add(employee.getIdentifier()));
+      cursor = employeePage.getNextCursor();
+    } while (cursor != null);
+
+    Assert.assertEquals(Arrays.asList(prefix + 4, prefix + 2, prefix + 0, prefix + 3, prefix + 1), identifiers);
+
+    try {
+      this.organizationManager.fetchEmployeesByCursor(prefix, null, "", 2, "middleName", null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+
+    for (int i = 0; i < 5; i++) {
+      this.organizationManager.deleteEmployee(prefix + i);
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, prefix + i);
+    }
+  }
+
+  @Test
+  public void shouldSearchEmployeesCaseInsensitiveByRelevance() throws Exception {
+    final String term = RandomStringUtils.randomAlphabetic(12).toLowerCase();
+
+    final Employee surnameMatch = EmployeeFactory.createRandomEmployee();
+    surnameMatch.setSurname(RandomStringUtils.randomAlphanumeric(32) + term.toUpperCase() + RandomStringUtils.randomAlphanumeric(32));
+    this.organizationManager.createEmployee(surnameMatch);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, surnameMatch.getIdentifier()));
+
+    final Employee givenNameMatch = EmployeeFactory.createRandomEmployee();
+    givenNameMatch.setGivenName(term.toUpperCase());
+    this.organizationManager.createEmployee(givenNameMatch);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, givenNameMatch.getIdentifier()));
+
+    final EmployeePage employeePage = this.organizationManager.fetchEmployees(term, null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(2L), employeePage.getTotalElements());
+    Assert.assertEquals(givenNameMatch.getIdentifier(), employeePage.getEmployees().get(0).getIdentifier());
+    Assert.assertEquals(surnameMatch.getIdentifier(), employeePage.getEmployees().get(1).getIdentifier());
+
+    final EmployeePage wildcardPage = this.organizationManager.fetchEmployees(term.substring(0, 4) + "%", null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(0L), wildcardPage.getTotalElements());
+
+    this.organizationManager.deleteEmployee(surnameMatch.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, surnameMatch.getIdentifier());
+    this.organizationManager.deleteEmployee(givenNameMatch.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, givenNameMatch.getIdentifier());
+  }
+
+  @Test
+  public void shouldImportEmployees() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Employee existingEmployee = EmployeeFactory.createRandomEmployee();
+    this.organizationManager.createEmployee(existingEmployee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, existingEmployee.getIdentifier()));
+
+    final Employee importedEmployee = EmployeeFactory.createRandomEmployee();
+    importedEmployee.setAssignedOffice(office.getIdentifier());
+    final ContactDetail email = new ContactDetail();
+    email.setType(ContactDetail.Type.EMAIL.name());
+    email.setGroup(ContactDetail.Group.BUSINESS.name());
+    email.setValue("imported@example.org");
+    email.setPreferenceLevel(1);
+    importedEmployee.setContactDetails(Collections.singletonList(email));
+
+    final Employee unknownOfficeEmployee = EmployeeFactory.createRandomEmployee();
+    unknownOfficeEmployee.setAssignedOffice(RandomStringUtils.randomAlphanumeric(32));
+
+    final Employee invalidEmployee = EmployeeFactory.createRandomEmployee();
+    invalidEmployee.setIdentifier(null);
+
+    final EmployeeImportReport employeeImportReport = this.organizationManager.importEmployees(
+        Arrays.asList(importedEmployee, existingEmployee, unknownOfficeEmployee, invalidEmployee, importedEmployee));
+
+    Assert.assertEquals(Integer.valueOf(1), employeeImportReport.getImported());
+    Assert.assertEquals(Arrays.asList(2, 3, 4, 5), employeeImportReport.getErrors()
+        .stream()
+        .map(ImportError::getRow)
+        .collect(Collectors.toList()));
+    Assert.assertEquals(existingEmployee.getIdentifier(), employeeImportReport.getErrors().get(0).getIdentifier());
+
+    final Employee savedEmployee = this.organizationManager.findEmployee(importedEmployee.getIdentifier());
+    Assert.assertEquals(office.getIdentifier(), savedEmployee.getAssignedOffice());
+    Assert.assertEquals(importedEmployee.getSurname(), savedEmployee.getSurname());
+    Assert.assertEquals(Collections.singletonList(email), savedEmployee.getContactDetails());
+
+    this.organizationManager.deleteEmployee(importedEmployee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, importedEmployee.getIdentifier());
+    this.organizationManager.deleteEmployee(existingEmployee.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, existingEmployee.getIdentifier());
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
+  @Test
+  public void shouldNotReturnUnmodifiedEmployee() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+    final String officeETag = this.organizationManager.findOfficeIfModified(office.getIdentifier(), "\"0\"")
+        .getHeaders().getETag();
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    employee.setAssignedOffice(office.getIdentifier());
+    this.organizationManager.createEmployee(employee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+
+    final ResponseEntity<Office> officeResponse = this.organizationManager.findOfficeIfModified(office.getIdentifier(), officeETag);
+    Assert.assertNotEquals(officeETag, officeResponse.getHeaders().getETag());
+    Assert.assertTrue(officeResponse.getBody().getExternalReferences());
+
+    final ResponseEntity<Employee> response = this.organizationManager.findEmployeeIfModified(employee.getIdentifier(), "\"0\"");
+    final String eTag = response.getHeaders().getETag();
+    Assert.assertNotNull(eTag);
+    Assert.assertEquals(office.getIdentifier(), response.getBody().getAssignedOffice());
+
+    try {
+      this.organizationManager.findEmployeeIfModified(employee.getIdentifier(), eTag);
+      Assert.fail();
+    } catch (final NotModifiedException ex) {
+      // do nothing, expected
+    }
+
+    try {
+      this.organizationManager.fetchContactDetailsIfModified(employee.getIdentifier(), eTag);
+      Assert.fail();
+    } catch (final NotModifiedException ex) {
+      // do nothing, expected
+    }
+
+    final ContactDetail phone = new ContactDetail();
+    phone.setType(ContactDetail.Type.PHONE.name());
+    phone.setGroup(ContactDetail.Group.BUSINESS.name());
+    phone.setValue(RandomStringUtils.randomNumeric(12));
+    phone.setPreferenceLevel(1);
+    this.organizationManager.setContactDetails(employee.getIdentifier(), Collections.singletonList(phone));
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_CONTACT_DETAIL, employee.getIdentifier()));
+
+    final ResponseEntity<List<ContactDetail>> contactDetailsResponse =
+        this.organizationManager.fetchContactDetailsIfModified(employee.getIdentifier(), eTag);
+    Assert.assertNotEquals(eTag, contactDetailsResponse.getHeaders().getETag());
+    Assert.assertEquals(Collections.singletonList(phone), contactDetailsResponse.getBody());
+  }
+
+  @Test
+  public void shouldLookupEmployeesByIdentifiers() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final List<Employee> employees = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final Employee employee = EmployeeFactory.createRandomEmployee();
+      employee.setAssignedOffice(office.getIdentifier());
+      final ContactDetail email = new ContactDetail();
+      email.setType(ContactDetail.Type.EMAIL.name());
+      email.setGroup(ContactDetail.Group.BUSINESS.name());
+      email.setValue(employee.getIdentifier() + "@example.org");
+      email.setPreferenceLevel(1);
+      employee.setContactDetails(Collections.singletonList(email));
+      employees.add(employee);
+    }
+    Assert.assertEquals(Integer.valueOf(5), this.organizationManager.importEmployees(employees).getImported());
+
+    final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    statistics.clear();
+    final List<Employee> singleEmployee =
+        this.organizationManager.findEmployeesByIdentifiers(Collections.singletonList(employees.get(0).getIdentifier()));
+    final long statementsForSingleEmployee = statistics.getPrepareStatementCount();
+
+    final List<String> identifiers = Arrays.asList(employees.get(4).getIdentifier(), RandomStringUtils.randomAlphanumeric(32),
+        employees.get(1).getIdentifier(), employees.get(3).getIdentifier());
+    statistics.clear();
+    final List<Employee> foundEmployees = this.organizationManager.findEmployeesByIdentifiers(identifiers);
+    final long statementsForEmployees = statistics.getPrepareStatementCount();
+
+    statistics.setStatisticsEnabled(false);
+
+    Assert.assertEquals(1, singleEmployee.size());
+    Assert.assertEquals(statementsForSingleEmployee, statementsForEmployees);
+    Assert.assertEquals(Arrays.asList(employees.get(4).getIdentifier(), employees.get(1).getIdentifier(), employees.get(3).getIdentifier()),
+        foundEmployees.stream().map(Employee::getIdentifier).collect(Collectors.toList()));
+    foundEmployees.forEach(employee -> {
+      Assert.assertEquals(office.getIdentifier(), employee.getAssignedOffice());
+      Assert.assertEquals(1, employee.getContactDetails().size());
+    });
+
+    final List<Employee> lookedUpEmployees = this.organizationManager.lookupEmployees(identifiers);
+    Assert.assertEquals(foundEmployees.stream().map(Employee::getIdentifier).collect(Collectors.toList()),
+        lookedUpEmployees.stream().map(Employee::getIdentifier).collect(Collectors.toList()));
+
+    for (final Employee employee : employees) {
+      this.organizationManager.deleteEmployee(employee.getIdentifier());
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier());
+    }
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
+  private List<Long> contactDetailIds(final JdbcTemplate jdbcTemplate, final String identifier) {
+    return jdbcTemplate.queryForList("SELECT c.id FROM horus_contact_details c " +
+        "JOIN horus_employees e ON e.id = c.employee_id WHERE e.identifier = ? ORDER BY c.id", Long.class, identifier);
+  }
 }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeEvent;
+import org.apache.fineract.cn.office.listener.EnrichedEventListener;
+import org.apache.fineract.cn.office.util.AddressFactory;
+import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "office.events.enriched.enabled=true")
+public class TestEnrichedEvents extends AbstractOfficeTest {
+
+  @Autowired
+  private EnrichedEventListener enrichedEventListener;
+
+  @Test
+  public void shouldPublishEnrichedOfficeEvents() throws Exception {
+    final Office parent = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(parent);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, parent.getIdentifier());
+
+    final Office branch = OfficeFactory.createRandomOffice();
+    branch.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.addBranch(parent.getIdentifier(), branch);
+
+    final OfficeEvent createdEvent =
+        this.enrichedEventListener.waitForOfficeEvent(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier());
+    Assert.assertNotNull(createdEvent);
+    Assert.assertEquals(branch.getName(), createdEvent.getOffice().getName());
+    Assert.assertEquals(parent.getIdentifier(), createdEvent.getOffice().getParentIdentifier());
+    Assert.assertEquals(branch.getAddress().getStreet(), createdEvent.getOffice().getAddress().getStreet());
+    Assert.assertEquals(parent.getName(), createdEvent.getParent().getName());
+
+    branch.setName(RandomStringUtils.randomAlphanumeric(32));
+    this.organizationManager.updateOffice(branch.getIdentifier(), branch);
+
+    final OfficeEvent updatedEvent =
+        this.enrichedEventListener.waitForOfficeEvent(EventConstants.OPERATION_PUT_OFFICE, branch.getIdentifier());
+    Assert.assertNotNull(updatedEvent);
+    Assert.assertEquals(branch.getName(), updatedEvent.getOffice().getName());
+
+    this.organizationManager.deleteOffice(branch.getIdentifier());
+
+    final OfficeEvent deletedEvent =
+        this.enrichedEventListener.waitForOfficeEvent(EventConstants.OPERATION_DELETE_OFFICE, branch.getIdentifier());
+    Assert.assertNotNull(deletedEvent);
+    Assert.assertNull(deletedEvent.getOffice());
+
+    this.organizationManager.deleteOffice(parent.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, parent.getIdentifier());
+  }
+}
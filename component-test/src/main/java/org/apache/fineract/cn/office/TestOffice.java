@@ -18,25 +18,60 @@
  */
 package org.apache.fineract.cn.office;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.fineract.cn.office.api.v1.EventConstants;
 import org.apache.fineract.cn.office.api.v1.client.AlreadyExistsException;
 import org.apache.fineract.cn.office.api.v1.client.BadRequestException;
 import org.apache.fineract.cn.office.api.v1.client.ChildrenExistException;
 import org.apache.fineract.cn.office.api.v1.client.NotFoundException;
+import org.apache.fineract.cn.office.api.v1.client.NotModifiedException;
 import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.Change;
+import org.apache.fineract.cn.office.api.v1.domain.ChangePage;
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
 import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeImportSummary;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeNode;
 import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.fineract.cn.office.util.AddressFactory;
 import org.apache.fineract.cn.office.util.EmployeeFactory;
 import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
-
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+
+@TestPropertySource(properties = "office.cache.enabled=true")
 public class TestOffice extends AbstractOfficeTest {
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Before
+  public void declareStatementBudget() {
+    // the office tree cache serves single offices and branches
+    this.statementBudget.declare("GET /offices", 8);
+    this.statementBudget.declare("GET /offices/{identifier}", 4);
+    this.statementBudget.declare("GET /offices/{identifier}/branches", 8);
+  }
+
   @Test
   public void shouldCreateOffice() throws Exception {
     final Office office = OfficeFactory.createRandomOffice();
@@ -107,6 +142,24 @@ public class TestOffice extends AbstractOfficeTest {
     this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
   }
 
+  @Test
+  public void shouldReturnUpdatedOfficeWhenPreferred() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+    office.setName(RandomStringUtils.randomAlphanumeric(32));
+    final ResponseEntity<Office> response =
+        this.organizationManager.updateOfficeWithPreference(office.getIdentifier(), office, "return=representation");
+    Assert.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assert.assertEquals("return=representation", response.getHeaders().getFirst("Preference-Applied"));
+    Assert.assertEquals(office.getName(), response.getBody().getName());
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
   @Test
   public void shouldAddBranch() throws Exception {
     final Office office = OfficeFactory.createRandomOffice();
@@ -129,6 +182,62 @@ public class TestOffice extends AbstractOfficeTest {
     this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
   }
 
+  @Test
+  public void shouldAddBranchToOfficesNamedLikeCollectionOperations() throws Exception {
+    for (final String identifier : Arrays.asList("import", "lookup")) {
+      final Office office = OfficeFactory.createRandomOffice();
+      office.setIdentifier(identifier);
+      this.organizationManager.createOffice(office);
+      this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+      final Office branch = OfficeFactory.createRandomOffice();
+      this.organizationManager.addBranch(office.getIdentifier(), branch);
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier()));
+      Assert.assertEquals(office.getIdentifier(),
+          this.organizationManager.findOfficeByIdentifier(branch.getIdentifier()).getParentIdentifier());
+
+      this.organizationManager.deleteOffice(branch.getIdentifier());
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, branch.getIdentifier());
+      this.organizationManager.deleteOffice(office.getIdentifier());
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+    }
+  }
+
+  @Test
+  public void shouldSortCachedBranchesLikeTheDatabase() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+    // mixed case orders differently in most collations than by code point
+    final String prefix = RandomStringUtils.randomAlphanumeric(8) + "-";
+    final List<String> suffixes = Arrays.asList("a", "B", "c", "D");
+    for (final String suffix : suffixes) {
+      final Office branch = OfficeFactory.createRandomOffice();
+      branch.setIdentifier(prefix + suffix);
+      branch.setName(suffix);
+      this.organizationManager.addBranch(office.getIdentifier(), branch);
+      this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier());
+    }
+
+    for (final String sortColumn : Arrays.asList("identifier", "name")) {
+      for (final String sortDirection : Arrays.asList("ASC", "DESC")) {
+        final List<String> branches = this.organizationManager.getBranches(office.getIdentifier(), 0, 10, sortColumn, sortDirection)
+            .getOffices().stream().map(Office::getIdentifier).collect(Collectors.toList());
+        final List<String> offices = this.organizationManager.fetchOffices(prefix, 0, 10, sortColumn, sortDirection)
+            .getOffices().stream().map(Office::getIdentifier).collect(Collectors.toList());
+        Assert.assertEquals(sortColumn + " " + sortDirection, offices, branches);
+      }
+    }
+
+    for (final String suffix : suffixes) {
+      this.organizationManager.deleteOffice(prefix + suffix);
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, prefix + suffix);
+    }
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
   @Test
   public void shouldNotAddBranchParentNotFound() throws Exception {
     try {
@@ -333,4 +442,514 @@ public class TestOffice extends AbstractOfficeTest {
     final Office office = this.organizationManager.findOfficeByIdentifier(randomOffice.getIdentifier());
     Assert.assertTrue(office.getExternalReferences());
   }
+
+  @Test
+  public void shouldSearchOfficesCaseInsensitive() throws Exception {
+    final String term = RandomStringUtils.randomAlphabetic(12).toLowerCase();
+
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setName("Branch " + term.toUpperCase());
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final OfficePage officePage = this.organizationManager.fetchOffices(term, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(1L), officePage.getTotalElements());
+    Assert.assertEquals(office.getIdentifier(), officePage.getOffices().get(0).getIdentifier());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+  }
+
+  @Test
+  public void shouldPageOfficesByCursor() throws Exception {
+    final String prefix = RandomStringUtils.randomAlphanumeric(8);
+    for (int i = 0; i < 5; i++) {
+      final Office office = OfficeFactory.createRandomOffice();
+      office.setIdentifier(prefix + i);
+      this.organizationManager.createOffice(office);
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+    }
+
+    final OfficePage firstPage = this.organizationManager.fetchOfficesByCursor(prefix, "", 3, null, null);
+    Assert.assertNull(firstPage.getTotalElements());
+    Assert.assertEquals(3, firstPage.getOffices().size());
+    Assert.assertEquals(prefix + 0, firstPage.getOffices().get(0).getIdentifier());
+    Assert.assertNotNull(firstPage.getNextCursor());
+
+    final OfficePage secondPage = this.organizationManager.fetchOfficesByCursor(prefix, firstPage.getNextCursor(), 3, null, null);
+    Assert.assertEquals(2, secondPage.getOffices().size());
+    Assert.assertEquals(prefix + 3, secondPage.getOffices().get(0).getIdentifier());
+    Assert.assertNull(secondPage.getNextCursor());
+
+    try {
+      this.organizationManager.fetchOfficesByCursor(prefix, "not-a-cursor", 3, null, null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+
+    try {
+      this.organizationManager.fetchOfficesByCursor(prefix, "", 1001, null, null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+
+    for (int i = 0; i < 5; i++) {
+      this.organizationManager.deleteOffice(prefix + i);
+      this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, prefix + i);
+    }
+  }
+
+  @Test
+  public void shouldRecordCommandMetrics() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Map<String, Map<String, Double>> commandMetrics = this.organizationManager.fetchCommandMetrics();
+    // the event is only sent once the command committed, so its emission is recorded as well
+    for (final String phase : Arrays.asList("queue", "execution.success", "commit.success", "emission.success")) {
+      final Map<String, Double> timer = commandMetrics.get(EventConstants.OPERATION_POST_OFFICE + "." + phase);
+      Assert.assertNotNull(phase, timer);
+      Assert.assertTrue(phase, timer.get("count") >= 1.0d);
+      Assert.assertTrue(phase, timer.get("p99") >= 0.0d);
+    }
+  }
+
+  @Test
+  public void shouldReportStatementsInServerTiming() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final ResponseEntity<Office> response =
+        this.organizationManager.findOfficeIfModified(office.getIdentifier(), "\"" + RandomStringUtils.randomAlphanumeric(8) + "\"");
+    final String serverTiming = response.getHeaders().getFirst("Server-Timing");
+    Assert.assertNotNull(serverTiming);
+    Assert.assertTrue(serverTiming, serverTiming.matches("db;dur=[0-9.]+;desc=\"[0-9]+ statements\""));
+  }
+
+  @Test
+  public void shouldServeOfficesFromCacheUntilChanged() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+    final long hits = this.metricRegistry.counter("office.cache.hits").getCount();
+    final Office cachedOffice = this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+    Assert.assertEquals(office.getName(), cachedOffice.getName());
+    Assert.assertEquals(hits + 1, this.metricRegistry.counter("office.cache.hits").getCount());
+
+    final long invalidations = this.metricRegistry.counter("office.cache.invalidations").getCount();
+    final Office officeToUpdate = new Office();
+    officeToUpdate.setIdentifier(office.getIdentifier());
+    officeToUpdate.setName(RandomStringUtils.randomAlphanumeric(32));
+    this.organizationManager.updateOffice(office.getIdentifier(), officeToUpdate);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+    Assert.assertTrue(this.metricRegistry.counter("office.cache.invalidations").getCount() > invalidations);
+
+    final Office updatedOffice = this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+    Assert.assertEquals(officeToUpdate.getName(), updatedOffice.getName());
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    employee.setAssignedOffice(office.getIdentifier());
+    this.organizationManager.createEmployee(employee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+    Assert.assertTrue(this.organizationManager.findOfficeByIdentifier(office.getIdentifier()).getExternalReferences());
+
+    this.organizationManager.deleteEmployee(employee.getIdentifier());
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_DELETE_EMPLOYEE, employee.getIdentifier()));
+    Assert.assertFalse(this.organizationManager.findOfficeByIdentifier(office.getIdentifier()).getExternalReferences());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier()));
+    try {
+      this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+      Assert.fail();
+    } catch (final NotFoundException ex) {
+      // do nothing, expected
+    }
+  }
+
+  @Test
+  public void shouldFetchDescendantsAndAncestors() throws Exception {
+    final Office root = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(root);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, root.getIdentifier()));
+
+    final Office region = OfficeFactory.createRandomOffice();
+    this.organizationManager.addBranch(root.getIdentifier(), region);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, region.getIdentifier()));
+
+    final Office district = OfficeFactory.createRandomOffice();
+    this.organizationManager.addBranch(region.getIdentifier(), district);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, district.getIdentifier()));
+
+    final Office branch = OfficeFactory.createRandomOffice();
+    this.organizationManager.addBranch(district.getIdentifier(), branch);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier()));
+
+    final OfficePage descendants = this.organizationManager.getDescendants(root.getIdentifier(), null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(3L), descendants.getTotalElements());
+    Assert.assertTrue(descendants.getOffices().stream()
+        .anyMatch(office -> office.getIdentifier().equals(branch.getIdentifier())
+            && district.getIdentifier().equals(office.getParentIdentifier())));
+
+    final OfficePage children = this.organizationManager.getDescendants(root.getIdentifier(), 1, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(1L), children.getTotalElements());
+    Assert.assertEquals(region.getIdentifier(), children.getOffices().get(0).getIdentifier());
+
+    final OfficePage ancestors = this.organizationManager.getAncestors(branch.getIdentifier(), null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(3L), ancestors.getTotalElements());
+
+    final OfficePage nearAncestors = this.organizationManager.getAncestors(branch.getIdentifier(), 2, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(2L), nearAncestors.getTotalElements());
+    Assert.assertTrue(nearAncestors.getOffices().stream().noneMatch(office -> office.getIdentifier().equals(root.getIdentifier())));
+
+    try {
+      this.organizationManager.getDescendants(root.getIdentifier(), 0, 0, 10, null, null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+
+    this.organizationManager.deleteOffice(branch.getIdentifier());
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, branch.getIdentifier()));
+
+    final OfficePage remainingDescendants = this.organizationManager.getDescendants(root.getIdentifier(), null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(2L), remainingDescendants.getTotalElements());
+
+    this.organizationManager.deleteOffice(district.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, district.getIdentifier());
+    this.organizationManager.deleteOffice(region.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, region.getIdentifier());
+    this.organizationManager.deleteOffice(root.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, root.getIdentifier());
+  }
+
+  @Test
+  public void shouldImportOfficeTree() throws Exception {
+    final Office parent = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(parent);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, parent.getIdentifier()));
+
+    final OfficeNode region = this.createOfficeNode();
+    region.getOffice().setParentIdentifier(parent.getIdentifier());
+    region.getOffice().setAddress(AddressFactory.createRandomAddress());
+    final OfficeNode firstDistrict = this.createOfficeNode();
+    final OfficeNode secondDistrict = this.createOfficeNode();
+    final OfficeNode branch = this.createOfficeNode();
+    firstDistrict.setBranches(Collections.singletonList(branch));
+    region.setBranches(Arrays.asList(firstDistrict, secondDistrict));
+
+    this.organizationManager.importOffices(region);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_IMPORT_OFFICES,
+        new OfficeImportSummary(region.getOffice().getIdentifier(), 4, 3)));
+
+    final Office savedBranch = this.organizationManager.findOfficeByIdentifier(branch.getOffice().getIdentifier());
+    Assert.assertEquals(firstDistrict.getOffice().getIdentifier(), savedBranch.getParentIdentifier());
+    Assert.assertEquals(region.getOffice().getAddress().getStreet(),
+        this.organizationManager.getAddressOfOffice(region.getOffice().getIdentifier()).getStreet());
+
+    final OfficePage ancestors = this.organizationManager.getAncestors(branch.getOffice().getIdentifier(), null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(3L), ancestors.getTotalElements());
+    final OfficePage descendants = this.organizationManager.getDescendants(parent.getIdentifier(), null, 0, 10, null, null);
+    Assert.assertEquals(Long.valueOf(4L), descendants.getTotalElements());
+
+    try {
+      this.organizationManager.importOffices(region);
+      Assert.fail();
+    } catch (final AlreadyExistsException ex) {
+      // do nothing, expected
+    }
+
+    this.organizationManager.deleteOffice(branch.getOffice().getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, branch.getOffice().getIdentifier());
+    this.organizationManager.deleteOffice(firstDistrict.getOffice().getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, firstDistrict.getOffice().getIdentifier());
+    this.organizationManager.deleteOffice(secondDistrict.getOffice().getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, secondDistrict.getOffice().getIdentifier());
+    this.organizationManager.deleteOffice(region.getOffice().getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, region.getOffice().getIdentifier());
+    this.organizationManager.deleteOffice(parent.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, parent.getIdentifier());
+  }
+
+  @Test
+  public void shouldNotImportOfficeTreeWithDuplicates() throws Exception {
+    final OfficeNode root = this.createOfficeNode();
+    final OfficeNode duplicate = new OfficeNode();
+    duplicate.setOffice(root.getOffice());
+    root.setBranches(Collections.singletonList(duplicate));
+
+    try {
+      this.organizationManager.importOffices(root);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+  }
+
+  @Test
+  public void shouldLookupOfficesByIdentifiers() throws Exception {
+    final Office first = OfficeFactory.createRandomOffice();
+    first.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.createOffice(first);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, first.getIdentifier());
+
+    final Office second = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(second);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, second.getIdentifier());
+
+    final List<String> identifiers =
+        Arrays.asList(second.getIdentifier(), RandomStringUtils.randomAlphanumeric(32), first.getIdentifier(), second.getIdentifier());
+
+    final List<Office> offices = this.organizationManager.findOfficesByIdentifiers(identifiers);
+    Assert.assertEquals(Arrays.asList(second.getIdentifier(), first.getIdentifier()),
+        offices.stream().map(Office::getIdentifier).collect(Collectors.toList()));
+    Assert.assertEquals(first.getAddress().getStreet(), offices.get(1).getAddress().getStreet());
+
+    final List<Office> lookedUpOffices = this.organizationManager.lookupOffices(identifiers);
+    Assert.assertEquals(Arrays.asList(second.getIdentifier(), first.getIdentifier()),
+        lookedUpOffices.stream().map(Office::getIdentifier).collect(Collectors.toList()));
+
+    this.organizationManager.deleteOffice(first.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, first.getIdentifier());
+    this.organizationManager.deleteOffice(second.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, second.getIdentifier());
+  }
+
+  @Test
+  public void shouldNotReturnUnmodifiedOffice() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final ResponseEntity<Office> response =
+        this.organizationManager.findOfficeIfModified(office.getIdentifier(), "\"" + RandomStringUtils.randomAlphanumeric(8) + "\"");
+    final String eTag = response.getHeaders().getETag();
+    Assert.assertNotNull(eTag);
+    Assert.assertEquals(office.getIdentifier(), response.getBody().getIdentifier());
+
+    final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      this.organizationManager.findOfficeIfModified(office.getIdentifier(), eTag);
+      Assert.fail();
+    } catch (final NotModifiedException ex) {
+      // do nothing, expected
+    }
+    final long statementsForUnmodifiedOffice = statistics.getPrepareStatementCount();
+    statistics.setStatisticsEnabled(false);
+    Assert.assertTrue(statementsForUnmodifiedOffice <= 1L);
+
+    try {
+      this.organizationManager.getAddressOfOfficeIfModified(office.getIdentifier(), eTag);
+      Assert.fail();
+    } catch (final NotModifiedException ex) {
+      // do nothing, expected
+    }
+
+    final ExternalReference externalReference = new ExternalReference();
+    externalReference.setType("anytype");
+    externalReference.setState(ExternalReference.State.ACTIVE.name());
+    this.organizationManager.addExternalReference(office.getIdentifier(), externalReference);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_REFERENCE, office.getIdentifier()));
+
+    final ResponseEntity<Office> modifiedResponse = this.organizationManager.findOfficeIfModified(office.getIdentifier(), eTag);
+    Assert.assertNotEquals(eTag, modifiedResponse.getHeaders().getETag());
+    Assert.assertTrue(modifiedResponse.getBody().getExternalReferences());
+
+    office.setName(RandomStringUtils.randomAlphanumeric(32));
+    this.organizationManager.updateOffice(office.getIdentifier(), office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier()));
+
+    final ResponseEntity<Address> addressResponse =
+        this.organizationManager.getAddressOfOfficeIfModified(office.getIdentifier(), modifiedResponse.getHeaders().getETag());
+    Assert.assertNotEquals(modifiedResponse.getHeaders().getETag(), addressResponse.getHeaders().getETag());
+    Assert.assertEquals(office.getAddress().getStreet(), addressResponse.getBody().getStreet());
+  }
+
+  @Test
+  public void shouldFetchChangesSinceCursor() throws Exception {
+    final String cursor = this.latestChangeCursor();
+
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.createOffice(office);
+    this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier());
+
+    office.setName(RandomStringUtils.randomAlphanumeric(32));
+    this.organizationManager.updateOffice(office.getIdentifier(), office);
+    this.eventRecorder.wait(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier());
+
+    final ChangePage changePage = this.organizationManager.fetchChanges(cursor, 100);
+    final List<Change> changes = changePage.getChanges()
+        .stream()
+        .filter(change -> office.getIdentifier().equals(change.getIdentifier()))
+        .collect(Collectors.toList());
+    Assert.assertEquals(
+        Arrays.asList("OFFICE:CREATED", "ADDRESS:CREATED", "OFFICE:UPDATED", "ADDRESS:UPDATED", "ADDRESS:DELETED", "OFFICE:DELETED"),
+        changes.stream().map(change -> change.getType() + ":" + change.getAction()).collect(Collectors.toList()));
+    Assert.assertEquals(office.getAddress().getStreet(), changes.get(1).getAddress().getStreet());
+    Assert.assertEquals(office.getName(), changes.get(2).getOffice().getName());
+    Assert.assertNull(changes.get(5).getOffice());
+
+    final ChangePage nextChangePage = this.organizationManager.fetchChanges(changePage.getNextCursor(), 100);
+    Assert.assertTrue(nextChangePage.getChanges().isEmpty());
+    Assert.assertEquals(changePage.getNextCursor(), nextChangePage.getNextCursor());
+  }
+
+  @Test
+  public void shouldNotFetchChangesInvalidCursor() throws Exception {
+    try {
+      this.organizationManager.fetchChanges("not-a-cursor", null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+  }
+
+  @Test
+  public void shouldNotFetchChangesSizeTooLarge() throws Exception {
+    try {
+      this.organizationManager.fetchChanges(null, 1001);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+  }
+
+  private String latestChangeCursor() {
+    ChangePage changePage = this.organizationManager.fetchChanges(null, 100);
+    while (!changePage.getChanges().isEmpty()) {
+      changePage = this.organizationManager.fetchChanges(changePage.getNextCursor(), 100);
+    }
+    return changePage.getNextCursor();
+  }
+
+  @Test
+  public void shouldNotFetchDescendantsOfficeNotFound() throws Exception {
+    try {
+      this.organizationManager.getDescendants(RandomStringUtils.randomAlphanumeric(32), null, 0, 10, null, null);
+      Assert.fail();
+    } catch (final NotFoundException ex) {
+      // do nothing, expected
+    }
+  }
+
+  @Test
+  public void shouldFetchOfficesWithConstantNumberOfQueries() throws Exception {
+    final String prefix = RandomStringUtils.randomAlphanumeric(8);
+    for (int i = 0; i < 11; i++) {
+      final Office office = OfficeFactory.createRandomOffice();
+      office.setIdentifier(prefix + i);
+      office.setAddress(AddressFactory.createRandomAddress());
+      this.organizationManager.createOffice(office);
+      Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+    }
+
+    final Office branch = OfficeFactory.createRandomOffice();
+    this.organizationManager.addBranch(prefix + 0, branch);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier()));
+
+    final Employee employee = EmployeeFactory.createRandomEmployee();
+    employee.setAssignedOffice(prefix + 1);
+    this.organizationManager.createEmployee(employee);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier()));
+
+    final ExternalReference externalReference = new ExternalReference();
+    externalReference.setType("anytype");
+    externalReference.setState(ExternalReference.State.ACTIVE.name());
+    this.organizationManager.addExternalReference(prefix + 2, externalReference);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_PUT_REFERENCE, prefix + 2));
+
+    final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    statistics.clear();
+    final OfficePage smallPage = this.organizationManager.fetchOffices(prefix, 0, 2, null, null);
+    final long statementsForSmallPage = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    final OfficePage largePage = this.organizationManager.fetchOffices(prefix, 0, 10, null, null);
+    final long statementsForLargePage = statistics.getPrepareStatementCount();
+
+    statistics.setStatisticsEnabled(false);
+
+    Assert.assertEquals(2, smallPage.getOffices().size());
+    Assert.assertEquals(10, largePage.getOffices().size());
+    Assert.assertEquals(statementsForSmallPage, statementsForLargePage);
+
+    Assert.assertTrue(largePage.getOffices().stream().allMatch(office -> office.getAddress() != null));
+    Assert.assertEquals(3L, largePage.getOffices().stream().filter(Office::getExternalReferences).count());
+  }
+
+  @Test
+  public void shouldFetchOfficesWithFields() throws Exception {
+    final Office office = OfficeFactory.createRandomOffice();
+    office.setAddress(AddressFactory.createRandomAddress());
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final Office branch = OfficeFactory.createRandomOffice();
+    this.organizationManager.addBranch(office.getIdentifier(), branch);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier()));
+
+    final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    statistics.clear();
+    final OfficePage fullPage = this.organizationManager.fetchOffices(office.getIdentifier(), 0, 10, null, null);
+    final long statementsForFullPage = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    final OfficePage sparsePage =
+        this.organizationManager.fetchOfficesWithFields(office.getIdentifier(), 0, 10, null, null, "name", null);
+    final long statementsForSparsePage = statistics.getPrepareStatementCount();
+
+    statistics.setStatisticsEnabled(false);
+
+    Assert.assertEquals(fullPage.getTotalElements(), sparsePage.getTotalElements());
+    final Office sparseOffice = sparsePage.getOffices().get(0);
+    Assert.assertEquals(office.getIdentifier(), sparseOffice.getIdentifier());
+    Assert.assertEquals(office.getName(), sparseOffice.getName());
+    Assert.assertNull(sparseOffice.getDescription());
+    Assert.assertNull(sparseOffice.getAddress());
+    Assert.assertNull(sparseOffice.getExternalReferences());
+    Assert.assertTrue(statementsForSparsePage < statementsForFullPage);
+
+    final OfficePage expandedPage =
+        this.organizationManager.fetchOfficesWithFields(office.getIdentifier(), 0, 10, null, null, "name", "address");
+    Assert.assertEquals(office.getAddress().getStreet(), expandedPage.getOffices().get(0).getAddress().getStreet());
+    Assert.assertNull(expandedPage.getOffices().get(0).getExternalReferences());
+
+    final OfficePage branchPage =
+        this.organizationManager.getBranchesWithFields(office.getIdentifier(), 0, 10, null, null, "description", "");
+    Assert.assertEquals(1, branchPage.getOffices().size());
+    Assert.assertEquals(branch.getIdentifier(), branchPage.getOffices().get(0).getIdentifier());
+    Assert.assertEquals(branch.getDescription(), branchPage.getOffices().get(0).getDescription());
+    Assert.assertNull(branchPage.getOffices().get(0).getName());
+    Assert.assertNull(branchPage.getOffices().get(0).getParentIdentifier());
+
+    try {
+      this.organizationManager.fetchOfficesWithFields(null, 0, 10, null, null, "name,secret", null);
+      Assert.fail();
+    } catch (final BadRequestException ex) {
+      // do nothing, expected
+    }
+  }
+
+  private OfficeNode createOfficeNode() {
+    final OfficeNode officeNode = new OfficeNode();
+    officeNode.setOffice(OfficeFactory.createRandomOffice());
+    return officeNode;
+  }
 }
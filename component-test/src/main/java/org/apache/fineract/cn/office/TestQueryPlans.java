@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.office.util.TenantDataGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Explains the SQL behind every repository query with sequential scans disabled. A plan that still scans
+ * a table sequentially has no index to fall back on. Queries reading whole tables, like the office tree
+ * and the exports, are left out.
+ */
+public class TestQueryPlans extends AbstractOfficeTest {
+
+  private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+  static {
+    QUERIES.put("OfficeRepository.findByIdentifier",
+        "SELECT * FROM horus_offices o WHERE o.identifier = 'office'");
+    QUERIES.put("OfficeRepository.findIdentifiers",
+        "SELECT o.identifier FROM horus_offices o WHERE o.identifier IN ('office', 'branch')");
+    QUERIES.put("OfficeRepository.existsByParentOfficeId",
+        "SELECT COUNT(*) FROM horus_offices o WHERE o.parent_office_id = 1");
+    QUERIES.put("OfficeRepository.findParentOfficeIds",
+        "SELECT DISTINCT o.parent_office_id FROM horus_offices o WHERE o.parent_office_id IN (1, 2, 3)");
+    QUERIES.put("OfficeRepository.findByParentOfficeIdIsNull",
+        "SELECT * FROM horus_offices o WHERE o.parent_office_id IS NULL ORDER BY o.identifier LIMIT 20");
+    QUERIES.put("OfficeRepository.findByParentOfficeId",
+        "SELECT * FROM horus_offices o WHERE o.parent_office_id = 1 ORDER BY o.identifier LIMIT 20");
+    QUERIES.put("OfficeRepository.findByKeyset",
+        "SELECT * FROM horus_offices o WHERE o.parent_office_id IS NULL " +
+            "AND o.identifier >= 'office' AND (o.identifier > 'office' OR o.id > 1) ORDER BY o.identifier, o.id LIMIT 21");
+    QUERIES.put("OfficeRepository.search",
+        "SELECT o.* FROM horus_offices o WHERE lower(o.identifier) LIKE '%branch%' OR lower(o.a_name) LIKE '%branch%'");
+    QUERIES.put("AddressRepository.findByOffice",
+        "SELECT * FROM horus_addresses a WHERE a.office_id = 1");
+    QUERIES.put("AddressRepository.findByOfficeIds",
+        "SELECT * FROM horus_addresses a JOIN horus_offices o ON o.id = a.office_id WHERE o.id IN (1, 2, 3)");
+    QUERIES.put("ExternalReferenceRepository.findByOfficeIdentifierAndType",
+        "SELECT * FROM horus_external_references r WHERE r.office_identifier = 'office' AND r.a_type = 'type'");
+    QUERIES.put("ExternalReferenceRepository.findOfficeIdentifiersByState",
+        "SELECT DISTINCT r.office_identifier FROM horus_external_references r " +
+            "WHERE r.office_identifier IN ('office', 'branch') AND r.a_state = 'ACTIVE'");
+    QUERIES.put("OfficeHierarchyRepository.findDescendants",
+        "SELECT o.* FROM horus_offices o, horus_office_hierarchy h " +
+            "WHERE h.descendant_id = o.id AND h.ancestor_id = 1 AND h.depth BETWEEN 1 AND 3");
+    QUERIES.put("OfficeHierarchyRepository.findAncestors",
+        "SELECT o.* FROM horus_offices o, horus_office_hierarchy h " +
+            "WHERE h.ancestor_id = o.id AND h.descendant_id = 1 AND h.depth BETWEEN 1 AND 3");
+    QUERIES.put("OfficeHierarchyRepository.deleteByOfficeId",
+        "DELETE FROM horus_office_hierarchy h WHERE h.ancestor_id = 1 OR h.descendant_id = 1");
+    QUERIES.put("EmployeeRepository.findByIdentifier",
+        "SELECT * FROM horus_employees e WHERE e.identifier = 'employee'");
+    QUERIES.put("EmployeeRepository.findIdentifiers",
+        "SELECT e.identifier FROM horus_employees e WHERE e.identifier IN ('employee', 'manager')");
+    QUERIES.put("EmployeeRepository.findByIdentifierIn",
+        "SELECT * FROM horus_employees e LEFT JOIN horus_offices o ON o.id = e.assigned_office_id " +
+            "WHERE e.identifier IN ('employee', 'manager')");
+    QUERIES.put("EmployeeRepository.existsByAssignedOffice",
+        "SELECT COUNT(*) FROM horus_employees e WHERE e.assigned_office_id = 1");
+    QUERIES.put("EmployeeRepository.findAssignedOfficeIds",
+        "SELECT DISTINCT e.assigned_office_id FROM horus_employees e WHERE e.assigned_office_id IN (1, 2, 3)");
+    QUERIES.put("EmployeeRepository.findByAssignedOffice",
+        "SELECT * FROM horus_employees e WHERE e.assigned_office_id = 1 ORDER BY e.identifier LIMIT 20");
+    QUERIES.put("EmployeeRepository.findAllWithAssignedOffice",
+        "SELECT * FROM horus_employees e LEFT JOIN horus_offices o ON o.id = e.assigned_office_id ORDER BY e.identifier LIMIT 20");
+    QUERIES.put("EmployeeRepository.findByKeyset",
+        "SELECT * FROM horus_employees e WHERE COALESCE(e.surname, '') >= 'doe' " +
+            "AND (COALESCE(e.surname, '') > 'doe' OR e.id > 1) ORDER BY COALESCE(e.surname, ''), e.id LIMIT 21");
+    QUERIES.put("EmployeeRepository.search",
+        "SELECT e.id FROM horus_employees e " +
+            "WHERE lower(e.identifier) LIKE '%doe%' OR lower(e.given_name) LIKE '%doe%' OR lower(e.surname) LIKE '%doe%'");
+    QUERIES.put("ContactDetailRepository.findByEmployeeOrderByPreferenceLevelAsc",
+        "SELECT * FROM horus_contact_details c WHERE c.employee_id = 1 ORDER BY c.preference_level");
+    QUERIES.put("ContactDetailRepository.findByEmployeeIds",
+        "SELECT * FROM horus_contact_details c JOIN horus_employees e ON e.id = c.employee_id " +
+            "WHERE e.id IN (1, 2, 3) ORDER BY c.preference_level");
+    QUERIES.put("ContactDetailRepository.deleteByEmployee",
+        "DELETE FROM horus_contact_details c WHERE c.employee_id = 1");
+    QUERIES.put("ChangeLogRepository.findAfter",
+        "SELECT * FROM horus_change_log l WHERE (l.tx_id, l.id) > (1, 1) " +
+            "AND l.tx_id < txid_snapshot_xmin(txid_current_snapshot()) ORDER BY l.tx_id, l.id LIMIT 20");
+  }
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  public void shouldNotScanTablesSequentially() throws Exception {
+    TenantDataGenerator.withSeed(42L)
+        .depth(2)
+        .fanOut(10)
+        .employees(5000)
+        .generate(this.dataSource);
+
+    final List<String> sequentialScans = new ArrayList<>();
+    try (final Connection connection = this.dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (final Statement statement = connection.createStatement()) {
+        statement.execute("ANALYZE");
+        statement.execute("SET LOCAL enable_seqscan = off");
+        for (final Map.Entry<String, String> query : QUERIES.entrySet()) {
+          final String plan = this.explain(statement, query.getValue());
+          if (plan.contains("Seq Scan")) {
+            sequentialScans.add(query.getKey() + ":\n" + plan);
+          }
+        }
+      } finally {
+        connection.rollback();
+      }
+    }
+
+    Assert.assertTrue(String.join("\n", sequentialScans), sequentialScans.isEmpty());
+  }
+
+  private String explain(final Statement statement, final String query) throws Exception {
+    final StringBuilder plan = new StringBuilder();
+    try (final ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+      while (resultSet.next()) {
+        plan.append(resultSet.getString(1)).append('\n');
+      }
+    }
+    return plan.toString();
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office;
+
+import javax.sql.DataSource;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.internal.config.ReplicaRoutingDataSource;
+import org.apache.fineract.cn.office.util.OfficeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs against the local database configured as its own replica, which is enough to see which
+ * connections are routed where.
+ */
+@TestPropertySource(properties = {
+    "office.replica.enabled=true",
+    "office.replica.hosts=${postgresql.host:localhost}"
+})
+public class TestReadReplica extends AbstractOfficeTest {
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  public void shouldRouteReadsToReplica() throws Exception {
+    Assert.assertTrue(this.dataSource.isWrapperFor(ReplicaRoutingDataSource.class));
+    final ReplicaRoutingDataSource replicaRoutingDataSource = this.dataSource.unwrap(ReplicaRoutingDataSource.class);
+
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+
+    final long replicaConnections = replicaRoutingDataSource.getReplicaConnections();
+    this.organizationManager.fetchOffices(office.getIdentifier(), 0, 10, null, null);
+    final Office foundOffice = this.organizationManager.findOfficeByIdentifier(office.getIdentifier());
+    Assert.assertEquals(office.getName(), foundOffice.getName());
+    Assert.assertTrue(replicaRoutingDataSource.getReplicaConnections() > replicaConnections);
+    Assert.assertEquals(0L, replicaRoutingDataSource.getPrimaryFallbacks());
+  }
+
+  @Test
+  public void shouldKeepCommandsOnPrimary() throws Exception {
+    final ReplicaRoutingDataSource replicaRoutingDataSource = this.dataSource.unwrap(ReplicaRoutingDataSource.class);
+
+    final Office office = OfficeFactory.createRandomOffice();
+    this.organizationManager.createOffice(office);
+    // the request's own checks are done once the call returns, only the command is still running
+    final long replicaConnections = replicaRoutingDataSource.getReplicaConnections();
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_POST_OFFICE, office.getIdentifier()));
+    Assert.assertEquals(replicaConnections, replicaRoutingDataSource.getReplicaConnections());
+
+    this.organizationManager.deleteOffice(office.getIdentifier());
+    final long replicaConnectionsBeforeDelete = replicaRoutingDataSource.getReplicaConnections();
+    Assert.assertTrue(this.eventRecorder.wait(EventConstants.OPERATION_DELETE_OFFICE, office.getIdentifier()));
+    Assert.assertEquals(replicaConnectionsBeforeDelete, replicaRoutingDataSource.getReplicaConnections());
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.listener;
+
+import com.google.gson.Gson;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.cn.command.util.CommandConstants;
+import org.apache.fineract.cn.lang.config.TenantHeaderFilter;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeEvent;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EnrichedEventListener {
+
+  private static final long MAX_WAIT = 5000L;
+
+  private final Gson gson;
+  private final Map<String, OfficeEvent> officeEvents = new ConcurrentHashMap<>();
+  private final Map<String, EmployeeEvent> employeeEvents = new ConcurrentHashMap<>();
+
+  @Autowired
+  public EnrichedEventListener(@Qualifier(CommandConstants.SERIALIZER) final Gson gson) {
+    super();
+    this.gson = gson;
+  }
+
+  @JmsListener(
+      subscription = EventConstants.ENRICHED_DESTINATION,
+      destination = EventConstants.ENRICHED_DESTINATION,
+      selector = EventConstants.SELECTOR_POST_OFFICE + " OR " + EventConstants.SELECTOR_PUT_OFFICE
+          + " OR " + EventConstants.SELECTOR_PUT_ADDRESS + " OR " + EventConstants.SELECTOR_DELETE_OFFICE
+  )
+  public void onOfficeEvent(@Header(TenantHeaderFilter.TENANT_HEADER) final String tenant,
+                            @Header(EventConstants.OPERATION_HEADER) final String operation,
+                            final String payload) {
+    final OfficeEvent officeEvent = this.gson.fromJson(payload, OfficeEvent.class);
+    this.officeEvents.put(operation + ":" + officeEvent.getIdentifier(), officeEvent);
+  }
+
+  @JmsListener(
+      subscription = EventConstants.ENRICHED_DESTINATION,
+      destination = EventConstants.ENRICHED_DESTINATION,
+      selector = EventConstants.SELECTOR_POST_EMPLOYEE + " OR " + EventConstants.SELECTOR_PUT_EMPLOYEE
+          + " OR " + EventConstants.SELECTOR_PUT_CONTACT_DETAIL + " OR " + EventConstants.SELECTOR_DELETE_EMPLOYEE
+  )
+  public void onEmployeeEvent(@Header(TenantHeaderFilter.TENANT_HEADER) final String tenant,
+                              @Header(EventConstants.OPERATION_HEADER) final String operation,
+                              final String payload) {
+    final EmployeeEvent employeeEvent = this.gson.fromJson(payload, EmployeeEvent.class);
+    this.employeeEvents.put(operation + ":" + employeeEvent.getIdentifier(), employeeEvent);
+  }
+
+  public OfficeEvent waitForOfficeEvent(final String operation, final String identifier) throws InterruptedException {
+    return this.waitFor(this.officeEvents, operation + ":" + identifier);
+  }
+
+  public EmployeeEvent waitForEmployeeEvent(final String operation, final String identifier) throws InterruptedException {
+    return this.waitFor(this.employeeEvents, operation + ":" + identifier);
+  }
+
+  private <T> T waitFor(final Map<String, T> events, final String key) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + MAX_WAIT;
+    while (System.currentTimeMillis() < deadline) {
+      final T event = events.get(key);
+      if (event != null) {
+        return event;
+      }
+      Thread.sleep(50L);
+    }
+    return null;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.cn.office.listener;
 
 import com.google.gson.Gson;
 import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeImportSummary;
 import org.apache.fineract.cn.command.util.CommandConstants;
 import org.apache.fineract.cn.lang.config.TenantHeaderFilter;
 import org.apache.fineract.cn.test.listener.EventRecorder;
@@ -108,4 +109,15 @@ public class OfficeEventListener {
       throws Exception {
     this.eventRecorder.event(tenant, EventConstants.OPERATION_PUT_REFERENCE, payload, String.class);
   }
+
+  @JmsListener(
+      subscription = EventConstants.DESTINATION,
+      destination = EventConstants.DESTINATION,
+      selector = EventConstants.SELECTOR_IMPORT_OFFICES
+  )
+  public void onImportOffices(@Header(TenantHeaderFilter.TENANT_HEADER) final String tenant,
+                              final String payload)
+      throws Exception {
+    this.eventRecorder.event(tenant, EventConstants.OPERATION_IMPORT_OFFICES, payload, OfficeImportSummary.class);
+  }
 }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends a weighted mix of operations at a fixed arrival rate. Arrivals do not wait for earlier requests to
+ * finish, and latency is measured from the planned arrival, so a slow server shows up as queueing time
+ * instead of a lower request rate. Requests arriving during the warm-up are sent but not reported.
+ */
+public class LoadGenerator {
+
+  @FunctionalInterface
+  public interface Operation {
+    void execute(final int index, final Random random) throws Exception;
+  }
+
+  private final double rate;
+  private final Map<String, Integer> weights;
+  private final Map<String, Operation> operations;
+  private long durationSeconds;
+  private long warmUpSeconds;
+  private int clients;
+  private long seed;
+  private Supplier<AutoCloseable> clientContext;
+
+  private LoadGenerator(final double rate) {
+    super();
+    this.rate = rate;
+    this.weights = new LinkedHashMap<>();
+    this.operations = new LinkedHashMap<>();
+    this.durationSeconds = 30L;
+    this.warmUpSeconds = 5L;
+    this.clients = 128;
+    this.seed = 42L;
+    this.clientContext = () -> () -> { };
+  }
+
+  public static LoadGenerator atRate(final double requestsPerSecond) {
+    return new LoadGenerator(requestsPerSecond);
+  }
+
+  public LoadGenerator operation(final String name, final int weight, final Operation operation) {
+    if (weight > 0) {
+      this.weights.put(name, weight);
+      this.operations.put(name, operation);
+    }
+    return this;
+  }
+
+  public LoadGenerator duration(final long durationSeconds) {
+    this.durationSeconds = durationSeconds;
+    return this;
+  }
+
+  public LoadGenerator warmUp(final long warmUpSeconds) {
+    this.warmUpSeconds = warmUpSeconds;
+    return this;
+  }
+
+  /**
+   * Maximum number of requests in flight. Arrivals beyond it wait in a queue, and the wait counts as latency.
+   */
+  public LoadGenerator clients(final int clients) {
+    this.clients = clients;
+    return this;
+  }
+
+  public LoadGenerator seed(final long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Opened once on every client thread before it sends requests, e.g. to set the tenant and user context.
+   */
+  public LoadGenerator clientContext(final Supplier<AutoCloseable> clientContext) {
+    this.clientContext = clientContext;
+    return this;
+  }
+
+  public LoadReport run(final String name) throws InterruptedException {
+    if (this.operations.isEmpty()) {
+      throw new IllegalStateException("No operation to send.");
+    }
+
+    final List<String> names = new ArrayList<>(this.operations.keySet());
+    final int[] cumulativeWeights = new int[names.size()];
+    int totalWeight = 0;
+    for (int i = 0; i < names.size(); i++) {
+      totalWeight += this.weights.get(names.get(i));
+      cumulativeWeights[i] = totalWeight;
+    }
+
+    final int warmUpRequests = (int) (this.warmUpSeconds * this.rate);
+    final int requests = warmUpRequests + (int) (this.durationSeconds * this.rate);
+    final int[] operationIndexes = new int[requests];
+    final long[] latencies = new long[requests];
+    final long[] completions = new long[requests];
+    final String[] errors = new String[requests];
+
+    final Random random = new Random(this.seed);
+    final ExecutorService executor = new ThreadPoolExecutor(this.clients, this.clients, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), this.clientThreadFactory());
+    final long start = System.nanoTime();
+    try {
+      for (int i = 0; i < requests; i++) {
+        final int index = i;
+        final long arrival = start + (long) (index * 1e9d / this.rate);
+        final int pick = random.nextInt(totalWeight);
+        int operationIndex = 0;
+        while (cumulativeWeights[operationIndex] <= pick) {
+          operationIndex++;
+        }
+        operationIndexes[index] = operationIndex;
+        final Operation operation = this.operations.get(names.get(operationIndex));
+        final Random operationRandom = new Random(random.nextLong());
+
+        for (long wait = arrival - System.nanoTime(); wait > 0L; wait = arrival - System.nanoTime()) {
+          LockSupport.parkNanos(wait);
+        }
+        executor.execute(() -> {
+          try {
+            operation.execute(index, operationRandom);
+          } catch (final Exception ex) {
+            errors[index] = ex.getClass().getSimpleName();
+          }
+          completions[index] = System.nanoTime();
+          latencies[index] = completions[index] - arrival;
+        });
+      }
+    } finally {
+      executor.shutdown();
+    }
+    if (!executor.awaitTermination(this.durationSeconds + 300L, TimeUnit.SECONDS)) {
+      executor.shutdownNow();
+      throw new IllegalStateException("Requests did not finish in time.");
+    }
+
+    final long measurementStart = start + (long) (warmUpRequests * 1e9d / this.rate);
+    final Map<String, List<Integer>> measured = new LinkedHashMap<>();
+    names.forEach(operationName -> measured.put(operationName, new ArrayList<>()));
+    final List<Integer> all = new ArrayList<>(requests - warmUpRequests);
+    long measurementEnd = measurementStart;
+    for (int i = warmUpRequests; i < requests; i++) {
+      measured.get(names.get(operationIndexes[i])).add(i);
+      all.add(i);
+      measurementEnd = Math.max(measurementEnd, completions[i]);
+    }
+
+    final double elapsedSeconds = Math.max(measurementEnd - measurementStart, 1L) / 1e9d;
+    final Map<String, LoadReport.Statistics> statistics = new LinkedHashMap<>();
+    measured.forEach((operationName, indexes) ->
+        statistics.put(operationName, LoadReport.Statistics.of(indexes, latencies, errors, elapsedSeconds)));
+    return new LoadReport(name, this.rate, this.durationSeconds, this.warmUpSeconds, this.clients, this.seed,
+        new LinkedHashMap<>(this.weights), LoadReport.Statistics.of(all, latencies, errors, elapsedSeconds), statistics);
+  }
+
+  private ThreadFactory clientThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(() -> {
+        try (final AutoCloseable ignored = this.clientContext.get()) {
+          runnable.run();
+        } catch (final Exception ex) {
+          throw new IllegalStateException(ex);
+        }
+      }, "load-client-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.util;
+
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link LoadGenerator} run, written as JSON so runs of different releases can be compared.
+ * Latencies are in milliseconds, throughput in requests per second.
+ */
+public class LoadReport {
+
+  private final String name;
+  private final String finishedOn;
+  private final double targetRate;
+  private final long durationSeconds;
+  private final long warmUpSeconds;
+  private final int clients;
+  private final long seed;
+  private final Map<String, Integer> mix;
+  private final Statistics total;
+  private final Map<String, Statistics> operations;
+
+  LoadReport(final String name, final double targetRate, final long durationSeconds, final long warmUpSeconds,
+             final int clients, final long seed, final Map<String, Integer> mix, final Statistics total,
+             final Map<String, Statistics> operations) {
+    super();
+    this.name = name;
+    this.finishedOn = Instant.now().toString();
+    this.targetRate = targetRate;
+    this.durationSeconds = durationSeconds;
+    this.warmUpSeconds = warmUpSeconds;
+    this.clients = clients;
+    this.seed = seed;
+    this.mix = mix;
+    this.total = total;
+    this.operations = operations;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public Statistics getTotal() {
+    return this.total;
+  }
+
+  public Map<String, Statistics> getOperations() {
+    return this.operations;
+  }
+
+  public String toJson() {
+    return new GsonBuilder().setPrettyPrinting().create().toJson(this);
+  }
+
+  /**
+   * Writes the report to {@code <name>.json} in the given directory and returns the file.
+   */
+  public Path writeTo(final Path directory) throws IOException {
+    Files.createDirectories(directory);
+    final Path file = directory.resolve(this.name + ".json");
+    try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(this.toJson());
+    }
+    return file;
+  }
+
+  @Override
+  public String toString() {
+    return this.name + ": " + this.total;
+  }
+
+  public static class Statistics {
+
+    private final int requests;
+    private final int errors;
+    private final double errorRate;
+    private final double throughput;
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double max;
+    private final Map<String, Integer> errorTypes;
+
+    private Statistics(final int requests, final int errors, final double throughput, final long[] sortedLatencies,
+                       final Map<String, Integer> errorTypes) {
+      super();
+      this.requests = requests;
+      this.errors = errors;
+      this.errorRate = requests > 0 ? (double) errors / requests : 0.0D;
+      this.throughput = throughput;
+      this.p50 = percentile(sortedLatencies, 0.50D);
+      this.p99 = percentile(sortedLatencies, 0.99D);
+      this.p999 = percentile(sortedLatencies, 0.999D);
+      this.max = sortedLatencies.length > 0 ? sortedLatencies[sortedLatencies.length - 1] / 1e6d : 0.0D;
+      this.errorTypes = errorTypes;
+    }
+
+    static Statistics of(final List<Integer> indexes, final long[] latencies, final String[] errors,
+                         final double elapsedSeconds) {
+      final long[] sortedLatencies = new long[indexes.size()];
+      final Map<String, Integer> errorTypes = new TreeMap<>();
+      int errorCount = 0;
+      for (int i = 0; i < indexes.size(); i++) {
+        final int index = indexes.get(i);
+        sortedLatencies[i] = latencies[index];
+        if (errors[index] != null) {
+          errorCount++;
+          errorTypes.merge(errors[index], 1, Integer::sum);
+        }
+      }
+      Arrays.sort(sortedLatencies);
+      return new Statistics(indexes.size(), errorCount, (indexes.size() - errorCount) / elapsedSeconds,
+          sortedLatencies, errorTypes);
+    }
+
+    private static double percentile(final long[] sortedLatencies, final double quantile) {
+      if (sortedLatencies.length == 0) {
+        return 0.0D;
+      }
+      return sortedLatencies[(int) Math.ceil(sortedLatencies.length * quantile) - 1] / 1e6d;
+    }
+
+    public int getRequests() {
+      return this.requests;
+    }
+
+    public int getErrors() {
+      return this.errors;
+    }
+
+    public double getErrorRate() {
+      return this.errorRate;
+    }
+
+    public double getThroughput() {
+      return this.throughput;
+    }
+
+    public double getP50() {
+      return this.p50;
+    }
+
+    public double getP99() {
+      return this.p99;
+    }
+
+    public double getP999() {
+      return this.p999;
+    }
+
+    public double getMax() {
+      return this.max;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.1f requests/s, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, %d of %d failed",
+          this.throughput, this.p50, this.p99, this.p999, this.errors, this.requests);
+    }
+  }
+}
@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
+import org.apache.fineract.cn.office.internal.repository.AddressEntity;
+import org.apache.fineract.cn.office.internal.repository.ContactDetailEntity;
+import org.apache.fineract.cn.office.internal.repository.EmployeeBatchRepository;
+import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeBatchRepository;
+import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeHierarchyEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills a tenant with a large, reproducible organization for scale and performance tests. Rows are written
+ * with batched inserts straight into the tenant's tables, bypassing commands, events and the change log.
+ * The same seed and settings always produce the same offices, employees and contact details.
+ *
+ * <p>Offices are written behind the service's back, so a test that already read the office tree in the
+ * same tenant has to invalidate the office tree cache before relying on it.
+ */
+public class TenantDataGenerator {
+
+  private static final String INSERT_EXTERNAL_REFERENCE =
+      "INSERT INTO horus_external_references (office_identifier, a_type, a_state) VALUES (?, ?, ?)";
+
+  private static final String[] GIVEN_NAMES = {
+      "Amara", "Bilal", "Chen", "Daniela", "Emeka", "Fatima", "Gustav", "Hana", "Ivan", "Jomo",
+      "Kavya", "Lucas", "Mei", "Nia", "Omar", "Priya", "Quentin", "Rosa", "Sipho", "Tariq",
+      "Uma", "Viktor", "Wanjiru", "Xavier", "Yara", "Zainab"
+  };
+
+  private static final String[] SURNAMES = {
+      "Abebe", "Banda", "Costa", "Diallo", "Eriksen", "Fernandes", "Gupta", "Haddad", "Ito", "Juma",
+      "Kowalski", "Lopez", "Mensah", "Nguyen", "Okafor", "Petrov", "Qureshi", "Rossi", "Silva", "Tanaka",
+      "Usman", "Varga", "Wang", "Xu", "Yilmaz", "Zulu"
+  };
+
+  private static final String[] CITIES = {
+      "Accra", "Bogota", "Cairo", "Dhaka", "Entebbe", "Freetown", "Goma", "Harare", "Islamabad", "Jakarta",
+      "Kampala", "Lagos", "Manila", "Nairobi", "Ouagadougou", "Pune"
+  };
+
+  private static final String[] STREETS = {
+      "Market Street", "Station Road", "Church Lane", "Harbour Road", "Mission Street", "River Road",
+      "Independence Avenue", "Garden Lane"
+  };
+
+  private static final String[][] COUNTRIES = {
+      {"GH", "Ghana"}, {"CO", "Colombia"}, {"EG", "Egypt"}, {"BD", "Bangladesh"}, {"UG", "Uganda"},
+      {"KE", "Kenya"}, {"NG", "Nigeria"}, {"PH", "Philippines"}, {"IN", "India"}
+  };
+
+  private static final long BASE_TIME = 1514764800000L;
+  private static final String CREATED_BY = "generator";
+
+  private final long seed;
+  private String identifierPrefix;
+  private int roots;
+  private int depth;
+  private int fanOut;
+  private double addressRatio;
+  private int employees;
+  private double assignmentSkew;
+  private int contactDetailsPerEmployee;
+  private List<String> externalReferenceTypes;
+  private double activeReferenceRatio;
+  private int batchSize;
+
+  private TenantDataGenerator(final long seed) {
+    super();
+    this.seed = seed;
+    this.identifierPrefix = "gen";
+    this.roots = 1;
+    this.depth = 3;
+    this.fanOut = 10;
+    this.addressRatio = 0.8D;
+    this.employees = 10000;
+    this.assignmentSkew = 1.0D;
+    this.contactDetailsPerEmployee = 3;
+    this.externalReferenceTypes = Collections.singletonList("customers");
+    this.activeReferenceRatio = 0.5D;
+    this.batchSize = 1000;
+  }
+
+  public static TenantDataGenerator withSeed(final long seed) {
+    return new TenantDataGenerator(seed);
+  }
+
+  /**
+   * Prefix of all generated identifiers, at most 16 characters. Change it to generate twice into the same tenant.
+   */
+  public TenantDataGenerator identifierPrefix(final String identifierPrefix) {
+    if (identifierPrefix.length() > 16) {
+      throw new IllegalArgumentException("Identifier prefix must not exceed 16 characters.");
+    }
+    this.identifierPrefix = identifierPrefix;
+    return this;
+  }
+
+  public TenantDataGenerator roots(final int roots) {
+    this.roots = roots;
+    return this;
+  }
+
+  /**
+   * Number of office levels below the roots, each office having {@code fanOut} branches.
+   */
+  public TenantDataGenerator depth(final int depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  public TenantDataGenerator fanOut(final int fanOut) {
+    this.fanOut = fanOut;
+    return this;
+  }
+
+  public TenantDataGenerator addressRatio(final double addressRatio) {
+    this.addressRatio = addressRatio;
+    return this;
+  }
+
+  public TenantDataGenerator employees(final int employees) {
+    this.employees = employees;
+    return this;
+  }
+
+  /**
+   * Zipf exponent of the employee assignment. 0 spreads employees evenly, 1 gives a few offices most of them.
+   */
+  public TenantDataGenerator assignmentSkew(final double assignmentSkew) {
+    this.assignmentSkew = assignmentSkew;
+    return this;
+  }
+
+  public TenantDataGenerator contactDetailsPerEmployee(final int contactDetailsPerEmployee) {
+    this.contactDetailsPerEmployee = contactDetailsPerEmployee;
+    return this;
+  }
+
+  public TenantDataGenerator externalReferenceTypes(final String... externalReferenceTypes) {
+    this.externalReferenceTypes = Arrays.asList(externalReferenceTypes);
+    return this;
+  }
+
+  public TenantDataGenerator activeReferenceRatio(final double activeReferenceRatio) {
+    this.activeReferenceRatio = activeReferenceRatio;
+    return this;
+  }
+
+  public TenantDataGenerator batchSize(final int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public GeneratedTenant generate(final DataSource dataSource) {
+    final Random random = new Random(this.seed);
+    final OfficeBatchRepository officeBatchRepository = new OfficeBatchRepository(dataSource);
+    final EmployeeBatchRepository employeeBatchRepository = new EmployeeBatchRepository(dataSource);
+
+    final List<List<OfficeEntity>> levels = this.generateOffices(random, officeBatchRepository);
+    this.generateExternalReferences(random, new JdbcTemplate(dataSource), levels);
+    final Map<String, Integer> employeeCounts = this.generateEmployees(random, employeeBatchRepository, levels);
+
+    final List<List<String>> officeIdentifiers = new ArrayList<>(levels.size());
+    levels.forEach(level -> {
+      final List<String> identifiers = new ArrayList<>(level.size());
+      level.forEach(officeEntity -> identifiers.add(officeEntity.getIdentifier()));
+      officeIdentifiers.add(Collections.unmodifiableList(identifiers));
+    });
+    return new GeneratedTenant(this.identifierPrefix, officeIdentifiers, this.employees, employeeCounts);
+  }
+
+  private List<List<OfficeEntity>> generateOffices(final Random random, final OfficeBatchRepository officeBatchRepository) {
+    final Map<Long, List<Long>> ancestors = new HashMap<>();
+    final List<List<OfficeEntity>> levels = new ArrayList<>(this.depth + 1);
+    List<OfficeEntity> parents = Collections.singletonList(null);
+    int index = 0;
+    for (int level = 0; level <= this.depth; level++) {
+      final int branches = level == 0 ? this.roots : this.fanOut;
+      final List<OfficeEntity> offices = new ArrayList<>(parents.size() * branches);
+      for (final OfficeEntity parent : parents) {
+        for (int i = 0; i < branches; i++) {
+          offices.add(this.office(random, parent, index++));
+        }
+      }
+
+      for (int from = 0; from < offices.size(); from += this.batchSize) {
+        final List<OfficeEntity> batch = offices.subList(from, Math.min(from + this.batchSize, offices.size()));
+        officeBatchRepository.insertOffices(batch);
+
+        final List<AddressEntity> addressEntities = new ArrayList<>();
+        final List<OfficeHierarchyEntity> officeHierarchyEntities = new ArrayList<>();
+        batch.forEach(officeEntity -> {
+          if (random.nextDouble() < this.addressRatio) {
+            addressEntities.add(this.address(random, officeEntity));
+          }
+
+          final List<Long> chain = new ArrayList<>();
+          chain.add(officeEntity.getId());
+          if (officeEntity.getParentOfficeId() != null) {
+            chain.addAll(ancestors.get(officeEntity.getParentOfficeId()));
+          }
+          ancestors.put(officeEntity.getId(), chain);
+          for (int distance = 0; distance < chain.size(); distance++) {
+            final OfficeHierarchyEntity officeHierarchyEntity = new OfficeHierarchyEntity();
+            officeHierarchyEntity.setAncestorId(chain.get(distance));
+            officeHierarchyEntity.setDescendantId(officeEntity.getId());
+            officeHierarchyEntity.setDepth(distance);
+            officeHierarchyEntities.add(officeHierarchyEntity);
+          }
+        });
+        officeBatchRepository.insertAddresses(addressEntities);
+        officeBatchRepository.insertHierarchy(officeHierarchyEntities);
+      }
+
+      levels.add(offices);
+      parents = offices;
+    }
+    return levels;
+  }
+
+  private void generateExternalReferences(final Random random, final JdbcTemplate jdbcTemplate,
+                                          final List<List<OfficeEntity>> levels) {
+    final List<Object[]> references = new ArrayList<>();
+    for (final List<OfficeEntity> level : levels) {
+      for (final OfficeEntity officeEntity : level) {
+        for (final String type : this.externalReferenceTypes) {
+          final ExternalReference.State state = random.nextDouble() < this.activeReferenceRatio
+              ? ExternalReference.State.ACTIVE : ExternalReference.State.INACTIVE;
+          references.add(new Object[]{officeEntity.getIdentifier(), type, state.name()});
+        }
+      }
+    }
+
+    for (int from = 0; from < references.size(); from += this.batchSize) {
+      final List<Object[]> batch = references.subList(from, Math.min(from + this.batchSize, references.size()));
+      jdbcTemplate.batchUpdate(INSERT_EXTERNAL_REFERENCE, new BatchPreparedStatementSetter() {
+        @Override
+        public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+          final Object[] reference = batch.get(i);
+          preparedStatement.setString(1, (String) reference[0]);
+          preparedStatement.setString(2, (String) reference[1]);
+          preparedStatement.setString(3, (String) reference[2]);
+        }
+
+        @Override
+        public int getBatchSize() {
+          return batch.size();
+        }
+      });
+    }
+  }
+
+  private Map<String, Integer> generateEmployees(final Random random, final EmployeeBatchRepository employeeBatchRepository,
+                                                 final List<List<OfficeEntity>> levels) {
+    // offices are ranked in a seeded random order, so the crowded ones are spread across the tree
+    final List<OfficeEntity> ranking = new ArrayList<>();
+    levels.forEach(ranking::addAll);
+    Collections.shuffle(ranking, random);
+    final double[] cumulativeWeights = new double[ranking.size()];
+    double total = 0.0D;
+    for (int rank = 0; rank < ranking.size(); rank++) {
+      total += 1.0D / Math.pow(rank + 1, this.assignmentSkew);
+      cumulativeWeights[rank] = total;
+    }
+
+    final Map<String, Integer> employeeCounts = new HashMap<>();
+    for (int from = 0; from < this.employees; from += this.batchSize) {
+      final int to = Math.min(from + this.batchSize, this.employees);
+      final List<EmployeeEntity> employeeEntities = new ArrayList<>(to - from);
+      for (int index = from; index < to; index++) {
+        final int rank = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * total);
+        final OfficeEntity officeEntity = ranking.get(Math.min(rank < 0 ? -rank - 1 : rank, ranking.size() - 1));
+        employeeEntities.add(this.employee(random, officeEntity, index));
+        employeeCounts.merge(officeEntity.getIdentifier(), 1, Integer::sum);
+      }
+      employeeBatchRepository.insertEmployees(employeeEntities);
+
+      final List<ContactDetailEntity> contactDetailEntities = new ArrayList<>(employeeEntities.size() * this.contactDetailsPerEmployee);
+      employeeEntities.forEach(employeeEntity -> {
+        for (int level = 1; level <= this.contactDetailsPerEmployee; level++) {
+          contactDetailEntities.add(this.contactDetail(random, employeeEntity, level));
+        }
+      });
+      employeeBatchRepository.insertContactDetails(contactDetailEntities);
+    }
+    return employeeCounts;
+  }
+
+  private OfficeEntity office(final Random random, final OfficeEntity parent, final int index) {
+    final OfficeEntity officeEntity = new OfficeEntity();
+    officeEntity.setParentOfficeId(parent != null ? parent.getId() : null);
+    officeEntity.setIdentifier(this.identifierPrefix + "-o" + Integer.toString(index, 36));
+    final String city = pick(random, CITIES);
+    officeEntity.setName(city + " " + (parent == null ? "Head Office" : "Branch " + index));
+    officeEntity.setDescription(random.nextBoolean() ? "Serves clients in and around " + city + "." : null);
+    officeEntity.setCreatedBy(CREATED_BY);
+    officeEntity.setCreatedOn(this.timestamp(random));
+    return officeEntity;
+  }
+
+  private AddressEntity address(final Random random, final OfficeEntity officeEntity) {
+    final String[] country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+    final AddressEntity addressEntity = new AddressEntity();
+    addressEntity.setOffice(officeEntity);
+    addressEntity.setStreet((1 + random.nextInt(200)) + " " + pick(random, STREETS));
+    addressEntity.setCity(pick(random, CITIES));
+    addressEntity.setRegion(random.nextBoolean() ? "Region " + (1 + random.nextInt(12)) : null);
+    addressEntity.setPostalCode(String.format("%05d", random.nextInt(100000)));
+    addressEntity.setCountryCode(country[0]);
+    addressEntity.setCountry(country[1]);
+    return addressEntity;
+  }
+
+  private EmployeeEntity employee(final Random random, final OfficeEntity officeEntity, final int index) {
+    final EmployeeEntity employeeEntity = new EmployeeEntity();
+    employeeEntity.setIdentifier(this.identifierPrefix + "-e" + Integer.toString(index, 36));
+    employeeEntity.setGivenName(pick(random, GIVEN_NAMES));
+    employeeEntity.setMiddleName(random.nextInt(3) == 0 ? pick(random, GIVEN_NAMES) : null);
+    employeeEntity.setSurname(pick(random, SURNAMES));
+    employeeEntity.setAssignedOffice(officeEntity);
+    employeeEntity.setCreatedBy(CREATED_BY);
+    employeeEntity.setCreatedOn(this.timestamp(random));
+    return employeeEntity;
+  }
+
+  private ContactDetailEntity contactDetail(final Random random, final EmployeeEntity employeeEntity, final int preferenceLevel) {
+    final ContactDetail.Type type = ContactDetail.Type.values()[random.nextInt(ContactDetail.Type.values().length)];
+    final ContactDetailEntity contactDetailEntity = new ContactDetailEntity();
+    contactDetailEntity.setEmployee(employeeEntity);
+    contactDetailEntity.setType(type.name());
+    contactDetailEntity.setGroup(preferenceLevel == 1 ? ContactDetail.Group.BUSINESS.name() : ContactDetail.Group.PRIVATE.name());
+    contactDetailEntity.setValue(type == ContactDetail.Type.EMAIL
+        ? employeeEntity.getIdentifier() + "." + preferenceLevel + "@example.org"
+        : String.format("+%d %09d", 1 + random.nextInt(98), random.nextInt(1000000000)));
+    contactDetailEntity.setPreferenceLevel(preferenceLevel);
+    return contactDetailEntity;
+  }
+
+  private Date timestamp(final Random random) {
+    return new Date(BASE_TIME + (long) random.nextInt(365 * 24 * 60) * 60000L);
+  }
+
+  private static String pick(final Random random, final String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  public static class GeneratedTenant {
+
+    private final String identifierPrefix;
+    private final List<List<String>> officeIdentifiers;
+    private final int employees;
+    private final Map<String, Integer> employeeCounts;
+
+    private GeneratedTenant(final String identifierPrefix, final List<List<String>> officeIdentifiers,
+                            final int employees, final Map<String, Integer> employeeCounts) {
+      super();
+      this.identifierPrefix = identifierPrefix;
+      this.officeIdentifiers = Collections.unmodifiableList(officeIdentifiers);
+      this.employees = employees;
+      this.employeeCounts = Collections.unmodifiableMap(employeeCounts);
+    }
+
+    public List<String> getRootIdentifiers() {
+      return this.officeIdentifiers.get(0);
+    }
+
+    /**
+     * Office identifiers of one level, 0 being the roots.
+     */
+    public List<String> getOfficeIdentifiers(final int level) {
+      return this.officeIdentifiers.get(level);
+    }
+
+    public int getOffices() {
+      return this.officeIdentifiers.stream().mapToInt(List::size).sum();
+    }
+
+    public int getEmployees() {
+      return this.employees;
+    }
+
+    public String getEmployeeIdentifier(final int index) {
+      if (index < 0 || index >= this.employees) {
+        throw new IndexOutOfBoundsException("Employee " + index + " was not generated.");
+      }
+      return this.identifierPrefix + "-e" + Integer.toString(index, 36);
+    }
+
+    public int getEmployeeCount(final String officeIdentifier) {
+      return this.employeeCounts.getOrDefault(officeIdentifier, 0);
+    }
+
+    /**
+     * The office with the most assigned employees.
+     */
+    public String getBusiestOfficeIdentifier() {
+      return this.employeeCounts.entrySet().stream()
+          .max(Map.Entry.comparingByValue())
+          .map(Map.Entry::getKey)
+          .orElseThrow(() -> new IllegalStateException("No employees generated."));
+    }
+  }
+}
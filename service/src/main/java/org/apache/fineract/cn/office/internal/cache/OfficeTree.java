@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.internal.mapper.AddressMapper;
+import org.apache.fineract.cn.office.internal.mapper.OfficeMapper;
+import org.apache.fineract.cn.office.internal.repository.AddressEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public final class OfficeTree {
+
+  private static final Map<String, Comparator<Node>> SORTABLE_COLUMNS;
+
+  // Text is ordered by the database's collation, which String.compareTo does not follow. The tree
+  // is loaded ordered by identifier, so identifiers compare by their position. Other text columns
+  // are left to the repository.
+  static {
+    SORTABLE_COLUMNS = new HashMap<>();
+    SORTABLE_COLUMNS.put("identifier", Comparator.comparingInt(node -> node.position));
+    SORTABLE_COLUMNS.put("createdOn", comparing(OfficeEntity::getCreatedOn));
+    SORTABLE_COLUMNS.put("lastModifiedOn", comparing(OfficeEntity::getLastModifiedOn));
+  }
+
+  private final boolean complete;
+  private final Map<String, Node> nodes;
+  private final Map<String, List<Node>> branches;
+
+  private OfficeTree(final boolean complete) {
+    super();
+    this.complete = complete;
+    this.nodes = new HashMap<>();
+    this.branches = new HashMap<>();
+  }
+
+  static OfficeTree incomplete() {
+    return new OfficeTree(false);
+  }
+
+  /**
+   * @param nodes all offices, ordered by identifier as the database orders them
+   */
+  static OfficeTree of(final List<Node> nodes) {
+    final OfficeTree officeTree = new OfficeTree(true);
+    for (int i = 0; i < nodes.size(); i++) {
+      nodes.get(i).position = i;
+    }
+    nodes.forEach(node -> officeTree.nodes.put(node.officeEntity.getIdentifier(), node));
+    nodes.stream()
+        .filter(node -> node.parentIdentifier != null)
+        .forEach(node -> officeTree.branches.computeIfAbsent(node.parentIdentifier, key -> new ArrayList<>()).add(node));
+    return officeTree;
+  }
+
+  boolean isComplete() {
+    return this.complete;
+  }
+
+  int size() {
+    return this.nodes.size();
+  }
+
+  public boolean contains(final String identifier) {
+    return this.nodes.containsKey(identifier);
+  }
+
+  public Optional<Office> find(final String identifier) {
+    return Optional.ofNullable(this.nodes.get(identifier)).map(Node::toOffice);
+  }
+
+  public Optional<OfficeEntity> findOfficeEntity(final String identifier) {
+    return Optional.ofNullable(this.nodes.get(identifier)).map(node -> node.officeEntity);
+  }
+
+  public Optional<Page<Office>> findBranches(final String parentIdentifier, final Pageable pageable) {
+    Comparator<Node> comparator = null;
+    final Sort sort = pageable.getSort();
+    if (sort != null) {
+      for (final Sort.Order order : sort) {
+        final Comparator<Node> columnComparator = SORTABLE_COLUMNS.get(order.getProperty());
+        if (columnComparator == null) {
+          return Optional.empty();
+        }
+        final Comparator<Node> directedComparator = order.isAscending() ? columnComparator : columnComparator.reversed();
+        comparator = comparator == null ? directedComparator : comparator.thenComparing(directedComparator);
+      }
+    }
+
+    final List<Node> sortedBranches = new ArrayList<>(this.branches.getOrDefault(parentIdentifier, Collections.emptyList()));
+    if (comparator != null) {
+      sortedBranches.sort(comparator);
+    }
+
+    final List<Office> content = new ArrayList<>();
+    final int fromIndex = Math.min(pageable.getOffset(), sortedBranches.size());
+    final int toIndex = Math.min(fromIndex + pageable.getPageSize(), sortedBranches.size());
+    sortedBranches.subList(fromIndex, toIndex).forEach(node -> content.add(node.toOffice()));
+
+    return Optional.of(new PageImpl<>(content, pageable, sortedBranches.size()));
+  }
+
+  private static <T extends Comparable<? super T>> Comparator<Node> comparing(final Function<OfficeEntity, T> property) {
+    return Comparator.comparing(node -> property.apply(node.officeEntity), Comparator.nullsLast(Comparator.naturalOrder()));
+  }
+
+  static final class Node {
+
+    private final OfficeEntity officeEntity;
+    private final String parentIdentifier;
+    private final AddressEntity addressEntity;
+    private final boolean externalReferences;
+    private int position;
+
+    Node(final OfficeEntity officeEntity, final String parentIdentifier, final AddressEntity addressEntity,
+         final boolean externalReferences) {
+      super();
+      this.officeEntity = officeEntity;
+      this.parentIdentifier = parentIdentifier;
+      this.addressEntity = addressEntity;
+      this.externalReferences = externalReferences;
+    }
+
+    private Office toOffice() {
+      final Office office = OfficeMapper.map(this.officeEntity);
+      office.setParentIdentifier(this.parentIdentifier);
+      if (this.addressEntity != null) {
+        office.setAddress(AddressMapper.map(this.addressEntity));
+      }
+      office.setExternalReferences(this.externalReferences);
+      return office;
+    }
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.cache;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.internal.config.ReplicaRoutingDataSource;
+import org.apache.fineract.cn.office.internal.repository.AddressEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps each tenant's office tree in memory so single offices and branches can be served without
+ * querying the database. Entries are evicted when a local command changes offices and expire after
+ * {@code office.cache.timeToLive} milliseconds. Writes made by other instances are only seen once
+ * the entry expired, so the cache is disabled by default and meant for single-instance deployments.
+ */
+@Component
+public class OfficeTreeCache {
+
+  private final Logger logger;
+  private final OfficeRepository officeRepository;
+  private final TransactionTemplate loadTransactionTemplate;
+  private final boolean enabled;
+  private final int maximumOffices;
+  private final long timeToLive;
+  private final Map<String, CachedOfficeTree> officeTrees;
+  private final Map<String, Long> generations;
+  private final Map<String, CompletableFuture<OfficeTree>> loads;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+  private final Counter invalidations;
+
+  @Autowired
+  public OfficeTreeCache(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger,
+                         final OfficeRepository officeRepository,
+                         final PlatformTransactionManager transactionManager,
+                         final MetricRegistry metricRegistry,
+                         @Value("${office.cache.enabled:false}") final boolean enabled,
+                         @Value("${office.cache.maximumTenants:64}") final int maximumTenants,
+                         @Value("${office.cache.maximumOffices:10000}") final int maximumOffices,
+                         @Value("${office.cache.timeToLive:60000}") final long timeToLive) {
+    super();
+    this.logger = logger;
+    this.officeRepository = officeRepository;
+    this.loadTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.loadTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+    this.loadTransactionTemplate.setReadOnly(true);
+    this.enabled = enabled;
+    this.maximumOffices = maximumOffices;
+    this.timeToLive = timeToLive;
+    this.generations = new HashMap<>();
+    this.loads = new ConcurrentHashMap<>();
+    this.hits = metricRegistry.counter("office.cache.hits");
+    this.misses = metricRegistry.counter("office.cache.misses");
+    this.evictions = metricRegistry.counter("office.cache.evictions");
+    this.invalidations = metricRegistry.counter("office.cache.invalidations");
+    this.officeTrees = new LinkedHashMap<String, CachedOfficeTree>(16, 0.75F, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, CachedOfficeTree> eldest) {
+        if (this.size() > maximumTenants) {
+          evictions.inc();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public Optional<OfficeTree> get() {
+    if (!this.enabled) {
+      return Optional.empty();
+    }
+
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    final OfficeTree cachedOfficeTree;
+    final long generation;
+    synchronized (this.officeTrees) {
+      cachedOfficeTree = this.current(tenant);
+      generation = this.generations.getOrDefault(tenant, 0L);
+    }
+
+    if (cachedOfficeTree != null) {
+      if (cachedOfficeTree.isComplete()) {
+        this.hits.inc();
+        return Optional.of(cachedOfficeTree);
+      }
+      this.misses.inc();
+      return Optional.empty();
+    }
+
+    this.misses.inc();
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      // the caller's transaction may hold uncommitted office changes
+      return Optional.empty();
+    }
+
+    // only one request per tenant loads the tree, the others wait for its result
+    final CompletableFuture<OfficeTree> load = new CompletableFuture<>();
+    final CompletableFuture<OfficeTree> pendingLoad = this.loads.putIfAbsent(tenant, load);
+    if (pendingLoad != null) {
+      final OfficeTree loadedOfficeTree = pendingLoad.handle((officeTree, ex) -> officeTree).join();
+      return loadedOfficeTree != null && loadedOfficeTree.isComplete() ? Optional.of(loadedOfficeTree) : Optional.empty();
+    }
+
+    try {
+      final OfficeTree loadedOfficeTree = this.load();
+      synchronized (this.officeTrees) {
+        if (this.generations.getOrDefault(tenant, 0L) == generation) {
+          this.officeTrees.put(tenant, new CachedOfficeTree(loadedOfficeTree, System.currentTimeMillis()));
+        }
+      }
+      load.complete(loadedOfficeTree);
+      return loadedOfficeTree.isComplete() ? Optional.of(loadedOfficeTree) : Optional.empty();
+    } catch (final RuntimeException ex) {
+      load.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      this.loads.remove(tenant, load);
+    }
+  }
+
+  /**
+   * Returns the tenant's office tree if it is already cached, without loading it or counting a hit.
+   */
+  public Optional<OfficeTree> getIfPresent() {
+    if (!this.enabled) {
+      return Optional.empty();
+    }
+
+    final OfficeTree cachedOfficeTree;
+    synchronized (this.officeTrees) {
+      cachedOfficeTree = this.current(TenantContextHolder.checkedGetIdentifier());
+    }
+    return cachedOfficeTree != null && cachedOfficeTree.isComplete() ? Optional.of(cachedOfficeTree) : Optional.empty();
+  }
+
+  public void invalidate() {
+    if (!this.enabled) {
+      return;
+    }
+
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCompletion(final int status) {
+          evict(tenant);
+        }
+      });
+    } else {
+      this.evict(tenant);
+    }
+  }
+
+  private void evict(final String tenant) {
+    synchronized (this.officeTrees) {
+      this.generations.merge(tenant, 1L, Long::sum);
+      this.officeTrees.remove(tenant);
+      // requests arriving from now on must not wait for a tree loaded before the change
+      this.loads.remove(tenant);
+    }
+    this.invalidations.inc();
+  }
+
+  private OfficeTree current(final String tenant) {
+    final CachedOfficeTree cachedEntry = this.officeTrees.get(tenant);
+    if (cachedEntry == null) {
+      return null;
+    }
+    if (System.currentTimeMillis() - cachedEntry.loadedOn >= this.timeToLive) {
+      this.officeTrees.remove(tenant);
+      return null;
+    }
+    return cachedEntry.officeTree;
+  }
+
+  private OfficeTree load() {
+    // runs on the caller's transaction; a tree read from a lagging replica would stay cached until
+    // it expires, so the connection is taken from the primary unless the caller already opened one
+    final List<Object[]> rows = ReplicaRoutingDataSource.onPrimary(() -> this.loadTransactionTemplate.execute(
+        status -> this.officeRepository.findOfficeTree(this.maximumOffices + 1)));
+    if (rows.size() > this.maximumOffices) {
+      this.logger.info("Office tree exceeds {} offices, skipping cache.", this.maximumOffices);
+      return OfficeTree.incomplete();
+    }
+
+    return OfficeTree.of(rows.stream().map(this::toNode).collect(Collectors.toList()));
+  }
+
+  private OfficeTree.Node toNode(final Object[] row) {
+    final OfficeEntity officeEntity = new OfficeEntity();
+    officeEntity.setId(((Number) row[0]).longValue());
+    officeEntity.setParentOfficeId(row[1] != null ? ((Number) row[1]).longValue() : null);
+    officeEntity.setIdentifier((String) row[2]);
+    officeEntity.setName((String) row[3]);
+    officeEntity.setDescription((String) row[4]);
+    officeEntity.setCreatedBy((String) row[5]);
+    officeEntity.setCreatedOn((Date) row[6]);
+    officeEntity.setLastModifiedBy((String) row[7]);
+    officeEntity.setLastModifiedOn((Date) row[8]);
+    officeEntity.setVersion(((Number) row[17]).longValue());
+
+    final AddressEntity addressEntity;
+    if (row[10] != null) {
+      addressEntity = new AddressEntity();
+      addressEntity.setStreet((String) row[10]);
+      addressEntity.setCity((String) row[11]);
+      addressEntity.setRegion((String) row[12]);
+      addressEntity.setPostalCode((String) row[13]);
+      addressEntity.setCountryCode((String) row[14]);
+      addressEntity.setCountry((String) row[15]);
+    } else {
+      addressEntity = null;
+    }
+
+    return new OfficeTree.Node(officeEntity, (String) row[9], addressEntity, Boolean.TRUE.equals(row[16]));
+  }
+
+  private static final class CachedOfficeTree {
+
+    private final OfficeTree officeTree;
+    private final long loadedOn;
+
+    private CachedOfficeTree(final OfficeTree officeTree, final long loadedOn) {
+      super();
+      this.officeTree = officeTree;
+      this.loadedOn = loadedOn;
+    }
+  }
+}
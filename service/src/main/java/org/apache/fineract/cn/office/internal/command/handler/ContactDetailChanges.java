@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.command.handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.internal.mapper.ContactDetailMapper;
+import org.apache.fineract.cn.office.internal.repository.ContactDetailEntity;
+import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
+
+/**
+ * The inserts, updates and deletes turning the stored contact details of an employee into the given ones.
+ * Stored rows are reused for identical values first and for values of the same type and group second, so
+ * changing a single number updates a single row.
+ */
+final class ContactDetailChanges {
+
+  private final List<ContactDetailEntity> insertions = new ArrayList<>();
+  private final List<ContactDetailEntity> updates = new ArrayList<>();
+  private final List<ContactDetailEntity> deletions = new ArrayList<>();
+
+  private ContactDetailChanges() {
+    super();
+  }
+
+  static ContactDetailChanges between(final EmployeeEntity employeeEntity,
+                                      final List<ContactDetailEntity> storedContactDetails,
+                                      final List<ContactDetail> contactDetails) {
+    final ContactDetailChanges changes = new ContactDetailChanges();
+
+    final Map<String, Deque<ContactDetailEntity>> storedByValue = new HashMap<>();
+    storedContactDetails.forEach(contactDetailEntity ->
+        storedByValue.computeIfAbsent(valueKey(contactDetailEntity), key -> new ArrayDeque<>()).add(contactDetailEntity));
+
+    final List<ContactDetail> unmatched = new ArrayList<>();
+    contactDetails.forEach(contactDetail -> {
+      final ContactDetailEntity contactDetailEntity = poll(storedByValue, valueKey(contactDetail));
+      if (contactDetailEntity == null) {
+        unmatched.add(contactDetail);
+      } else if (!Objects.equals(contactDetailEntity.getPreferenceLevel(), contactDetail.getPreferenceLevel())) {
+        changes.updates.add(update(employeeEntity, contactDetailEntity, contactDetail));
+      }
+    });
+
+    final Map<String, Deque<ContactDetailEntity>> remainingByKind = new HashMap<>();
+    storedByValue.values().forEach(remaining -> remaining.forEach(contactDetailEntity ->
+        remainingByKind.computeIfAbsent(kindKey(contactDetailEntity.getType(), contactDetailEntity.getGroup()), key -> new ArrayDeque<>())
+            .add(contactDetailEntity)));
+
+    unmatched.forEach(contactDetail -> {
+      final ContactDetailEntity contactDetailEntity = poll(remainingByKind, kindKey(contactDetail.getType(), contactDetail.getGroup()));
+      if (contactDetailEntity != null) {
+        changes.updates.add(update(employeeEntity, contactDetailEntity, contactDetail));
+      } else {
+        final ContactDetailEntity insertion = ContactDetailMapper.map(contactDetail);
+        insertion.setEmployee(employeeEntity);
+        changes.insertions.add(insertion);
+      }
+    });
+
+    remainingByKind.values().forEach(changes.deletions::addAll);
+
+    return changes;
+  }
+
+  List<ContactDetailEntity> insertions() {
+    return this.insertions;
+  }
+
+  List<ContactDetailEntity> updates() {
+    return this.updates;
+  }
+
+  List<ContactDetailEntity> deletions() {
+    return this.deletions;
+  }
+
+  private static ContactDetailEntity update(final EmployeeEntity employeeEntity,
+                                            final ContactDetailEntity storedContactDetailEntity,
+                                            final ContactDetail contactDetail) {
+    final ContactDetailEntity contactDetailEntity = ContactDetailMapper.map(contactDetail);
+    contactDetailEntity.setId(storedContactDetailEntity.getId());
+    contactDetailEntity.setEmployee(employeeEntity);
+    return contactDetailEntity;
+  }
+
+  private static ContactDetailEntity poll(final Map<String, Deque<ContactDetailEntity>> contactDetailEntities, final String key) {
+    final Deque<ContactDetailEntity> candidates = contactDetailEntities.get(key);
+    return candidates != null ? candidates.pollFirst() : null;
+  }
+
+  private static String valueKey(final ContactDetailEntity contactDetailEntity) {
+    return kindKey(contactDetailEntity.getType(), contactDetailEntity.getGroup()) + "\u0000" + contactDetailEntity.getValue();
+  }
+
+  private static String valueKey(final ContactDetail contactDetail) {
+    return kindKey(contactDetail.getType(), contactDetail.getGroup()) + "\u0000" + contactDetail.getValue();
+  }
+
+  private static String kindKey(final String type, final String group) {
+    return type + "\u0000" + group;
+  }
+}
@@ -18,30 +18,49 @@
  */
 package org.apache.fineract.cn.office.internal.command.handler;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.fineract.cn.api.util.UserContextHolder;
 import org.apache.fineract.cn.command.annotation.Aggregate;
 import org.apache.fineract.cn.command.annotation.CommandHandler;
 import org.apache.fineract.cn.command.annotation.EventEmitter;
 import org.apache.fineract.cn.lang.ServiceException;
 import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Change;
 import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
+import org.apache.fineract.cn.office.api.v1.domain.ImportError;
+import org.apache.fineract.cn.office.internal.cache.OfficeTreeCache;
 import org.apache.fineract.cn.office.internal.command.CreateEmployeeCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteContactDetailCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteEmployeeCommand;
+import org.apache.fineract.cn.office.internal.command.ImportEmployeesCommand;
 import org.apache.fineract.cn.office.internal.command.SetContactDetailsCommand;
 import org.apache.fineract.cn.office.internal.command.UpdateEmployeeCommand;
 import org.apache.fineract.cn.office.internal.mapper.ContactDetailMapper;
 import org.apache.fineract.cn.office.internal.mapper.EmployeeMapper;
 import org.apache.fineract.cn.office.internal.repository.ContactDetailEntity;
 import org.apache.fineract.cn.office.internal.repository.ContactDetailRepository;
+import org.apache.fineract.cn.office.internal.repository.EmployeeBatchRepository;
 import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
 import org.apache.fineract.cn.office.internal.repository.EmployeeRepository;
 import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
 import org.apache.fineract.cn.office.internal.repository.OfficeRepository;
+import org.apache.fineract.cn.office.internal.service.ChangeLog;
+import org.apache.fineract.cn.office.internal.service.EnrichedEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,15 +73,27 @@ public class EmployeeAggregate {
   private final EmployeeRepository employeeRepository;
   private final ContactDetailRepository contactDetailRepository;
   private final OfficeRepository officeRepository;
+  private final OfficeTreeCache officeTreeCache;
+  private final EmployeeBatchRepository employeeBatchRepository;
+  private final EnrichedEventPublisher enrichedEventPublisher;
+  private final ChangeLog changeLog;
 
   @Autowired
   public EmployeeAggregate(final EmployeeRepository employeeRepository,
                            final ContactDetailRepository contactDetailRepository,
-                           final OfficeRepository officeRepository) {
+                           final OfficeRepository officeRepository,
+                           final OfficeTreeCache officeTreeCache,
+                           final EmployeeBatchRepository employeeBatchRepository,
+                           final EnrichedEventPublisher enrichedEventPublisher,
+                           final ChangeLog changeLog) {
     super();
     this.employeeRepository = employeeRepository;
     this.contactDetailRepository = contactDetailRepository;
     this.officeRepository = officeRepository;
+    this.officeTreeCache = officeTreeCache;
+    this.employeeBatchRepository = employeeBatchRepository;
+    this.enrichedEventPublisher = enrichedEventPublisher;
+    this.changeLog = changeLog;
   }
 
   @Transactional
@@ -82,6 +113,8 @@ public class EmployeeAggregate {
       final Optional<OfficeEntity> officeEntity = this.officeRepository.findByIdentifier(employee.getAssignedOffice());
       if (officeEntity.isPresent()) {
         employeeEntity.setAssignedOffice(officeEntity.get());
+        this.touchOffices(Collections.singletonList(officeEntity.get()));
+        this.officeTreeCache.invalidate();
       } else {
         throw ServiceException.notFound("Assigned office {0} not found.", employee.getAssignedOffice());
       }
@@ -89,14 +122,87 @@ public class EmployeeAggregate {
     employeeEntity.setCreatedBy(UserContextHolder.checkedGetUser());
     employeeEntity.setCreatedOn(Utils.utcNow());
     final EmployeeEntity savedEmployeeEntity = this.employeeRepository.save(employeeEntity);
+    this.changeLog.record(Change.Type.EMPLOYEE, employee.getIdentifier(), Change.Action.CREATED);
 
-    if (employee.getContactDetails() != null) {
+    if (employee.getContactDetails() != null && !employee.getContactDetails().isEmpty()) {
       this.saveContactDetail(savedEmployeeEntity, employee.getContactDetails());
+      this.changeLog.record(Change.Type.CONTACT_DETAILS, employee.getIdentifier(), Change.Action.CREATED);
     }
+    this.enrichedEventPublisher.employeeChanged(EventConstants.OPERATION_POST_EMPLOYEE, employee.getIdentifier());
 
     return employee.getIdentifier();
   }
 
+  @Transactional
+  @CommandHandler
+  @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.OPERATION_IMPORT_EMPLOYEES)
+  public EmployeeImportReport importEmployees(final ImportEmployeesCommand importEmployeesCommand) {
+    final Map<Integer, Employee> employees = importEmployeesCommand.employees();
+
+    final Set<String> existingIdentifiers = new HashSet<>(this.employeeRepository.findIdentifiers(
+        employees.values().stream().map(Employee::getIdentifier).collect(Collectors.toSet())));
+
+    final Set<String> officeIdentifiers = employees.values().stream()
+        .map(Employee::getAssignedOffice)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    final Map<String, OfficeEntity> officeEntities = officeIdentifiers.isEmpty()
+        ? new HashMap<>()
+        : this.officeRepository.findByIdentifierIn(officeIdentifiers)
+            .stream()
+            .collect(Collectors.toMap(OfficeEntity::getIdentifier, Function.identity()));
+
+    final String createdBy = UserContextHolder.checkedGetUser();
+    final Date createdOn = Utils.utcNow();
+    final List<ImportError> errors = new ArrayList<>();
+    final List<EmployeeEntity> employeeEntities = new ArrayList<>(employees.size());
+    final List<ContactDetailEntity> contactDetailEntities = new ArrayList<>();
+
+    employees.forEach((row, employee) -> {
+      if (existingIdentifiers.contains(employee.getIdentifier())) {
+        errors.add(new ImportError(row, employee.getIdentifier(), "Employee already exists."));
+        return;
+      }
+
+      final EmployeeEntity employeeEntity = EmployeeMapper.map(employee);
+      if (employee.getAssignedOffice() != null) {
+        final OfficeEntity officeEntity = officeEntities.get(employee.getAssignedOffice());
+        if (officeEntity == null) {
+          errors.add(new ImportError(row, employee.getIdentifier(), "Assigned office " + employee.getAssignedOffice() + " not found."));
+          return;
+        }
+        employeeEntity.setAssignedOffice(officeEntity);
+      }
+      employeeEntity.setCreatedBy(createdBy);
+      employeeEntity.setCreatedOn(createdOn);
+      employeeEntities.add(employeeEntity);
+      this.changeLog.record(Change.Type.EMPLOYEE, employee.getIdentifier(), Change.Action.CREATED, employee);
+
+      if (employee.getContactDetails() != null && !employee.getContactDetails().isEmpty()) {
+        employee.getContactDetails().forEach(contactDetail -> {
+          final ContactDetailEntity contactDetailEntity = ContactDetailMapper.map(contactDetail);
+          contactDetailEntity.setEmployee(employeeEntity);
+          contactDetailEntities.add(contactDetailEntity);
+        });
+        this.changeLog.record(Change.Type.CONTACT_DETAILS, employee.getIdentifier(), Change.Action.CREATED,
+            employee.getContactDetails());
+      }
+    });
+
+    this.employeeBatchRepository.insertEmployees(employeeEntities);
+    this.employeeBatchRepository.insertContactDetails(contactDetailEntities);
+
+    if (employeeEntities.stream().anyMatch(employeeEntity -> employeeEntity.getAssignedOffice() != null)) {
+      this.touchOffices(employeeEntities.stream().map(EmployeeEntity::getAssignedOffice).collect(Collectors.toList()));
+      this.officeTreeCache.invalidate();
+    }
+
+    final EmployeeImportReport employeeImportReport = new EmployeeImportReport();
+    employeeImportReport.setImported(employeeEntities.size());
+    employeeImportReport.setErrors(errors);
+    return employeeImportReport;
+  }
+
   @Transactional
   @CommandHandler
   @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.OPERATION_DELETE_EMPLOYEE)
@@ -104,8 +210,16 @@ public class EmployeeAggregate {
 
     final EmployeeEntity employeeEntityToDelete = this.employeeRepository.findByIdentifier(deleteEmployeeCommand.code());
     if (employeeEntityToDelete != null) {
-      this.deleteContactDetails(employeeEntityToDelete);
+      if (this.deleteContactDetails(employeeEntityToDelete)) {
+        this.changeLog.record(Change.Type.CONTACT_DETAILS, deleteEmployeeCommand.code(), Change.Action.DELETED);
+      }
       this.employeeRepository.delete(employeeEntityToDelete);
+      if (employeeEntityToDelete.getAssignedOffice() != null) {
+        this.touchOffices(Collections.singletonList(employeeEntityToDelete.getAssignedOffice()));
+        this.officeTreeCache.invalidate();
+      }
+      this.changeLog.record(Change.Type.EMPLOYEE, deleteEmployeeCommand.code(), Change.Action.DELETED);
+      this.enrichedEventPublisher.employeeChanged(EventConstants.OPERATION_DELETE_EMPLOYEE, deleteEmployeeCommand.code());
     }
     return deleteEmployeeCommand.code();
   }
@@ -137,6 +251,8 @@ public class EmployeeAggregate {
       final Optional<OfficeEntity> officeEntity = this.officeRepository.findByIdentifier(employee.getAssignedOffice());
       if (officeEntity.isPresent()) {
         employeeEntity.setAssignedOffice(officeEntity.get());
+        this.touchOffices(Arrays.asList(assignedOffice, officeEntity.get()));
+        this.officeTreeCache.invalidate();
       } else {
         throw ServiceException.notFound("Assigned office {0} not found.", employee.getAssignedOffice());
       }
@@ -145,6 +261,8 @@ public class EmployeeAggregate {
     employeeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
     employeeEntity.setLastModifiedOn(Utils.utcNow());
     this.employeeRepository.save(employeeEntity);
+    this.changeLog.record(Change.Type.EMPLOYEE, employee.getIdentifier(), Change.Action.UPDATED);
+    this.enrichedEventPublisher.employeeChanged(EventConstants.OPERATION_PUT_EMPLOYEE, employee.getIdentifier());
 
     return updateEmployeeCommand.employee().getIdentifier();
   }
@@ -160,17 +278,20 @@ public class EmployeeAggregate {
       throw ServiceException.notFound("Employee {0} not found.", setContactDetailsCommand.identifier());
     }
 
-    this.deleteContactDetails(employeeEntity);
-
     final List<ContactDetail> contactDetails = setContactDetailsCommand.contactDetails();
+    final ContactDetailChanges contactDetailChanges = ContactDetailChanges.between(employeeEntity,
+        this.contactDetailRepository.findByEmployeeOrderByPreferenceLevelAsc(employeeEntity),
+        contactDetails != null ? contactDetails : Collections.emptyList());
 
-    if (contactDetails != null && !contactDetails.isEmpty()) {
-      this.saveContactDetail(employeeEntity, contactDetails);
-    }
+    this.employeeBatchRepository.deleteContactDetails(contactDetailChanges.deletions());
+    this.employeeBatchRepository.updateContactDetails(contactDetailChanges.updates());
+    this.employeeBatchRepository.insertContactDetails(contactDetailChanges.insertions());
 
     employeeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
     employeeEntity.setLastModifiedOn(Utils.utcNow());
     this.employeeRepository.save(employeeEntity);
+    this.changeLog.record(Change.Type.CONTACT_DETAILS, setContactDetailsCommand.identifier(), Change.Action.UPDATED);
+    this.enrichedEventPublisher.employeeChanged(EventConstants.OPERATION_PUT_CONTACT_DETAIL, setContactDetailsCommand.identifier());
 
     return setContactDetailsCommand.identifier();
   }
@@ -190,6 +311,8 @@ public class EmployeeAggregate {
       employeeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
       employeeEntity.setLastModifiedOn(Utils.utcNow());
       this.employeeRepository.save(employeeEntity);
+      this.changeLog.record(Change.Type.CONTACT_DETAILS, deleteContactDetailCommand.identifier(), Change.Action.DELETED);
+      this.enrichedEventPublisher.employeeChanged(EventConstants.OPERATION_DELETE_CONTACT_DETAIL, deleteContactDetailCommand.identifier());
     }
 
     return deleteContactDetailCommand.identifier();
@@ -205,12 +328,17 @@ public class EmployeeAggregate {
     }
   }
 
-  private boolean deleteContactDetails(final EmployeeEntity employeeEntity) {
-    final List<ContactDetailEntity> contactDetailEntities = this.contactDetailRepository.findByEmployeeOrderByPreferenceLevelAsc(employeeEntity);
-    if (contactDetailEntities != null && !contactDetailEntities.isEmpty()) {
-      contactDetailEntities.forEach(this.contactDetailRepository::delete);
-      return true;
+  private void touchOffices(final Collection<OfficeEntity> officeEntities) {
+    final Set<Long> officeIds = officeEntities.stream()
+        .filter(Objects::nonNull)
+        .map(OfficeEntity::getId)
+        .collect(Collectors.toSet());
+    if (!officeIds.isEmpty()) {
+      this.officeRepository.touch(officeIds, UserContextHolder.checkedGetUser(), Utils.utcNow());
     }
-    return false;
+  }
+
+  private boolean deleteContactDetails(final EmployeeEntity employeeEntity) {
+    return this.contactDetailRepository.deleteByEmployee(employeeEntity) > 0;
   }
 }
@@ -29,6 +29,8 @@ import org.apache.fineract.cn.office.internal.command.InitializeServiceCommand;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @SuppressWarnings({
     "unused"
@@ -36,6 +38,13 @@ import org.springframework.beans.factory.annotation.Qualifier;
 @Aggregate
 public class MigrationAggregate {
 
+  // Built ahead of Flyway so upgrading a populated tenant does not block writes while the index is built.
+  // The migration declaring them finds them in place; on a new tenant the migration builds them itself.
+  private static final String[][] CONCURRENT_INDEXES = {
+      {"address_office_idx", "horus_addresses", "office_id"},
+      {"contact_detail_employee_idx", "horus_contact_details", "employee_id, preference_level"}
+  };
+
   private final Logger logger;
   private final DataSource dataSource;
   private final FlywayFactoryBean flywayFactoryBean;
@@ -54,7 +63,28 @@ public class MigrationAggregate {
   @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.INITIALIZE)
   public String initialize(final InitializeServiceCommand initializeServiceCommand) {
     this.logger.debug("Start service migration.");
+    this.createIndexesConcurrently();
     this.flywayFactoryBean.create(this.dataSource).migrate();
     return EventConstants.INITIALIZE;
   }
+
+  private void createIndexesConcurrently() {
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+    for (final String[] index : CONCURRENT_INDEXES) {
+      final String name = index[0];
+      final String table = index[1];
+      try {
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table)) {
+          // an interrupted concurrent build leaves an invalid index behind, which would satisfy IF NOT EXISTS
+          if (jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+              "WHERE c.relname = ? AND NOT i.indisvalid)", Boolean.class, name)) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+          }
+          jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + table + " (" + index[2] + ")");
+        }
+      } catch (final DataAccessException ex) {
+        this.logger.warn("Could not create index {} concurrently, leaving it to the migration.", name, ex);
+      }
+    }
+  }
 }
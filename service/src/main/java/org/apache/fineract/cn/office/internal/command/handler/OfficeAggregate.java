@@ -18,7 +18,12 @@
  */
 package org.apache.fineract.cn.office.internal.command.handler;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.cn.api.util.UserContextHolder;
 import org.apache.fineract.cn.command.annotation.Aggregate;
@@ -27,13 +32,18 @@ import org.apache.fineract.cn.command.annotation.EventEmitter;
 import org.apache.fineract.cn.lang.ServiceException;
 import org.apache.fineract.cn.office.ServiceConstants;
 import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Change;
 import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeImportSummary;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeNode;
+import org.apache.fineract.cn.office.internal.cache.OfficeTreeCache;
 import org.apache.fineract.cn.office.internal.command.AddBranchCommand;
 import org.apache.fineract.cn.office.internal.command.AddExternalReferenceCommand;
 import org.apache.fineract.cn.office.internal.command.CreateOfficeCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteAddressOfOfficeCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteOfficeCommand;
+import org.apache.fineract.cn.office.internal.command.ImportOfficesCommand;
 import org.apache.fineract.cn.office.internal.command.SetAddressForOfficeCommand;
 import org.apache.fineract.cn.office.internal.command.UpdateOfficeCommand;
 import org.apache.fineract.cn.office.internal.mapper.AddressMapper;
@@ -42,8 +52,13 @@ import org.apache.fineract.cn.office.internal.repository.AddressEntity;
 import org.apache.fineract.cn.office.internal.repository.AddressRepository;
 import org.apache.fineract.cn.office.internal.repository.ExternalReferenceEntity;
 import org.apache.fineract.cn.office.internal.repository.ExternalReferenceRepository;
+import org.apache.fineract.cn.office.internal.repository.OfficeBatchRepository;
 import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeHierarchyEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeHierarchyRepository;
 import org.apache.fineract.cn.office.internal.repository.OfficeRepository;
+import org.apache.fineract.cn.office.internal.service.ChangeLog;
+import org.apache.fineract.cn.office.internal.service.EnrichedEventPublisher;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -59,17 +74,32 @@ public class OfficeAggregate {
   private final OfficeRepository officeRepository;
   private final AddressRepository addressRepository;
   private final ExternalReferenceRepository externalReferenceRepository;
+  private final OfficeHierarchyRepository officeHierarchyRepository;
+  private final OfficeTreeCache officeTreeCache;
+  private final OfficeBatchRepository officeBatchRepository;
+  private final EnrichedEventPublisher enrichedEventPublisher;
+  private final ChangeLog changeLog;
 
   @Autowired
   public OfficeAggregate(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger,
                          final OfficeRepository officeRepository,
                          final AddressRepository addressRepository,
-                         final ExternalReferenceRepository externalReferenceRepository) {
+                         final ExternalReferenceRepository externalReferenceRepository,
+                         final OfficeHierarchyRepository officeHierarchyRepository,
+                         final OfficeTreeCache officeTreeCache,
+                         final OfficeBatchRepository officeBatchRepository,
+                         final EnrichedEventPublisher enrichedEventPublisher,
+                         final ChangeLog changeLog) {
     super();
     this.logger = logger;
     this.officeRepository = officeRepository;
     this.addressRepository = addressRepository;
     this.externalReferenceRepository = externalReferenceRepository;
+    this.officeHierarchyRepository = officeHierarchyRepository;
+    this.officeTreeCache = officeTreeCache;
+    this.officeBatchRepository = officeBatchRepository;
+    this.enrichedEventPublisher = enrichedEventPublisher;
+    this.changeLog = changeLog;
   }
 
   @Transactional
@@ -77,6 +107,7 @@ public class OfficeAggregate {
   @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.OPERATION_POST_OFFICE)
   public String createOffice(final CreateOfficeCommand createOfficeCommand) throws ServiceException {
     this.createOffice(createOfficeCommand.office(), null);
+    this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_POST_OFFICE, createOfficeCommand.office().getIdentifier());
     return createOfficeCommand.office().getIdentifier();
   }
 
@@ -98,14 +129,17 @@ public class OfficeAggregate {
         officeEntity.setDescription(office.getDescription());
       }
 
-      officeEntity.setCreatedBy(UserContextHolder.checkedGetUser());
-      officeEntity.setCreatedOn(Utils.utcNow());
+      officeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
+      officeEntity.setLastModifiedOn(Utils.utcNow());
 
       this.officeRepository.save(officeEntity);
+      this.officeTreeCache.invalidate();
+      this.changeLog.record(Change.Type.OFFICE, office.getIdentifier(), Change.Action.UPDATED);
 
       if (office.getAddress() != null) {
         this.setAddress(new SetAddressForOfficeCommand(office.getIdentifier(), office.getAddress()));
       }
+      this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_PUT_OFFICE, office.getIdentifier());
       return office.getIdentifier();
     } else {
       throw ServiceException.notFound("Office {0} not found.", office.getIdentifier());
@@ -122,10 +156,100 @@ public class OfficeAggregate {
     final Office branch = addBranchCommand.branch();
 
     this.createOffice(branch, parentOffice);
+    this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_POST_OFFICE, branch.getIdentifier());
 
     return branch.getIdentifier();
   }
 
+  @Transactional
+  @CommandHandler
+  @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.OPERATION_IMPORT_OFFICES)
+  public OfficeImportSummary importOffices(final ImportOfficesCommand importOfficesCommand) {
+    final OfficeNode root = importOfficesCommand.officeNode();
+
+    final List<String> existingIdentifiers = this.officeRepository.findIdentifiers(this.identifiers(root));
+    if (!existingIdentifiers.isEmpty()) {
+      this.logger.info("Office {} already exists.", existingIdentifiers.get(0));
+      throw ServiceException.conflict("Office {0} already exists.", existingIdentifiers.get(0));
+    }
+
+    final String modificationUser = UserContextHolder.checkedGetUser();
+    final Date modificationDate = Utils.utcNow();
+
+    final Long parentOfficeId;
+    if (root.getOffice().getParentIdentifier() != null) {
+      final OfficeEntity parentOfficeEntity = this.officeRepository.findByIdentifier(root.getOffice().getParentIdentifier())
+          .orElseThrow(() -> ServiceException.notFound("Parent office {0} not found.", root.getOffice().getParentIdentifier()));
+      parentOfficeEntity.setLastModifiedBy(modificationUser);
+      parentOfficeEntity.setLastModifiedOn(modificationDate);
+      this.officeRepository.save(parentOfficeEntity);
+      parentOfficeId = parentOfficeEntity.getId();
+    } else {
+      parentOfficeId = null;
+    }
+
+    int offices = 0;
+    int levels = 0;
+    List<PendingOffice> level = Collections.singletonList(new PendingOffice(root, Collections.emptyList()));
+    while (!level.isEmpty()) {
+      final List<OfficeEntity> officeEntities = new ArrayList<>(level.size());
+      level.forEach(pendingOffice -> {
+        final OfficeEntity officeEntity = OfficeMapper.map(pendingOffice.officeNode.getOffice());
+        officeEntity.setParentOfficeId(pendingOffice.ancestorIds.isEmpty() ? parentOfficeId : pendingOffice.ancestorIds.get(0));
+        officeEntity.setCreatedBy(modificationUser);
+        officeEntity.setCreatedOn(modificationDate);
+        officeEntities.add(officeEntity);
+      });
+      this.officeBatchRepository.insertOffices(officeEntities);
+
+      final List<AddressEntity> addressEntities = new ArrayList<>();
+      final List<OfficeHierarchyEntity> hierarchyEntities = new ArrayList<>();
+      final List<OfficeHierarchyEntity> inheritedAncestors = new ArrayList<>();
+      final List<PendingOffice> nextLevel = new ArrayList<>();
+      for (int i = 0; i < level.size(); i++) {
+        final PendingOffice pendingOffice = level.get(i);
+        final OfficeEntity officeEntity = officeEntities.get(i);
+
+        final Office office = pendingOffice.officeNode.getOffice();
+        this.changeLog.record(Change.Type.OFFICE, office.getIdentifier(), Change.Action.CREATED, office);
+        if (office.getAddress() != null) {
+          final AddressEntity addressEntity = AddressMapper.map(office.getAddress());
+          addressEntity.setOffice(officeEntity);
+          addressEntities.add(addressEntity);
+          this.changeLog.record(Change.Type.ADDRESS, office.getIdentifier(), Change.Action.CREATED, office.getAddress());
+        }
+
+        final List<Long> ancestorIds = new ArrayList<>(pendingOffice.ancestorIds.size() + 1);
+        ancestorIds.add(officeEntity.getId());
+        ancestorIds.addAll(pendingOffice.ancestorIds);
+        for (int depth = 0; depth < ancestorIds.size(); depth++) {
+          hierarchyEntities.add(this.hierarchyEntity(ancestorIds.get(depth), officeEntity.getId(), depth));
+        }
+        if (parentOfficeId != null) {
+          inheritedAncestors.add(this.hierarchyEntity(parentOfficeId, officeEntity.getId(), ancestorIds.size()));
+        }
+
+        if (pendingOffice.officeNode.getBranches() != null) {
+          pendingOffice.officeNode.getBranches().forEach(branch -> {
+            branch.getOffice().setParentIdentifier(office.getIdentifier());
+            nextLevel.add(new PendingOffice(branch, ancestorIds));
+          });
+        }
+      }
+      this.officeBatchRepository.insertAddresses(addressEntities);
+      this.officeBatchRepository.insertHierarchy(hierarchyEntities);
+      this.officeBatchRepository.insertInheritedAncestors(inheritedAncestors);
+
+      offices += officeEntities.size();
+      levels++;
+      level = nextLevel;
+    }
+
+    this.officeTreeCache.invalidate();
+
+    return new OfficeImportSummary(root.getOffice().getIdentifier(), offices, levels);
+  }
+
   @Transactional
   @CommandHandler
   @EventEmitter(selectorName = EventConstants.OPERATION_HEADER, selectorValue = EventConstants.OPERATION_DELETE_OFFICE)
@@ -135,11 +259,25 @@ public class OfficeAggregate {
     if (optionalOfficeEntity.isPresent()) {
       final OfficeEntity officeEntityToDelete = optionalOfficeEntity.get();
       final Optional<AddressEntity> optionalAddressEntity = this.addressRepository.findByOffice(officeEntityToDelete);
-      optionalAddressEntity.ifPresent(this.addressRepository::delete);
+      if (optionalAddressEntity.isPresent()) {
+        this.addressRepository.delete(optionalAddressEntity.get());
+        this.changeLog.record(Change.Type.ADDRESS, deleteOfficeCommand.identifier(), Change.Action.DELETED);
+      }
 
+      this.officeHierarchyRepository.deleteByOfficeId(officeEntityToDelete.getId());
       this.officeRepository.delete(officeEntityToDelete);
+      if (officeEntityToDelete.getParentOfficeId() != null) {
+        this.officeRepository.touch(Collections.singleton(officeEntityToDelete.getParentOfficeId()),
+            UserContextHolder.checkedGetUser(), Utils.utcNow());
+      }
 
+      this.externalReferenceRepository.findByOfficeIdentifier(deleteOfficeCommand.identifier())
+          .forEach(externalReferenceEntity -> this.changeLog.recordExternalReference(deleteOfficeCommand.identifier(),
+              this.externalReference(externalReferenceEntity), Change.Action.DELETED));
       this.externalReferenceRepository.deleteByOfficeIdentifier(deleteOfficeCommand.identifier());
+      this.officeTreeCache.invalidate();
+      this.changeLog.record(Change.Type.OFFICE, deleteOfficeCommand.identifier(), Change.Action.DELETED);
+      this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_DELETE_OFFICE, deleteOfficeCommand.identifier());
     }
 
     return deleteOfficeCommand.identifier();
@@ -158,6 +296,8 @@ public class OfficeAggregate {
       if (optionalAddressEntity.isPresent()) {
         this.addressRepository.delete(optionalAddressEntity.get());
       }
+      this.changeLog.record(Change.Type.ADDRESS, setAddressForOfficeCommand.identifier(),
+          optionalAddressEntity.isPresent() ? Change.Action.UPDATED : Change.Action.CREATED);
 
       final AddressEntity addressEntity = AddressMapper.map(setAddressForOfficeCommand.address());
       addressEntity.setOffice(officeEntity);
@@ -166,6 +306,8 @@ public class OfficeAggregate {
       officeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
       officeEntity.setLastModifiedOn(Utils.utcNow());
       this.officeRepository.save(officeEntity);
+      this.officeTreeCache.invalidate();
+      this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_PUT_ADDRESS, setAddressForOfficeCommand.identifier());
 
       return setAddressForOfficeCommand.identifier();
     } else {
@@ -188,6 +330,9 @@ public class OfficeAggregate {
           officeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
           officeEntity.setLastModifiedOn(Utils.utcNow());
           this.officeRepository.save(officeEntity);
+          this.officeTreeCache.invalidate();
+          this.changeLog.record(Change.Type.ADDRESS, deleteAddressOfOfficeCommand.identifier(), Change.Action.DELETED);
+          this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_DELETE_ADDRESS, deleteAddressOfOfficeCommand.identifier());
           return deleteAddressOfOfficeCommand.identifier();
         }
       } else {
@@ -219,6 +364,15 @@ public class OfficeAggregate {
     externalReferenceEntity.setState(externalReference.getState());
 
     this.externalReferenceRepository.save(externalReferenceEntity);
+    this.officeRepository.findByIdentifier(officeIdentifier).ifPresent(officeEntity -> {
+      officeEntity.setLastModifiedBy(UserContextHolder.checkedGetUser());
+      officeEntity.setLastModifiedOn(Utils.utcNow());
+      this.officeRepository.save(officeEntity);
+    });
+    this.officeTreeCache.invalidate();
+    this.changeLog.recordExternalReference(officeIdentifier, this.externalReference(externalReferenceEntity),
+        optionalExternalReference.isPresent() ? Change.Action.UPDATED : Change.Action.CREATED);
+    this.enrichedEventPublisher.officeChanged(EventConstants.OPERATION_PUT_REFERENCE, officeIdentifier);
 
     return officeIdentifier;
   }
@@ -248,11 +402,69 @@ public class OfficeAggregate {
     officeEntity.setCreatedOn(modificationDate);
 
     final OfficeEntity savedOfficeEntity = this.officeRepository.save(officeEntity);
+    this.addToHierarchy(savedOfficeEntity);
+    this.officeTreeCache.invalidate();
+    this.changeLog.record(Change.Type.OFFICE, office.getIdentifier(), Change.Action.CREATED);
 
     if (office.getAddress() != null) {
       final AddressEntity addressEntity = AddressMapper.map(office.getAddress());
       addressEntity.setOffice(savedOfficeEntity);
       this.addressRepository.save(addressEntity);
+      this.changeLog.record(Change.Type.ADDRESS, office.getIdentifier(), Change.Action.CREATED);
+    }
+  }
+
+  private ExternalReference externalReference(final ExternalReferenceEntity externalReferenceEntity) {
+    final ExternalReference externalReference = new ExternalReference();
+    externalReference.setType(externalReferenceEntity.getType());
+    externalReference.setState(externalReferenceEntity.getState());
+    return externalReference;
+  }
+
+  private void addToHierarchy(final OfficeEntity officeEntity) {
+    final OfficeHierarchyEntity selfReference = new OfficeHierarchyEntity();
+    selfReference.setAncestorId(officeEntity.getId());
+    selfReference.setDescendantId(officeEntity.getId());
+    selfReference.setDepth(0);
+    this.officeHierarchyRepository.save(selfReference);
+
+    if (officeEntity.getParentOfficeId() != null) {
+      this.officeHierarchyRepository.insertAncestors(officeEntity.getParentOfficeId(), officeEntity.getId());
+    }
+  }
+
+  private List<String> identifiers(final OfficeNode root) {
+    final List<String> identifiers = new ArrayList<>();
+    final Deque<OfficeNode> officeNodes = new ArrayDeque<>();
+    officeNodes.push(root);
+    while (!officeNodes.isEmpty()) {
+      final OfficeNode officeNode = officeNodes.pop();
+      identifiers.add(officeNode.getOffice().getIdentifier());
+      if (officeNode.getBranches() != null) {
+        officeNode.getBranches().forEach(officeNodes::push);
+      }
+    }
+    return identifiers;
+  }
+
+  private OfficeHierarchyEntity hierarchyEntity(final Long ancestorId, final Long descendantId, final int depth) {
+    final OfficeHierarchyEntity officeHierarchyEntity = new OfficeHierarchyEntity();
+    officeHierarchyEntity.setAncestorId(ancestorId);
+    officeHierarchyEntity.setDescendantId(descendantId);
+    officeHierarchyEntity.setDepth(depth);
+    return officeHierarchyEntity;
+  }
+
+  private static class PendingOffice {
+
+    private final OfficeNode officeNode;
+    // nearest first, so the parent comes first
+    private final List<Long> ancestorIds;
+
+    PendingOffice(final OfficeNode officeNode, final List<Long> ancestorIds) {
+      super();
+      this.officeNode = officeNode;
+      this.ancestorIds = ancestorIds;
     }
   }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.config;
+
+import java.lang.reflect.Method;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.fineract.cn.command.annotation.CommandHandler;
+import org.apache.fineract.cn.command.annotation.EventEmitter;
+import org.apache.fineract.cn.office.internal.service.CommandMetrics;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Feeds {@link CommandMetrics} by intercepting every {@link CommandHandler} and every message sent
+ * through the {@link JmsTemplate}. The handler interceptor is placed inside the transactional one,
+ * so the transaction is still open when the handler returns.
+ */
+public class CommandMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor implements BeanFactoryAware {
+
+  private BeanFactory beanFactory;
+  private CommandMetrics commandMetrics;
+
+  public CommandMetricsPostProcessor() {
+    super();
+    this.advisor = new DefaultPointcutAdvisor(
+        AnnotationMatchingPointcut.forMethodAnnotation(CommandHandler.class), (MethodInterceptor) this::handle);
+  }
+
+  @Override
+  public void setBeanFactory(final BeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    if (bean instanceof JmsTemplate) {
+      final ProxyFactory proxyFactory = new ProxyFactory(bean);
+      proxyFactory.setProxyTargetClass(true);
+      proxyFactory.addAdvice((MethodInterceptor) this::send);
+      return proxyFactory.getProxy(this.getProxyClassLoader());
+    }
+    return super.postProcessAfterInitialization(bean, beanName);
+  }
+
+  private Object handle(final MethodInvocation invocation) throws Throwable {
+    final Object[] arguments = invocation.getArguments();
+    final EventEmitter eventEmitter = eventEmitterOf(invocation);
+    final String operation = eventEmitter != null ? eventEmitter.selectorValue() : invocation.getMethod().getName();
+    final CommandMetrics.Execution execution = this.commandMetrics()
+        .started(operation, arguments.length > 0 ? arguments[0] : null, eventEmitter != null);
+    try {
+      final Object result = invocation.proceed();
+      execution.handled(true);
+      return result;
+    } catch (final Throwable throwable) {
+      execution.handled(false);
+      throw throwable;
+    }
+  }
+
+  private Object send(final MethodInvocation invocation) throws Throwable {
+    final String methodName = invocation.getMethod().getName();
+    if (!methodName.equals("send") && !methodName.equals("convertAndSend")) {
+      return invocation.proceed();
+    }
+
+    final long start = System.nanoTime();
+    boolean success = false;
+    try {
+      final Object result = invocation.proceed();
+      success = true;
+      return result;
+    } finally {
+      this.commandMetrics().emitted(System.nanoTime() - start, success);
+    }
+  }
+
+  private static EventEmitter eventEmitterOf(final MethodInvocation invocation) {
+    final Method method = invocation.getThis() != null
+        ? AopUtils.getMostSpecificMethod(invocation.getMethod(), AopUtils.getTargetClass(invocation.getThis()))
+        : invocation.getMethod();
+    return AnnotationUtils.findAnnotation(method, EventEmitter.class);
+  }
+
+  // looked up on first use, post processors are created before the beans they depend on are ready
+  private CommandMetrics commandMetrics() {
+    if (this.commandMetrics == null) {
+      this.commandMetrics = this.beanFactory.getBean(CommandMetrics.class);
+    }
+    return this.commandMetrics;
+  }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.cn.office.internal.config;
 
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.fineract.cn.postgresql.config.EnablePostgreSQL;
@@ -33,6 +35,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnablePostgreSQL
 @ComponentScan(
     basePackages = {
+        "org.apache.fineract.cn.office.internal.cache",
         "org.apache.fineract.cn.office.internal.command.handler",
         "org.apache.fineract.cn.office.internal.repository",
         "org.apache.fineract.cn.office.internal.service"
@@ -58,4 +61,31 @@ public class OfficeServiceConfiguration {
   public Gson gson() {
     return new GsonBuilder().create();
   }
+
+  @Bean
+  public static ReplicaDataSourcePostProcessor replicaDataSourcePostProcessor() {
+    return new ReplicaDataSourcePostProcessor();
+  }
+
+  @Bean
+  public static StatementCountingPostProcessor statementCountingPostProcessor() {
+    return new StatementCountingPostProcessor();
+  }
+
+  @Bean
+  public static CommandMetricsPostProcessor commandMetricsPostProcessor() {
+    return new CommandMetricsPostProcessor();
+  }
+
+  @Bean
+  public MetricRegistry metricRegistry() {
+    return new MetricRegistry();
+  }
+
+  @Bean(destroyMethod = "stop")
+  public JmxReporter jmxReporter(final MetricRegistry metricRegistry) {
+    final JmxReporter jmxReporter = JmxReporter.forRegistry(metricRegistry).inDomain("org.apache.fineract.cn.office").build();
+    jmxReporter.start();
+    return jmxReporter;
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.config;
+
+import com.jolbox.bonecp.BoneCPDataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the tenant aware data source in a {@link ReplicaRoutingDataSource} if replicas are
+ * configured under {@code office.replica}. Replicas are expected to serve the same databases as
+ * the primary, so the tenant's database name is carried over unchanged.
+ */
+public class ReplicaDataSourcePostProcessor implements BeanPostProcessor, Ordered, EnvironmentAware, DisposableBean {
+
+  private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+  private final Logger logger;
+  private Environment environment;
+  private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+  public ReplicaDataSourcePostProcessor() {
+    super();
+    this.logger = LoggerFactory.getLogger(ServiceConstants.SERVICE_LOGGER_NAME);
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.LOWEST_PRECEDENCE - 1;
+  }
+
+  @Override
+  public void setEnvironment(final Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    if (!DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource)
+        || !this.environment.getProperty("office.replica.enabled", Boolean.class, Boolean.FALSE)) {
+      return bean;
+    }
+
+    final List<String> hosts = Arrays.stream(this.environment.getProperty("office.replica.hosts", "").split(","))
+        .map(String::trim)
+        .filter(host -> !host.isEmpty())
+        .collect(Collectors.toList());
+    if (hosts.isEmpty()) {
+      this.logger.warn("Replicas enabled, but no replica hosts configured.");
+      return bean;
+    }
+
+    final long maximumLag = this.environment.getProperty("office.replica.maximumLag", Long.class, 5000L);
+    final long lagCheckInterval = this.environment.getProperty("office.replica.lagCheckInterval", Long.class, 1000L);
+    final List<ReplicaRoutingDataSource.Replica> replicas = hosts.stream()
+        .map(host -> new ReplicaRoutingDataSource.Replica(this.logger, host,
+            databaseName -> this.createPool(host, databaseName), maximumLag, lagCheckInterval))
+        .collect(Collectors.toList());
+
+    this.logger.info("Routing read-only transactions to replicas {}.", hosts);
+    this.replicaRoutingDataSource = new ReplicaRoutingDataSource((DataSource) bean, replicas);
+    return this.replicaRoutingDataSource;
+  }
+
+  @Override
+  public void destroy() {
+    if (this.replicaRoutingDataSource != null) {
+      this.replicaRoutingDataSource.close();
+    }
+  }
+
+  private BoneCPDataSource createPool(final String host, final String databaseName) {
+    final BoneCPDataSource boneCPDataSource = new BoneCPDataSource();
+    boneCPDataSource.setDriverClass(this.environment.getProperty("postgresql.driverClass", "org.postgresql.Driver"));
+    boneCPDataSource.setJdbcUrl("jdbc:postgresql://" + host + ":"
+        + this.environment.getProperty("office.replica.port", this.environment.getProperty("postgresql.port", "5432"))
+        + "/" + databaseName);
+    boneCPDataSource.setUsername(
+        this.environment.getProperty("office.replica.user", this.environment.getProperty("postgresql.user")));
+    boneCPDataSource.setPassword(
+        this.environment.getProperty("office.replica.password", this.environment.getProperty("postgresql.password")));
+    boneCPDataSource.setIdleMaxAgeInMinutes(this.environment.getProperty("bonecp.idleMaxAgeInMinutes", Long.class, 240L));
+    boneCPDataSource.setIdleConnectionTestPeriodInMinutes(
+        this.environment.getProperty("bonecp.idleConnectionTestPeriodInMinutes", Long.class, 60L));
+    boneCPDataSource.setMaxConnectionsPerPartition(this.environment.getProperty("bonecp.maxConnectionsPerPartition", Integer.class, 10));
+    boneCPDataSource.setMinConnectionsPerPartition(this.environment.getProperty("bonecp.minConnectionsPerPartition", Integer.class, 1));
+    boneCPDataSource.setPartitionCount(this.environment.getProperty("bonecp.partitionCount", Integer.class, 2));
+    boneCPDataSource.setAcquireIncrement(this.environment.getProperty("bonecp.acquireIncrement", Integer.class, 5));
+    boneCPDataSource.setStatementsCacheSize(this.environment.getProperty("bonecp.statementsCacheSize", Integer.class, 100));
+    return boneCPDataSource;
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.config;
+
+import com.jolbox.bonecp.BoneCPDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.slf4j.Logger;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested by read-only transactions to a replica and everything else to the
+ * primary. Connections are fetched lazily, when the first statement runs, so the read-only flag of
+ * the surrounding transaction is known by then. A replica that cannot be reached or lags further
+ * behind than allowed is skipped until its next check, and reads fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+  private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+  // A replica that has replayed all the WAL it received is current, however long ago the last
+  // transaction was, e.g. while the primary is idle. Otherwise it is behind by the time since then.
+  private static final String REPLICATION_LAG =
+      "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+          "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+          "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final AtomicInteger nextReplica;
+  private final Map<String, String> databaseNames;
+  private final AtomicLong replicaConnections;
+  private final AtomicLong primaryFallbacks;
+
+  ReplicaRoutingDataSource(final DataSource primary, final List<Replica> replicas) {
+    super();
+    this.primary = primary;
+    this.replicas = replicas;
+    this.nextReplica = new AtomicInteger();
+    this.databaseNames = new ConcurrentHashMap<>();
+    this.replicaConnections = new AtomicLong();
+    this.primaryFallbacks = new AtomicLong();
+
+    this.setTargetDataSource(new Router());
+    this.setDefaultAutoCommit(true);
+    this.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    this.afterPropertiesSet();
+  }
+
+  /**
+   * Runs the given supplier with all connections it opens taken from the primary, e.g. to read
+   * back state a command has just written.
+   */
+  public static <T> T onPrimary(final Supplier<T> supplier) {
+    final Boolean previous = PRIMARY_ONLY.get();
+    PRIMARY_ONLY.set(Boolean.TRUE);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        PRIMARY_ONLY.remove();
+      } else {
+        PRIMARY_ONLY.set(previous);
+      }
+    }
+  }
+
+  public long getReplicaConnections() {
+    return this.replicaConnections.get();
+  }
+
+  public long getPrimaryFallbacks() {
+    return this.primaryFallbacks.get();
+  }
+
+  public void close() {
+    this.replicas.forEach(Replica::close);
+  }
+
+  private String databaseName() throws SQLException {
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    final String databaseName = this.databaseNames.get(tenant);
+    if (databaseName != null) {
+      return databaseName;
+    }
+
+    try (final Connection connection = this.primary.getConnection()) {
+      this.databaseNames.put(tenant, connection.getCatalog());
+      return connection.getCatalog();
+    }
+  }
+
+  private final class Router extends AbstractDataSource {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      if (PRIMARY_ONLY.get() != null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+        return primary.getConnection();
+      }
+
+      final String databaseName = databaseName();
+      for (int i = 0; i < replicas.size(); i++) {
+        final Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+        final Connection connection = replica.connect(databaseName);
+        if (connection != null) {
+          replicaConnections.incrementAndGet();
+          return connection;
+        }
+      }
+
+      primaryFallbacks.incrementAndGet();
+      return primary.getConnection();
+    }
+
+    // replicas are set up with their own credentials, so explicit ones are meant for the primary
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+      return primary.getConnection(username, password);
+    }
+  }
+
+  static final class Replica {
+
+    private final Logger logger;
+    private final String host;
+    private final Function<String, BoneCPDataSource> poolFactory;
+    private final long maximumLag;
+    private final long lagCheckInterval;
+    private final Map<String, BoneCPDataSource> pools;
+    private volatile boolean available;
+    private volatile long checkedOn;
+
+    Replica(final Logger logger, final String host, final Function<String, BoneCPDataSource> poolFactory,
+            final long maximumLag, final long lagCheckInterval) {
+      super();
+      this.logger = logger;
+      this.host = host;
+      this.poolFactory = poolFactory;
+      this.maximumLag = maximumLag;
+      this.lagCheckInterval = lagCheckInterval;
+      this.pools = new ConcurrentHashMap<>();
+      this.available = true;
+    }
+
+    Connection connect(final String databaseName) {
+      final long now = System.currentTimeMillis();
+      final boolean checkDue = now - this.checkedOn >= this.lagCheckInterval;
+      if (!this.available && !checkDue) {
+        return null;
+      }
+
+      Connection connection = null;
+      try {
+        connection = this.pools.computeIfAbsent(databaseName, this.poolFactory).getConnection();
+        if (checkDue) {
+          this.checkedOn = now;
+          final long lag = this.lag(connection);
+          if (lag > this.maximumLag) {
+            if (this.available) {
+              this.logger.warn("Replica {} is {} ms behind, reading from primary.", this.host, lag);
+            }
+            this.available = false;
+            connection.close();
+            return null;
+          }
+          this.available = true;
+        }
+        return connection;
+      } catch (final SQLException ex) {
+        this.checkedOn = now;
+        if (this.available) {
+          this.logger.warn("Replica {} is not available, reading from primary.", this.host, ex);
+        }
+        this.available = false;
+        if (connection != null) {
+          try {
+            connection.close();
+          } catch (final SQLException closeEx) {
+            this.logger.debug("Could not close connection to replica {}.", this.host, closeEx);
+          }
+        }
+        return null;
+      }
+    }
+
+    void close() {
+      this.pools.values().forEach(BoneCPDataSource::close);
+      this.pools.clear();
+    }
+
+    private long lag(final Connection connection) throws SQLException {
+      try (final Statement statement = connection.createStatement();
+           final ResultSet resultSet = statement.executeQuery(REPLICATION_LAG)) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      }
+    }
+  }
+}
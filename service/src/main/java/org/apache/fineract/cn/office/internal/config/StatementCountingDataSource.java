@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Reports every statement executed through its connections to {@link StatementStatistics}. A batch
+ * counts as one statement.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+  public StatementCountingDataSource(final DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return countingConnection(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password) throws SQLException {
+    return countingConnection(super.getConnection(username, password));
+  }
+
+  private static Connection countingConnection(final Connection connection) {
+    return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+        new Class<?>[]{Connection.class},
+        (proxy, method, arguments) -> {
+          final Object result = invoke(connection, method, arguments);
+          if (result instanceof Statement && method.getName().startsWith("prepare")) {
+            return countingStatement((Statement) result, method.getReturnType(), (String) arguments[0]);
+          } else if (result instanceof Statement) {
+            return countingStatement((Statement) result, method.getReturnType(), null);
+          }
+          return result;
+        });
+  }
+
+  private static Statement countingStatement(final Statement statement, final Class<?> type, final String preparedSql) {
+    final Class<?> statementType = CallableStatement.class.isAssignableFrom(type) ? CallableStatement.class
+        : PreparedStatement.class.isAssignableFrom(type) ? PreparedStatement.class
+        : Statement.class;
+    final InvocationHandler invocationHandler = (proxy, method, arguments) -> {
+      if (!method.getName().startsWith("execute")) {
+        return invoke(statement, method, arguments);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        return invoke(statement, method, arguments);
+      } finally {
+        final String sql = preparedSql != null ? preparedSql
+            : arguments != null && arguments.length > 0 && arguments[0] instanceof String ? (String) arguments[0]
+            : null;
+        StatementStatistics.record(sql, System.nanoTime() - start);
+      }
+    };
+    return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+        new Class<?>[]{statementType}, invocationHandler);
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] arguments) throws Throwable {
+    try {
+      return method.invoke(target, arguments);
+    } catch (final InvocationTargetException ex) {
+      throw ex.getTargetException();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the JDBC statements executed on the current thread, and the time spent in them, between
+ * {@link #begin()} and {@link #end()}.
+ */
+public final class StatementStatistics {
+
+  private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+  private final Map<String, Integer> executions;
+  private int count;
+  private long duration;
+
+  private StatementStatistics() {
+    super();
+    this.executions = new HashMap<>();
+  }
+
+  public static StatementStatistics begin() {
+    final StatementStatistics statementStatistics = new StatementStatistics();
+    CURRENT.set(statementStatistics);
+    return statementStatistics;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  static void record(final String sql, final long duration) {
+    final StatementStatistics statementStatistics = CURRENT.get();
+    if (statementStatistics != null) {
+      statementStatistics.count++;
+      statementStatistics.duration += duration;
+      if (sql != null) {
+        statementStatistics.executions.merge(sql, 1, Integer::sum);
+      }
+    }
+  }
+
+  public int getCount() {
+    return this.count;
+  }
+
+  public double getDurationInMillis() {
+    return this.duration / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+  }
+
+  /**
+   * Returns the statements executed at least the given number of times, typically one query per
+   * row of a result read before.
+   */
+  public Map<String, Integer> getRepeatedStatements(final int threshold) {
+    return this.executions.entrySet()
+        .stream()
+        .filter(execution -> execution.getValue() >= threshold)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+}
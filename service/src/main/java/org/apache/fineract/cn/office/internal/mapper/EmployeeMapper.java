@@ -20,6 +20,7 @@ package org.apache.fineract.cn.office.internal.mapper;
 
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
 import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
+import org.apache.fineract.cn.office.internal.repository.FieldSelection;
 
 public class EmployeeMapper {
 
@@ -46,4 +47,23 @@ public class EmployeeMapper {
       employee.setAssignedOffice(employeeEntity.getAssignedOffice().getIdentifier());
     return employee;
   }
+
+  public static Employee select(final Employee employee, final FieldSelection fieldSelection) {
+    if (!fieldSelection.includes("givenName")) {
+      employee.setGivenName(null);
+    }
+    if (!fieldSelection.includes("middleName")) {
+      employee.setMiddleName(null);
+    }
+    if (!fieldSelection.includes("surname")) {
+      employee.setSurname(null);
+    }
+    if (!fieldSelection.includes("assignedOffice")) {
+      employee.setAssignedOffice(null);
+    }
+    if (!fieldSelection.expands("contactDetails")) {
+      employee.setContactDetails(null);
+    }
+    return employee;
+  }
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.cn.office.internal.mapper;
 
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.internal.repository.FieldSelection;
 import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
 
 public final class OfficeMapper {
@@ -42,4 +43,23 @@ public final class OfficeMapper {
     office.setDescription(officeEntity.getDescription());
     return office;
   }
+
+  public static Office select(final Office office, final FieldSelection fieldSelection) {
+    if (!fieldSelection.includes("parentIdentifier")) {
+      office.setParentIdentifier(null);
+    }
+    if (!fieldSelection.includes("name")) {
+      office.setName(null);
+    }
+    if (!fieldSelection.includes("description")) {
+      office.setDescription(null);
+    }
+    if (!fieldSelection.expands("address")) {
+      office.setAddress(null);
+    }
+    if (!fieldSelection.expands("externalReferences")) {
+      office.setExternalReferences(null);
+    }
+    return office;
+  }
 }
@@ -19,12 +19,19 @@
 package org.apache.fineract.cn.office.internal.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AddressRepository extends JpaRepository<AddressEntity, Long> {
 
   Optional<AddressEntity> findByOffice(final OfficeEntity officeEntity);
+
+  @Query("SELECT a FROM AddressEntity a JOIN FETCH a.office o WHERE o.id IN :officeIds")
+  List<AddressEntity> findByOfficeIds(@Param("officeIds") final Collection<Long> officeIds);
 }
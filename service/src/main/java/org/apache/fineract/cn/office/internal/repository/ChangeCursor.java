@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.fineract.cn.lang.ServiceException;
+
+public final class ChangeCursor {
+
+  private static final Gson GSON = new Gson();
+
+  private Long txId;
+  private Long id;
+
+  private ChangeCursor() {
+    super();
+  }
+
+  public static ChangeCursor first() {
+    final ChangeCursor changeCursor = new ChangeCursor();
+    changeCursor.txId = 0L;
+    changeCursor.id = 0L;
+    return changeCursor;
+  }
+
+  public static ChangeCursor decode(final String cursor) {
+    try {
+      final ChangeCursor changeCursor = GSON.fromJson(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), ChangeCursor.class);
+      if (changeCursor == null || changeCursor.txId == null || changeCursor.id == null) {
+        throw ServiceException.badRequest("Cursor {0} is not valid.", cursor);
+      }
+      return changeCursor;
+    } catch (final IllegalArgumentException | JsonParseException ex) {
+      throw ServiceException.badRequest("Cursor {0} is not valid.", cursor);
+    }
+  }
+
+  public ChangeCursor next(final ChangeLogEntry changeLogEntry) {
+    final ChangeCursor changeCursor = new ChangeCursor();
+    changeCursor.txId = changeLogEntry.getTxId();
+    changeCursor.id = changeLogEntry.getId();
+    return changeCursor;
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(GSON.toJson(this).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Long getTxId() {
+    return this.txId;
+  }
+
+  public Long getId() {
+    return this.id;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.Date;
+
+@SuppressWarnings("unused")
+public class ChangeLogEntry {
+
+  private Long id;
+  private Long txId;
+  private String entityType;
+  private String entityIdentifier;
+  private String action;
+  private String state;
+  private String changedBy;
+  private Date changedOn;
+
+  public ChangeLogEntry() {
+    super();
+  }
+
+  public Long getId() {
+    return this.id;
+  }
+
+  public void setId(final Long id) {
+    this.id = id;
+  }
+
+  public Long getTxId() {
+    return this.txId;
+  }
+
+  public void setTxId(final Long txId) {
+    this.txId = txId;
+  }
+
+  public String getEntityType() {
+    return this.entityType;
+  }
+
+  public void setEntityType(final String entityType) {
+    this.entityType = entityType;
+  }
+
+  public String getEntityIdentifier() {
+    return this.entityIdentifier;
+  }
+
+  public void setEntityIdentifier(final String entityIdentifier) {
+    this.entityIdentifier = entityIdentifier;
+  }
+
+  public String getAction() {
+    return this.action;
+  }
+
+  public void setAction(final String action) {
+    this.action = action;
+  }
+
+  public String getState() {
+    return this.state;
+  }
+
+  public void setState(final String state) {
+    this.state = state;
+  }
+
+  public String getChangedBy() {
+    return this.changedBy;
+  }
+
+  public void setChangedBy(final String changedBy) {
+    this.changedBy = changedBy;
+  }
+
+  public Date getChangedOn() {
+    return this.changedOn;
+  }
+
+  public void setChangedOn(final Date changedOn) {
+    this.changedOn = changedOn;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Append-only log of changes. Entries are read in (tx_id, id) order and only for transactions older
+ * than the oldest one still running, so a reader never skips entries of a transaction that commits
+ * after it has moved its cursor past them.
+ */
+@Repository
+public class ChangeLogRepository {
+
+  private static final String INSERT_ENTRY =
+      "INSERT INTO horus_change_log (entity_type, entity_identifier, a_action, a_state, changed_by, changed_on) " +
+          "VALUES (?, ?, ?, ?, ?, ?)";
+
+  private static final String FIND_ENTRIES =
+      "SELECT id, tx_id, entity_type, entity_identifier, a_action, a_state, changed_by, changed_on " +
+          "FROM horus_change_log " +
+          "WHERE (tx_id, id) > (?, ?) AND tx_id < txid_snapshot_xmin(txid_current_snapshot()) " +
+          "ORDER BY tx_id, id LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public ChangeLogRepository(final DataSource dataSource) {
+    super();
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void append(final List<ChangeLogEntry> changeLogEntries) {
+    if (changeLogEntries.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_ENTRY, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final ChangeLogEntry changeLogEntry = changeLogEntries.get(i);
+        preparedStatement.setString(1, changeLogEntry.getEntityType());
+        preparedStatement.setString(2, changeLogEntry.getEntityIdentifier());
+        preparedStatement.setString(3, changeLogEntry.getAction());
+        preparedStatement.setString(4, changeLogEntry.getState());
+        preparedStatement.setString(5, changeLogEntry.getChangedBy());
+        preparedStatement.setTimestamp(6, new Timestamp(changeLogEntry.getChangedOn().getTime()));
+      }
+
+      @Override
+      public int getBatchSize() {
+        return changeLogEntries.size();
+      }
+    });
+  }
+
+  public List<ChangeLogEntry> findAfter(final long txId, final long id, final int limit) {
+    return this.jdbcTemplate.query(FIND_ENTRIES, (resultSet, rowNum) -> {
+      final ChangeLogEntry changeLogEntry = new ChangeLogEntry();
+      changeLogEntry.setId(resultSet.getLong("id"));
+      changeLogEntry.setTxId(resultSet.getLong("tx_id"));
+      changeLogEntry.setEntityType(resultSet.getString("entity_type"));
+      changeLogEntry.setEntityIdentifier(resultSet.getString("entity_identifier"));
+      changeLogEntry.setAction(resultSet.getString("a_action"));
+      changeLogEntry.setState(resultSet.getString("a_state"));
+      changeLogEntry.setChangedBy(resultSet.getString("changed_by"));
+      changeLogEntry.setChangedOn(resultSet.getTimestamp("changed_on"));
+      return changeLogEntry;
+    }, txId, id, limit);
+  }
+}
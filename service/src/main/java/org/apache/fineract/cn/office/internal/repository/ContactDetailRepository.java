@@ -19,12 +19,23 @@
 package org.apache.fineract.cn.office.internal.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ContactDetailRepository extends JpaRepository<ContactDetailEntity, Long> {
 
   List<ContactDetailEntity> findByEmployeeOrderByPreferenceLevelAsc(final EmployeeEntity employeeEntity);
+
+  @Query("SELECT c FROM ContactDetailEntity c JOIN FETCH c.employee e WHERE e.id IN :employeeIds ORDER BY c.preferenceLevel ASC")
+  List<ContactDetailEntity> findByEmployeeIds(@Param("employeeIds") final Collection<Long> employeeIds);
+
+  @Modifying
+  @Query("DELETE FROM ContactDetailEntity c WHERE c.employee = :employee")
+  int deleteByEmployee(@Param("employee") final EmployeeEntity employeeEntity);
 }
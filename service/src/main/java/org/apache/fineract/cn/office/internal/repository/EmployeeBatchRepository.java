@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class EmployeeBatchRepository {
+
+  private static final String NEXT_EMPLOYEE_IDS =
+      "SELECT nextval('horus_employees_id_seq') FROM generate_series(1, ?)";
+
+  private static final String INSERT_EMPLOYEE =
+      "INSERT INTO horus_employees (id, identifier, given_name, middle_name, surname, assigned_office_id, created_by, created_on) " +
+          "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_CONTACT_DETAIL =
+      "INSERT INTO horus_contact_details (employee_id, a_type, a_group, a_value, preference_level) " +
+          "VALUES (?, ?, ?, ?, ?)";
+
+  private static final String UPDATE_CONTACT_DETAIL =
+      "UPDATE horus_contact_details SET a_type = ?, a_group = ?, a_value = ?, preference_level = ? WHERE id = ?";
+
+  private static final String DELETE_CONTACT_DETAIL =
+      "DELETE FROM horus_contact_details WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public EmployeeBatchRepository(final DataSource dataSource) {
+    super();
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void insertEmployees(final List<EmployeeEntity> employeeEntities) {
+    if (employeeEntities.isEmpty()) {
+      return;
+    }
+
+    // ids are taken from the sequence up front so contact details can reference them without reading back keys
+    final List<Long> ids = this.jdbcTemplate.queryForList(NEXT_EMPLOYEE_IDS, Long.class, employeeEntities.size());
+    for (int i = 0; i < employeeEntities.size(); i++) {
+      employeeEntities.get(i).setId(ids.get(i));
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final EmployeeEntity employeeEntity = employeeEntities.get(i);
+        preparedStatement.setLong(1, employeeEntity.getId());
+        preparedStatement.setString(2, employeeEntity.getIdentifier());
+        preparedStatement.setString(3, employeeEntity.getGivenName());
+        preparedStatement.setString(4, employeeEntity.getMiddleName());
+        preparedStatement.setString(5, employeeEntity.getSurname());
+        if (employeeEntity.getAssignedOffice() != null) {
+          preparedStatement.setLong(6, employeeEntity.getAssignedOffice().getId());
+        } else {
+          preparedStatement.setNull(6, Types.BIGINT);
+        }
+        preparedStatement.setString(7, employeeEntity.getCreatedBy());
+        preparedStatement.setTimestamp(8, new Timestamp(employeeEntity.getCreatedOn().getTime()));
+      }
+
+      @Override
+      public int getBatchSize() {
+        return employeeEntities.size();
+      }
+    });
+  }
+
+  public void insertContactDetails(final List<ContactDetailEntity> contactDetailEntities) {
+    if (contactDetailEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_CONTACT_DETAIL, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final ContactDetailEntity contactDetailEntity = contactDetailEntities.get(i);
+        preparedStatement.setLong(1, contactDetailEntity.getEmployee().getId());
+        preparedStatement.setString(2, contactDetailEntity.getType());
+        preparedStatement.setString(3, contactDetailEntity.getGroup());
+        preparedStatement.setString(4, contactDetailEntity.getValue());
+        if (contactDetailEntity.getPreferenceLevel() != null) {
+          preparedStatement.setInt(5, contactDetailEntity.getPreferenceLevel());
+        } else {
+          preparedStatement.setNull(5, Types.INTEGER);
+        }
+      }
+
+      @Override
+      public int getBatchSize() {
+        return contactDetailEntities.size();
+      }
+    });
+  }
+
+  public void updateContactDetails(final List<ContactDetailEntity> contactDetailEntities) {
+    if (contactDetailEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(UPDATE_CONTACT_DETAIL, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final ContactDetailEntity contactDetailEntity = contactDetailEntities.get(i);
+        preparedStatement.setString(1, contactDetailEntity.getType());
+        preparedStatement.setString(2, contactDetailEntity.getGroup());
+        preparedStatement.setString(3, contactDetailEntity.getValue());
+        if (contactDetailEntity.getPreferenceLevel() != null) {
+          preparedStatement.setInt(4, contactDetailEntity.getPreferenceLevel());
+        } else {
+          preparedStatement.setNull(4, Types.INTEGER);
+        }
+        preparedStatement.setLong(5, contactDetailEntity.getId());
+      }
+
+      @Override
+      public int getBatchSize() {
+        return contactDetailEntities.size();
+      }
+    });
+  }
+
+  public void deleteContactDetails(final List<ContactDetailEntity> contactDetailEntities) {
+    if (contactDetailEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(DELETE_CONTACT_DETAIL, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        preparedStatement.setLong(1, contactDetailEntities.get(i).getId());
+      }
+
+      @Override
+      public int getBatchSize() {
+        return contactDetailEntities.size();
+      }
+    });
+  }
+}
@@ -60,6 +60,9 @@ public class EmployeeEntity {
   @Column(name = "last_modified_on")
   @Temporal(TemporalType.TIMESTAMP)
   private Date lastModifiedOn;
+  // bumped by the horus_employees update trigger
+  @Column(name = "a_version", insertable = false, updatable = false)
+  private Long version;
 
   public EmployeeEntity() {
     super();
@@ -145,6 +148,14 @@ public class EmployeeEntity {
     this.lastModifiedOn = lastModifiedOn;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
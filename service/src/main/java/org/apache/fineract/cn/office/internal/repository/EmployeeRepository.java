@@ -25,18 +25,32 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long>, EmployeeRepositoryCustom {
 
   EmployeeEntity findByIdentifier(final String identifier);
 
   @Query("SELECT CASE WHEN COUNT(e) > 0 THEN 'true' ELSE 'false' END FROM EmployeeEntity e WHERE e.identifier = :identifier")
   Boolean existsByIdentifier(@Param("identifier") final String identifier);
 
+  @Query("SELECT e.identifier FROM EmployeeEntity e WHERE e.identifier IN :identifiers")
+  List<String> findIdentifiers(@Param("identifiers") final Collection<String> identifiers);
+
+  @Query("SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.assignedOffice WHERE e.identifier IN :identifiers")
+  List<EmployeeEntity> findByIdentifierIn(@Param("identifiers") final Collection<String> identifiers);
+
   Page<EmployeeEntity> findByAssignedOffice(final OfficeEntity assignedOffice, final Pageable pageable);
 
-  Page<EmployeeEntity> findByIdentifierContaining(String term, Pageable pageRequest);
+  @Query(value = "SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.assignedOffice",
+      countQuery = "SELECT COUNT(e) FROM EmployeeEntity e")
+  Page<EmployeeEntity> findAllWithAssignedOffice(final Pageable pageable);
 
   @Query("SELECT CASE WHEN COUNT(e) > 0 THEN 'true' ELSE 'false' END FROM EmployeeEntity e WHERE e.assignedOffice = :office")
   Boolean existsByAssignedOffice(@Param("office") final OfficeEntity assignedOffice);
+
+  @Query("SELECT DISTINCT e.assignedOffice.id FROM EmployeeEntity e WHERE e.assignedOffice.id IN :officeIds")
+  List<Long> findAssignedOfficeIds(@Param("officeIds") final Collection<Long> officeIds);
 }
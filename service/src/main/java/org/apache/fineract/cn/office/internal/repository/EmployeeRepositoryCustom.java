@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface EmployeeRepositoryCustom {
+
+  Page<EmployeeEntity> search(final String term, final Pageable pageable);
+
+  List<EmployeeEntity> findByKeyset(final String term, final OfficeEntity assignedOffice, final Keyset keyset, final int limit);
+
+  /**
+   * Reads only the columns the field selection needs, matching the term if given, otherwise the employees
+   * assigned to the office or all employees. The returned entities are detached and partially filled.
+   */
+  Page<EmployeeEntity> findProjected(final String term, final Long assignedOfficeId, final Pageable pageable,
+                                     final FieldSelection fieldSelection);
+}
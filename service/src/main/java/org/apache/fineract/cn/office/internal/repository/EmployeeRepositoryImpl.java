@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+@SuppressWarnings("unused")
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+  private static final Map<String, String> SORT_EXPRESSIONS;
+  private static final Map<String, String> SORT_COLUMNS;
+  private static final String SEARCH_PREDICATE =
+      "lower(e.identifier) LIKE :pattern OR lower(e.given_name) LIKE :pattern OR lower(e.surname) LIKE :pattern";
+  private static final String SEARCH_ORDER =
+      "GREATEST(similarity(lower(e.identifier), :term), similarity(lower(e.given_name), :term), similarity(lower(e.surname), :term)) DESC, ";
+
+  static {
+    SORT_EXPRESSIONS = new HashMap<>();
+    SORT_EXPRESSIONS.put("identifier", "e.identifier");
+    SORT_EXPRESSIONS.put("givenName", "COALESCE(e.givenName, '')");
+    SORT_EXPRESSIONS.put("surname", "COALESCE(e.surname, '')");
+
+    SORT_COLUMNS = new HashMap<>();
+    SORT_COLUMNS.put("identifier", "e.identifier");
+    SORT_COLUMNS.put("givenName", "e.given_name");
+    SORT_COLUMNS.put("middleName", "e.middle_name");
+    SORT_COLUMNS.put("surname", "e.surname");
+    SORT_COLUMNS.put("createdBy", "e.created_by");
+    SORT_COLUMNS.put("createdOn", "e.created_on");
+    SORT_COLUMNS.put("lastModifiedBy", "e.last_modified_by");
+    SORT_COLUMNS.put("lastModifiedOn", "e.last_modified_on");
+  }
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public EmployeeRepositoryImpl() {
+    super();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Page<EmployeeEntity> search(final String term, final Pageable pageable) {
+    final String pattern = SearchTerm.containsPattern(term);
+
+    final Query idQuery = this.entityManager.createNativeQuery(
+        "SELECT e.id FROM horus_employees e WHERE " + SEARCH_PREDICATE +
+            " ORDER BY " + SEARCH_ORDER +
+            SearchTerm.orderBy(pageable.getSort(), SORT_COLUMNS) + "e.id" +
+            " LIMIT :limit OFFSET :offset");
+    idQuery.setParameter("pattern", pattern);
+    idQuery.setParameter("term", SearchTerm.normalize(term));
+    idQuery.setParameter("limit", pageable.getPageSize());
+    idQuery.setParameter("offset", pageable.getOffset());
+    final List<Long> ids = ((List<Number>) idQuery.getResultList())
+        .stream()
+        .map(Number::longValue)
+        .collect(Collectors.toList());
+
+    final Query countQuery = this.entityManager.createNativeQuery(
+        "SELECT COUNT(*) FROM horus_employees e WHERE " + SEARCH_PREDICATE);
+    countQuery.setParameter("pattern", pattern);
+    final long total = ((Number) countQuery.getSingleResult()).longValue();
+
+    if (ids.isEmpty()) {
+      return new PageImpl<>(Collections.emptyList(), pageable, total);
+    }
+
+    final List<EmployeeEntity> employeeEntities = this.entityManager
+        .createQuery("SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.assignedOffice WHERE e.id IN :ids", EmployeeEntity.class)
+        .setParameter("ids", ids)
+        .getResultList();
+    employeeEntities.sort(Comparator.comparingInt(employeeEntity -> ids.indexOf(employeeEntity.getId())));
+
+    return new PageImpl<>(employeeEntities, pageable, total);
+  }
+
+  @Override
+  public List<EmployeeEntity> findByKeyset(final String term, final OfficeEntity assignedOffice, final Keyset keyset, final int limit) {
+    final String sortExpression = keyset.sortExpression(SORT_EXPRESSIONS);
+
+    final List<String> predicates = new ArrayList<>();
+    if (term != null) {
+      predicates.add("(LOWER(e.identifier) LIKE :term OR LOWER(e.givenName) LIKE :term OR LOWER(e.surname) LIKE :term)");
+    } else if (assignedOffice != null) {
+      predicates.add("e.assignedOffice = :assignedOffice");
+    }
+    final String keysetPredicate = keyset.toPredicate(sortExpression, "e.id");
+    if (keysetPredicate != null) {
+      predicates.add(keysetPredicate);
+    }
+
+    final StringBuilder jpql = new StringBuilder("SELECT e FROM EmployeeEntity e LEFT JOIN FETCH e.assignedOffice");
+    if (!predicates.isEmpty()) {
+      jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+    }
+    jpql.append(keyset.toOrderBy(sortExpression, "e.id"));
+
+    final TypedQuery<EmployeeEntity> query = this.entityManager.createQuery(jpql.toString(), EmployeeEntity.class);
+    if (term != null) {
+      query.setParameter("term", SearchTerm.containsPattern(term));
+    } else if (assignedOffice != null) {
+      query.setParameter("assignedOffice", assignedOffice);
+    }
+    keyset.bind(query);
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Page<EmployeeEntity> findProjected(final String term, final Long assignedOfficeId, final Pageable pageable,
+                                            final FieldSelection fieldSelection) {
+    final boolean givenName = fieldSelection.includes("givenName");
+    final boolean middleName = fieldSelection.includes("middleName");
+    final boolean surname = fieldSelection.includes("surname");
+    final boolean assignedOffice = fieldSelection.includes("assignedOffice");
+    final StringBuilder columns = new StringBuilder("e.id, e.identifier");
+    if (givenName) {
+      columns.append(", e.given_name");
+    }
+    if (middleName) {
+      columns.append(", e.middle_name");
+    }
+    if (surname) {
+      columns.append(", e.surname");
+    }
+    if (assignedOffice) {
+      columns.append(", o.identifier AS assigned_office");
+    }
+
+    final String predicate;
+    if (term != null) {
+      predicate = " WHERE " + SEARCH_PREDICATE;
+    } else if (assignedOfficeId != null) {
+      predicate = " WHERE e.assigned_office_id = :assignedOfficeId";
+    } else {
+      predicate = "";
+    }
+
+    final Query query = this.entityManager.createNativeQuery(
+        "SELECT " + columns + " FROM horus_employees e" +
+            (assignedOffice ? " LEFT JOIN horus_offices o ON o.id = e.assigned_office_id" : "") + predicate +
+            " ORDER BY " + (term != null ? SEARCH_ORDER : "") + SearchTerm.orderBy(pageable.getSort(), SORT_COLUMNS) + "e.id" +
+            " LIMIT :limit OFFSET :offset");
+    this.bindProjection(query, term, assignedOfficeId);
+    if (term != null) {
+      query.setParameter("term", SearchTerm.normalize(term));
+    }
+    query.setParameter("limit", pageable.getPageSize());
+    query.setParameter("offset", pageable.getOffset());
+
+    final List<EmployeeEntity> employeeEntities = new ArrayList<>();
+    ((List<Object[]>) query.getResultList()).forEach(row -> {
+      final EmployeeEntity employeeEntity = new EmployeeEntity();
+      employeeEntity.setId(((Number) row[0]).longValue());
+      employeeEntity.setIdentifier((String) row[1]);
+      int column = 2;
+      if (givenName) {
+        employeeEntity.setGivenName((String) row[column++]);
+      }
+      if (middleName) {
+        employeeEntity.setMiddleName((String) row[column++]);
+      }
+      if (surname) {
+        employeeEntity.setSurname((String) row[column++]);
+      }
+      if (assignedOffice && row[column] != null) {
+        final OfficeEntity officeEntity = new OfficeEntity();
+        officeEntity.setIdentifier((String) row[column]);
+        employeeEntity.setAssignedOffice(officeEntity);
+      }
+      employeeEntities.add(employeeEntity);
+    });
+
+    final Query countQuery = this.entityManager.createNativeQuery(
+        "SELECT COUNT(*) FROM horus_employees e" + predicate);
+    this.bindProjection(countQuery, term, assignedOfficeId);
+    final long total = ((Number) countQuery.getSingleResult()).longValue();
+
+    return new PageImpl<>(employeeEntities, pageable, total);
+  }
+
+  private void bindProjection(final Query query, final String term, final Long assignedOfficeId) {
+    if (term != null) {
+      query.setParameter("pattern", SearchTerm.containsPattern(term));
+    } else if (assignedOfficeId != null) {
+      query.setParameter("assignedOfficeId", assignedOfficeId);
+    }
+  }
+}
@@ -19,8 +19,11 @@
 package org.apache.fineract.cn.office.internal.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,5 +34,9 @@ public interface ExternalReferenceRepository extends JpaRepository<ExternalRefer
 
   List<ExternalReferenceEntity> findByOfficeIdentifier(final String officeIdentifier);
 
+  @Query("SELECT DISTINCT r.officeIdentifier FROM ExternalReferenceEntity r WHERE r.officeIdentifier IN :officeIdentifiers AND r.state = :state")
+  List<String> findOfficeIdentifiersByState(@Param("officeIdentifiers") final Collection<String> officeIdentifiers,
+                                            @Param("state") final String state);
+
   void deleteByOfficeIdentifier(final String officeIdentifier);
 }
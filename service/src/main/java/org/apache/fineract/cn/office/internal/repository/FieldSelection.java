@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.fineract.cn.lang.ServiceException;
+
+/**
+ * Fields and associations a list request asks for. Without {@code fields} every field is returned; without
+ * {@code expand} the associations named in {@code fields} are resolved. The identifier is always returned.
+ */
+public final class FieldSelection {
+
+  private static final Set<String> OFFICE_FIELDS = fieldSet(
+      "identifier", "parentIdentifier", "name", "description", "address", "externalReferences");
+  private static final Set<String> OFFICE_ASSOCIATIONS = fieldSet("address", "externalReferences");
+  private static final Set<String> EMPLOYEE_FIELDS = fieldSet(
+      "identifier", "givenName", "middleName", "surname", "assignedOffice", "contactDetails");
+  private static final Set<String> EMPLOYEE_ASSOCIATIONS = fieldSet("contactDetails");
+
+  private static final FieldSelection ALL = new FieldSelection(null, null);
+
+  private final Set<String> fields;
+  private final Set<String> expansions;
+
+  private FieldSelection(final Set<String> fields, final Set<String> expansions) {
+    super();
+    this.fields = fields;
+    this.expansions = expansions;
+  }
+
+  public static FieldSelection all() {
+    return ALL;
+  }
+
+  public static FieldSelection forOffices(final String fields, final String expand) {
+    return FieldSelection.of(fields, expand, OFFICE_FIELDS, OFFICE_ASSOCIATIONS);
+  }
+
+  public static FieldSelection forEmployees(final String fields, final String expand) {
+    return FieldSelection.of(fields, expand, EMPLOYEE_FIELDS, EMPLOYEE_ASSOCIATIONS);
+  }
+
+  private static FieldSelection of(final String fields, final String expand,
+                                   final Set<String> supportedFields, final Set<String> associations) {
+    if (fields == null && expand == null) {
+      return ALL;
+    }
+
+    final Set<String> expansions;
+    if (expand != null) {
+      expansions = parse(expand, associations, "Association");
+    } else {
+      expansions = null;
+    }
+
+    final Set<String> selectedFields;
+    if (fields != null) {
+      selectedFields = parse(fields, supportedFields, "Field");
+      selectedFields.add("identifier");
+      if (expansions != null) {
+        selectedFields.addAll(expansions);
+      }
+    } else {
+      selectedFields = null;
+    }
+
+    return new FieldSelection(selectedFields, expansions);
+  }
+
+  private static Set<String> parse(final String value, final Set<String> supported, final String kind) {
+    final Set<String> names = Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    names.forEach(name -> {
+      if (!supported.contains(name)) {
+        throw ServiceException.badRequest("{0} {1} is not supported.", kind, name);
+      }
+    });
+    return names;
+  }
+
+  private static Set<String> fieldSet(final String... names) {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names)));
+  }
+
+  public boolean isAll() {
+    return this.fields == null && this.expansions == null;
+  }
+
+  public boolean includes(final String field) {
+    return this.fields == null || this.fields.contains(field);
+  }
+
+  public boolean expands(final String association) {
+    return this.expansions != null ? this.expansions.contains(association) : this.includes(association);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import javax.persistence.TypedQuery;
+import org.apache.fineract.cn.lang.ServiceException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+public final class Keyset {
+
+  private static final Gson GSON = new Gson();
+
+  private String sortColumn;
+  private Sort.Direction sortDirection;
+  private String value;
+  private Long id;
+
+  private Keyset() {
+    super();
+  }
+
+  public static Keyset first(final String sortColumn, final Sort.Direction sortDirection) {
+    final Keyset keyset = new Keyset();
+    keyset.sortColumn = sortColumn;
+    keyset.sortDirection = sortDirection;
+    return keyset;
+  }
+
+  public static Keyset decode(final String cursor) {
+    try {
+      final Keyset keyset = GSON.fromJson(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), Keyset.class);
+      if (keyset == null || keyset.sortColumn == null || keyset.sortDirection == null || keyset.value == null || keyset.id == null) {
+        throw ServiceException.badRequest("Cursor {0} is not valid.", cursor);
+      }
+      return keyset;
+    } catch (final IllegalArgumentException | JsonParseException ex) {
+      throw ServiceException.badRequest("Cursor {0} is not valid.", cursor);
+    }
+  }
+
+  public Keyset next(final Object entity, final Long id) {
+    final Keyset keyset = Keyset.first(this.sortColumn, this.sortDirection);
+    keyset.value = Objects.toString(new BeanWrapperImpl(entity).getPropertyValue(this.sortColumn), "");
+    keyset.id = id;
+    return keyset;
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(GSON.toJson(this).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public String getSortColumn() {
+    return this.sortColumn;
+  }
+
+  public Sort.Direction getSortDirection() {
+    return this.sortDirection;
+  }
+
+  public String getValue() {
+    return this.value;
+  }
+
+  public Long getId() {
+    return this.id;
+  }
+
+  public boolean isFirst() {
+    return this.value == null;
+  }
+
+  String sortExpression(final Map<String, String> sortExpressions) {
+    final String sortExpression = sortExpressions.get(this.sortColumn);
+    if (sortExpression == null) {
+      throw ServiceException.badRequest("Sort column {0} is not supported for cursor based paging.", this.sortColumn);
+    }
+    return sortExpression;
+  }
+
+  void bind(final TypedQuery<?> query) {
+    if (!this.isFirst()) {
+      query.setParameter("keysetValue", this.value);
+      query.setParameter("keysetId", this.id);
+    }
+  }
+
+  String toPredicate(final String sortExpression, final String idExpression) {
+    if (this.isFirst()) {
+      return null;
+    }
+    final String bound = this.sortDirection == Sort.Direction.ASC ? ">" : "<";
+    return sortExpression + " " + bound + "= :keysetValue AND (" + sortExpression + " " + bound + " :keysetValue OR "
+        + idExpression + " " + bound + " :keysetId)";
+  }
+
+  String toOrderBy(final String sortExpression, final String idExpression) {
+    return " ORDER BY " + sortExpression + " " + this.sortDirection.name() + ", " + idExpression + " " + this.sortDirection.name();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class OfficeBatchRepository {
+
+  private static final String NEXT_OFFICE_IDS =
+      "SELECT nextval('horus_offices_id_seq') FROM generate_series(1, ?)";
+
+  private static final String INSERT_OFFICE =
+      "INSERT INTO horus_offices (id, parent_office_id, identifier, a_name, description, created_by, created_on) " +
+          "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_ADDRESS =
+      "INSERT INTO horus_addresses (office_id, street, city, region, postal_code, country_code, country) " +
+          "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_HIERARCHY =
+      "INSERT INTO horus_office_hierarchy (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)";
+
+  private static final String INSERT_INHERITED_ANCESTORS =
+      "INSERT INTO horus_office_hierarchy (ancestor_id, descendant_id, depth) " +
+          "SELECT h.ancestor_id, ?, h.depth + ? FROM horus_office_hierarchy h WHERE h.descendant_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public OfficeBatchRepository(final DataSource dataSource) {
+    super();
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void insertOffices(final List<OfficeEntity> officeEntities) {
+    if (officeEntities.isEmpty()) {
+      return;
+    }
+
+    final List<Long> ids = this.jdbcTemplate.queryForList(NEXT_OFFICE_IDS, Long.class, officeEntities.size());
+    for (int i = 0; i < officeEntities.size(); i++) {
+      officeEntities.get(i).setId(ids.get(i));
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_OFFICE, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final OfficeEntity officeEntity = officeEntities.get(i);
+        preparedStatement.setLong(1, officeEntity.getId());
+        if (officeEntity.getParentOfficeId() != null) {
+          preparedStatement.setLong(2, officeEntity.getParentOfficeId());
+        } else {
+          preparedStatement.setNull(2, Types.BIGINT);
+        }
+        preparedStatement.setString(3, officeEntity.getIdentifier());
+        preparedStatement.setString(4, officeEntity.getName());
+        preparedStatement.setString(5, officeEntity.getDescription());
+        preparedStatement.setString(6, officeEntity.getCreatedBy());
+        preparedStatement.setTimestamp(7, new Timestamp(officeEntity.getCreatedOn().getTime()));
+      }
+
+      @Override
+      public int getBatchSize() {
+        return officeEntities.size();
+      }
+    });
+  }
+
+  public void insertAddresses(final List<AddressEntity> addressEntities) {
+    if (addressEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_ADDRESS, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final AddressEntity addressEntity = addressEntities.get(i);
+        preparedStatement.setLong(1, addressEntity.getOffice().getId());
+        preparedStatement.setString(2, addressEntity.getStreet());
+        preparedStatement.setString(3, addressEntity.getCity());
+        preparedStatement.setString(4, addressEntity.getRegion());
+        preparedStatement.setString(5, addressEntity.getPostalCode());
+        preparedStatement.setString(6, addressEntity.getCountryCode());
+        preparedStatement.setString(7, addressEntity.getCountry());
+      }
+
+      @Override
+      public int getBatchSize() {
+        return addressEntities.size();
+      }
+    });
+  }
+
+  public void insertHierarchy(final List<OfficeHierarchyEntity> officeHierarchyEntities) {
+    if (officeHierarchyEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_HIERARCHY, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final OfficeHierarchyEntity officeHierarchyEntity = officeHierarchyEntities.get(i);
+        preparedStatement.setLong(1, officeHierarchyEntity.getAncestorId());
+        preparedStatement.setLong(2, officeHierarchyEntity.getDescendantId());
+        preparedStatement.setInt(3, officeHierarchyEntity.getDepth());
+      }
+
+      @Override
+      public int getBatchSize() {
+        return officeHierarchyEntities.size();
+      }
+    });
+  }
+
+  /**
+   * Copies the ancestors of an already stored office to new descendants. Each entry names the stored office
+   * as ancestor and the distance of the descendant to it as depth.
+   */
+  public void insertInheritedAncestors(final List<OfficeHierarchyEntity> officeHierarchyEntities) {
+    if (officeHierarchyEntities.isEmpty()) {
+      return;
+    }
+
+    this.jdbcTemplate.batchUpdate(INSERT_INHERITED_ANCESTORS, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(final PreparedStatement preparedStatement, final int i) throws SQLException {
+        final OfficeHierarchyEntity officeHierarchyEntity = officeHierarchyEntities.get(i);
+        preparedStatement.setLong(1, officeHierarchyEntity.getDescendantId());
+        preparedStatement.setInt(2, officeHierarchyEntity.getDepth());
+        preparedStatement.setLong(3, officeHierarchyEntity.getAncestorId());
+      }
+
+      @Override
+      public int getBatchSize() {
+        return officeHierarchyEntities.size();
+      }
+    });
+  }
+}
@@ -54,6 +54,9 @@ public class OfficeEntity {
   @Column(name = "last_modified_on")
   @Temporal(TemporalType.TIMESTAMP)
   private Date lastModifiedOn;
+  // incremented in SQL by an update trigger, including bulk updates such as OfficeRepository.touch
+  @Column(name = "a_version", insertable = false, updatable = false)
+  private Long version;
 
   public OfficeEntity() {
     super();
@@ -131,6 +134,14 @@ public class OfficeEntity {
     this.lastModifiedOn = lastModifiedOn;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
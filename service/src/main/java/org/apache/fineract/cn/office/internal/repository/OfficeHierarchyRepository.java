@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OfficeHierarchyRepository extends JpaRepository<OfficeHierarchyEntity, Long> {
+
+  @Modifying
+  @Query(value = "INSERT INTO horus_office_hierarchy (ancestor_id, descendant_id, depth) " +
+      "SELECT h.ancestor_id, :descendantId, h.depth + 1 FROM horus_office_hierarchy h WHERE h.descendant_id = :parentOfficeId",
+      nativeQuery = true)
+  int insertAncestors(@Param("parentOfficeId") final Long parentOfficeId, @Param("descendantId") final Long descendantId);
+
+  @Modifying
+  @Query("DELETE FROM OfficeHierarchyEntity h WHERE h.ancestorId = :officeId OR h.descendantId = :officeId")
+  int deleteByOfficeId(@Param("officeId") final Long officeId);
+
+  @Query(value = "SELECT o FROM OfficeEntity o, OfficeHierarchyEntity h WHERE h.descendantId = o.id AND h.ancestorId = :ancestorId AND h.depth BETWEEN 1 AND :maxDepth",
+      countQuery = "SELECT COUNT(h) FROM OfficeHierarchyEntity h WHERE h.ancestorId = :ancestorId AND h.depth BETWEEN 1 AND :maxDepth")
+  Page<OfficeEntity> findDescendants(@Param("ancestorId") final Long ancestorId, @Param("maxDepth") final Integer maxDepth, final Pageable pageable);
+
+  @Query(value = "SELECT o FROM OfficeEntity o, OfficeHierarchyEntity h WHERE h.ancestorId = o.id AND h.descendantId = :descendantId AND h.depth BETWEEN 1 AND :maxDepth",
+      countQuery = "SELECT COUNT(h) FROM OfficeHierarchyEntity h WHERE h.descendantId = :descendantId AND h.depth BETWEEN 1 AND :maxDepth")
+  Page<OfficeEntity> findAncestors(@Param("descendantId") final Long descendantId, @Param("maxDepth") final Integer maxDepth, final Pageable pageable);
+}
@@ -21,26 +21,57 @@ package org.apache.fineract.cn.office.internal.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OfficeRepository extends JpaRepository<OfficeEntity, Long> {
+public interface OfficeRepository extends JpaRepository<OfficeEntity, Long>, OfficeRepositoryCustom {
 
   Optional<OfficeEntity> findByIdentifier(final String identifier);
 
+  List<OfficeEntity> findByIdentifierIn(final Collection<String> identifiers);
+
   @Query("SELECT CASE WHEN COUNT(o) > 0 THEN 'true' ELSE 'false' END FROM OfficeEntity o WHERE o.identifier = :identifier")
   Boolean existsByIdentifier(@Param("identifier") final String identifier);
 
+  @Query("SELECT o.identifier FROM OfficeEntity o WHERE o.identifier IN :identifiers")
+  List<String> findIdentifiers(@Param("identifiers") final Collection<String> identifiers);
+
   @Query("SELECT CASE WHEN COUNT(o) > 0 THEN 'true' ELSE 'false' END FROM OfficeEntity o WHERE o.parentOfficeId = :parentOfficeId")
   Boolean existsByParentOfficeId(@Param("parentOfficeId") final Long parentOfficeId);
 
+  @Query("SELECT DISTINCT o.parentOfficeId FROM OfficeEntity o WHERE o.parentOfficeId IN :parentOfficeIds")
+  List<Long> findParentOfficeIds(@Param("parentOfficeIds") final Collection<Long> parentOfficeIds);
+
   Page<OfficeEntity> findByParentOfficeIdIsNull(final Pageable pageable);
 
   Page<OfficeEntity> findByParentOfficeId(final Long parentOfficeId, final Pageable pageable);
 
-  Page<OfficeEntity> findByIdentifierContainingOrNameContaining(final String identifier, final String name, final Pageable pageable);
+  @Query(value = "SELECT o.id, o.parent_office_id, o.identifier, o.a_name, o.description, o.created_by, o.created_on, o.last_modified_by, o.last_modified_on, " +
+      "p.identifier AS parent_identifier, a.street, a.city, a.region, a.postal_code, a.country_code, a.country, " +
+      "(EXISTS (SELECT 1 FROM horus_offices b WHERE b.parent_office_id = o.id) " +
+      "OR EXISTS (SELECT 1 FROM horus_employees e WHERE e.assigned_office_id = o.id) " +
+      "OR EXISTS (SELECT 1 FROM horus_external_references r WHERE r.office_identifier = o.identifier AND r.a_state = 'ACTIVE')) AS external_references, " +
+      "o.a_version " +
+      "FROM horus_offices o " +
+      "LEFT JOIN horus_offices p ON p.id = o.parent_office_id " +
+      "LEFT JOIN horus_addresses a ON a.office_id = o.id " +
+      "ORDER BY o.identifier " +
+      "LIMIT :limit",
+      nativeQuery = true)
+  List<Object[]> findOfficeTree(@Param("limit") final int limit);
+
+  @Modifying
+  @Query("UPDATE OfficeEntity o SET o.lastModifiedBy = :modifiedBy, o.lastModifiedOn = :modifiedOn " +
+      "WHERE o.id IN :ids")
+  int touch(@Param("ids") final Collection<Long> ids,
+            @Param("modifiedBy") final String modifiedBy,
+            @Param("modifiedOn") final Date modifiedOn);
 }
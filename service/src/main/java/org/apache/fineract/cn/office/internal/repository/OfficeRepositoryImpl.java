@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+@SuppressWarnings("unused")
+public class OfficeRepositoryImpl implements OfficeRepositoryCustom {
+
+  private static final Map<String, String> SORT_EXPRESSIONS;
+  private static final Map<String, String> SORT_COLUMNS;
+  private static final String SEARCH_PREDICATE =
+      "lower(o.identifier) LIKE :pattern OR lower(o.a_name) LIKE :pattern";
+  private static final String SEARCH_ORDER =
+      "GREATEST(similarity(lower(o.identifier), :term), similarity(lower(o.a_name), :term)) DESC, ";
+
+  static {
+    SORT_EXPRESSIONS = new HashMap<>();
+    SORT_EXPRESSIONS.put("identifier", "o.identifier");
+    SORT_EXPRESSIONS.put("name", "o.name");
+
+    SORT_COLUMNS = new HashMap<>();
+    SORT_COLUMNS.put("identifier", "o.identifier");
+    SORT_COLUMNS.put("name", "o.a_name");
+    SORT_COLUMNS.put("description", "o.description");
+    SORT_COLUMNS.put("createdBy", "o.created_by");
+    SORT_COLUMNS.put("createdOn", "o.created_on");
+    SORT_COLUMNS.put("lastModifiedBy", "o.last_modified_by");
+    SORT_COLUMNS.put("lastModifiedOn", "o.last_modified_on");
+  }
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public OfficeRepositoryImpl() {
+    super();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Page<OfficeEntity> search(final String term, final Pageable pageable) {
+    final String pattern = SearchTerm.containsPattern(term);
+
+    final Query query = this.entityManager.createNativeQuery(
+        "SELECT o.* FROM horus_offices o WHERE " + SEARCH_PREDICATE +
+            " ORDER BY " + SEARCH_ORDER +
+            SearchTerm.orderBy(pageable.getSort(), SORT_COLUMNS) + "o.id" +
+            " LIMIT :limit OFFSET :offset",
+        OfficeEntity.class);
+    query.setParameter("pattern", pattern);
+    query.setParameter("term", SearchTerm.normalize(term));
+    query.setParameter("limit", pageable.getPageSize());
+    query.setParameter("offset", pageable.getOffset());
+    final List<OfficeEntity> officeEntities = query.getResultList();
+
+    final Query countQuery = this.entityManager.createNativeQuery(
+        "SELECT COUNT(*) FROM horus_offices o WHERE " + SEARCH_PREDICATE);
+    countQuery.setParameter("pattern", pattern);
+    final long total = ((Number) countQuery.getSingleResult()).longValue();
+
+    return new PageImpl<>(officeEntities, pageable, total);
+  }
+
+  @Override
+  public List<OfficeEntity> findByKeyset(final String term, final Keyset keyset, final int limit) {
+    final String sortExpression = keyset.sortExpression(SORT_EXPRESSIONS);
+
+    final StringBuilder jpql = new StringBuilder("SELECT o FROM OfficeEntity o WHERE ");
+    jpql.append(term != null ? "(LOWER(o.identifier) LIKE :term OR LOWER(o.name) LIKE :term)" : "o.parentOfficeId IS NULL");
+    final String keysetPredicate = keyset.toPredicate(sortExpression, "o.id");
+    if (keysetPredicate != null) {
+      jpql.append(" AND ").append(keysetPredicate);
+    }
+    jpql.append(keyset.toOrderBy(sortExpression, "o.id"));
+
+    final TypedQuery<OfficeEntity> query = this.entityManager.createQuery(jpql.toString(), OfficeEntity.class);
+    if (term != null) {
+      query.setParameter("term", SearchTerm.containsPattern(term));
+    }
+    keyset.bind(query);
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Page<OfficeEntity> findProjected(final String term, final Long parentOfficeId, final Pageable pageable,
+                                          final FieldSelection fieldSelection) {
+    final boolean name = fieldSelection.includes("name");
+    final boolean description = fieldSelection.includes("description");
+    final StringBuilder columns = new StringBuilder("o.id, o.parent_office_id, o.identifier");
+    if (name) {
+      columns.append(", o.a_name");
+    }
+    if (description) {
+      columns.append(", o.description");
+    }
+
+    final String predicate;
+    if (term != null) {
+      predicate = SEARCH_PREDICATE;
+    } else if (parentOfficeId != null) {
+      predicate = "o.parent_office_id = :parentOfficeId";
+    } else {
+      predicate = "o.parent_office_id IS NULL";
+    }
+
+    final Query query = this.entityManager.createNativeQuery(
+        "SELECT " + columns + " FROM horus_offices o WHERE " + predicate +
+            " ORDER BY " + (term != null ? SEARCH_ORDER : "") + SearchTerm.orderBy(pageable.getSort(), SORT_COLUMNS) + "o.id" +
+            " LIMIT :limit OFFSET :offset");
+    this.bindProjection(query, term, parentOfficeId);
+    if (term != null) {
+      query.setParameter("term", SearchTerm.normalize(term));
+    }
+    query.setParameter("limit", pageable.getPageSize());
+    query.setParameter("offset", pageable.getOffset());
+
+    final List<OfficeEntity> officeEntities = new ArrayList<>();
+    ((List<Object[]>) query.getResultList()).forEach(row -> {
+      final OfficeEntity officeEntity = new OfficeEntity();
+      officeEntity.setId(((Number) row[0]).longValue());
+      officeEntity.setParentOfficeId(row[1] != null ? ((Number) row[1]).longValue() : null);
+      officeEntity.setIdentifier((String) row[2]);
+      int column = 3;
+      if (name) {
+        officeEntity.setName((String) row[column++]);
+      }
+      if (description) {
+        officeEntity.setDescription((String) row[column]);
+      }
+      officeEntities.add(officeEntity);
+    });
+
+    final Query countQuery = this.entityManager.createNativeQuery(
+        "SELECT COUNT(*) FROM horus_offices o WHERE " + predicate);
+    this.bindProjection(countQuery, term, parentOfficeId);
+    final long total = ((Number) countQuery.getSingleResult()).longValue();
+
+    return new PageImpl<>(officeEntities, pageable, total);
+  }
+
+  private void bindProjection(final Query query, final String term, final Long parentOfficeId) {
+    if (term != null) {
+      query.setParameter("pattern", SearchTerm.containsPattern(term));
+    } else if (parentOfficeId != null) {
+      query.setParameter("parentOfficeId", parentOfficeId);
+    }
+  }
+}
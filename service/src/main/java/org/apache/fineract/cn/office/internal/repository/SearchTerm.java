@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.repository;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.apache.fineract.cn.lang.ServiceException;
+import org.springframework.data.domain.Sort;
+
+final class SearchTerm {
+
+  private SearchTerm() {
+    super();
+  }
+
+  static String normalize(final String term) {
+    return term.toLowerCase(Locale.ROOT);
+  }
+
+  static String containsPattern(final String term) {
+    return "%" + SearchTerm.normalize(term)
+        .replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_") + "%";
+  }
+
+  static String orderBy(final Sort sort, final Map<String, String> sortColumns) {
+    if (sort == null) {
+      return "";
+    }
+    return StreamSupport.stream(sort.spliterator(), false)
+        .map(order -> {
+          final String sortColumn = sortColumns.get(order.getProperty());
+          if (sortColumn == null) {
+            throw ServiceException.badRequest("Sort column {0} is not supported.", order.getProperty());
+          }
+          return sortColumn + " " + order.getDirection().name() + ", ";
+        })
+        .collect(Collectors.joining());
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects what a command changes within its transaction on behalf of the {@link ChangeLog} and the
+ * {@link EnrichedEventPublisher}. Just before the transaction commits, the persistence context is
+ * flushed once and each changed office and employee is loaded once, however many consumers ask for
+ * it.
+ */
+@Component
+public class ChangeCollector {
+
+  /**
+   * Keeps its own pending changes per transaction.
+   *
+   * @param <P> the pending changes of one transaction
+   */
+  public interface Consumer<P> {
+
+    P begin();
+
+    void beforeCommit(P pendingChanges, State state);
+
+    default void afterCommit(final P pendingChanges) {
+    }
+  }
+
+  private final OfficeService officeService;
+  private final EmployeeService employeeService;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Autowired
+  public ChangeCollector(final OfficeService officeService,
+                         final EmployeeService employeeService) {
+    super();
+    this.officeService = officeService;
+    this.employeeService = employeeService;
+  }
+
+  /**
+   * Returns the consumer's pending changes of the current transaction, beginning them if needed.
+   *
+   * @throws IllegalStateException if no transaction synchronization is active
+   */
+  public <P> P pendingChanges(final Consumer<P> consumer) {
+    @SuppressWarnings("unchecked")
+    Map<Consumer<?>, Object> pendingChangesByConsumer =
+        (Map<Consumer<?>, Object>) TransactionSynchronizationManager.getResource(this);
+    if (pendingChangesByConsumer == null) {
+      final Map<Consumer<?>, Object> pendingChangesOfTransaction = new LinkedHashMap<>();
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+          // Batched JDBC writes bypass the persistence context, so managed entities may be stale.
+          entityManager.flush();
+          entityManager.clear();
+          final State state = new State();
+          pendingChangesOfTransaction.forEach((pendingConsumer, pendingChanges) ->
+              notifyBeforeCommit(pendingConsumer, pendingChanges, state));
+        }
+
+        @Override
+        public void afterCommit() {
+          pendingChangesOfTransaction.forEach(ChangeCollector::notifyAfterCommit);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(ChangeCollector.this);
+        }
+      });
+      TransactionSynchronizationManager.bindResource(this, pendingChangesOfTransaction);
+      pendingChangesByConsumer = pendingChangesOfTransaction;
+    }
+
+    @SuppressWarnings("unchecked")
+    final P pendingChanges = (P) pendingChangesByConsumer.computeIfAbsent(consumer, key -> consumer.begin());
+    return pendingChanges;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> void notifyBeforeCommit(final Consumer<P> consumer, final Object pendingChanges, final State state) {
+    consumer.beforeCommit((P) pendingChanges, state);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> void notifyAfterCommit(final Consumer<P> consumer, final Object pendingChanges) {
+    consumer.afterCommit((P) pendingChanges);
+  }
+
+  /**
+   * The state of changed entities just before the transaction commits, loaded on first access.
+   */
+  public final class State {
+
+    private final Map<String, Optional<Office>> offices = new HashMap<>();
+    private final Map<String, Optional<Employee>> employees = new HashMap<>();
+
+    private State() {
+      super();
+    }
+
+    public Optional<Office> office(final String identifier) {
+      return this.offices.computeIfAbsent(identifier, officeService::loadOfficeByIdentifier);
+    }
+
+    public Optional<Employee> employee(final String identifier) {
+      return this.employees.computeIfAbsent(identifier, employeeService::findByCode);
+    }
+  }
+}
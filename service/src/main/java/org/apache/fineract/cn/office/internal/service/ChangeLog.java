@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cn.api.util.UserContextHolder;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Change;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.internal.repository.ChangeLogEntry;
+import org.apache.fineract.cn.office.internal.repository.ChangeLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the changes made by a command and appends them to the change log just before its
+ * transaction commits, together with the state of each changed entity at that point. Changes to the
+ * same entity within a transaction are logged once.
+ */
+@Component
+public class ChangeLog implements ChangeCollector.Consumer<ChangeLog.PendingChanges> {
+
+  private final Gson gson;
+  private final ChangeLogRepository changeLogRepository;
+  private final ChangeCollector changeCollector;
+
+  @Autowired
+  public ChangeLog(@Qualifier(ServiceConstants.JSON_SERIALIZER_NAME) final Gson gson,
+                   final ChangeLogRepository changeLogRepository,
+                   final ChangeCollector changeCollector) {
+    super();
+    this.gson = gson;
+    this.changeLogRepository = changeLogRepository;
+    this.changeCollector = changeCollector;
+  }
+
+  public void record(final Change.Type type, final String identifier, final Change.Action action) {
+    this.register(type.name() + ":" + identifier, new PendingChange(type, identifier, action, null));
+  }
+
+  /**
+   * Records a change whose resulting state is already known, e.g. for bulk imports.
+   */
+  public void record(final Change.Type type, final String identifier, final Change.Action action, final Object state) {
+    this.register(type.name() + ":" + identifier, new PendingChange(type, identifier, action, state));
+  }
+
+  public void recordExternalReference(final String officeIdentifier, final ExternalReference externalReference,
+                                      final Change.Action action) {
+    this.register(Change.Type.EXTERNAL_REFERENCE.name() + ":" + officeIdentifier + ":" + externalReference.getType(),
+        new PendingChange(Change.Type.EXTERNAL_REFERENCE, officeIdentifier, action, externalReference));
+  }
+
+  @Override
+  public PendingChanges begin() {
+    return new PendingChanges(UserContextHolder.checkedGetUser());
+  }
+
+  @Override
+  public void beforeCommit(final PendingChanges pendingChanges, final ChangeCollector.State state) {
+    this.append(pendingChanges.user, new ArrayList<>(pendingChanges.changes.values()), state);
+  }
+
+  private void register(final String key, final PendingChange pendingChange) {
+    final Map<String, PendingChange> pendingChanges = this.changeCollector.pendingChanges(this).changes;
+    final PendingChange previousChange = pendingChanges.remove(key);
+    if (previousChange != null
+        && previousChange.action == Change.Action.CREATED
+        && pendingChange.action == Change.Action.UPDATED) {
+      pendingChanges.put(key, new PendingChange(pendingChange.type, pendingChange.identifier, Change.Action.CREATED, pendingChange.state));
+    } else {
+      pendingChanges.put(key, pendingChange);
+    }
+  }
+
+  private void append(final String user, final List<PendingChange> pendingChanges, final ChangeCollector.State state) {
+    final Date changedOn = new Date();
+    final List<ChangeLogEntry> changeLogEntries = new ArrayList<>(pendingChanges.size());
+    pendingChanges.forEach(pendingChange -> {
+      final ChangeLogEntry changeLogEntry = new ChangeLogEntry();
+      changeLogEntry.setEntityType(pendingChange.type.name());
+      changeLogEntry.setEntityIdentifier(pendingChange.identifier);
+      changeLogEntry.setAction(pendingChange.action.name());
+      if (pendingChange.state != null) {
+        changeLogEntry.setState(this.gson.toJson(pendingChange.state));
+      } else if (pendingChange.action != Change.Action.DELETED) {
+        final Object loadedState = this.loadState(pendingChange, state);
+        changeLogEntry.setState(loadedState != null ? this.gson.toJson(loadedState) : null);
+      }
+      changeLogEntry.setChangedBy(user);
+      changeLogEntry.setChangedOn(changedOn);
+      changeLogEntries.add(changeLogEntry);
+    });
+    this.changeLogRepository.append(changeLogEntries);
+  }
+
+  private Object loadState(final PendingChange pendingChange, final ChangeCollector.State state) {
+    switch (pendingChange.type) {
+      case OFFICE:
+        return state.office(pendingChange.identifier).orElse(null);
+      case ADDRESS:
+        return state.office(pendingChange.identifier).map(Office::getAddress).orElse(null);
+      case EMPLOYEE:
+        return state.employee(pendingChange.identifier).orElse(null);
+      case CONTACT_DETAILS:
+        return state.employee(pendingChange.identifier).map(Employee::getContactDetails).orElse(null);
+      default:
+        return null;
+    }
+  }
+
+  static class PendingChanges {
+    private final String user;
+    private final Map<String, PendingChange> changes;
+
+    private PendingChanges(final String user) {
+      super();
+      this.user = user;
+      this.changes = new LinkedHashMap<>();
+    }
+  }
+
+  private static class PendingChange {
+    private final Change.Type type;
+    private final String identifier;
+    private final Change.Action action;
+    private final Object state;
+
+    private PendingChange(final Change.Type type, final String identifier, final Change.Action action, final Object state) {
+      super();
+      this.type = type;
+      this.identifier = identifier;
+      this.action = action;
+      this.state = state;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.Change;
+import org.apache.fineract.cn.office.api.v1.domain.ChangePage;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.internal.repository.ChangeCursor;
+import org.apache.fineract.cn.office.internal.repository.ChangeLogEntry;
+import org.apache.fineract.cn.office.internal.repository.ChangeLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChangeService {
+
+  private static final Type CONTACT_DETAILS_TYPE = new TypeToken<List<ContactDetail>>() { }.getType();
+
+  private final Gson gson;
+  private final ChangeLogRepository changeLogRepository;
+
+  @Autowired
+  public ChangeService(@Qualifier(ServiceConstants.JSON_SERIALIZER_NAME) final Gson gson,
+                       final ChangeLogRepository changeLogRepository) {
+    super();
+    this.gson = gson;
+    this.changeLogRepository = changeLogRepository;
+  }
+
+  public ChangePage fetchChanges(final ChangeCursor changeCursor, final int size) {
+    final List<ChangeLogEntry> changeLogEntries =
+        this.changeLogRepository.findAfter(changeCursor.getTxId(), changeCursor.getId(), size);
+
+    final ChangePage changePage = new ChangePage();
+    changePage.setChanges(changeLogEntries.stream().map(this::map).collect(Collectors.toList()));
+    changePage.setNextCursor(changeLogEntries.isEmpty()
+        ? changeCursor.encode()
+        : changeCursor.next(changeLogEntries.get(changeLogEntries.size() - 1)).encode());
+    return changePage;
+  }
+
+  private Change map(final ChangeLogEntry changeLogEntry) {
+    final Change change = new Change();
+    change.setType(changeLogEntry.getEntityType());
+    change.setAction(changeLogEntry.getAction());
+    change.setIdentifier(changeLogEntry.getEntityIdentifier());
+    change.setChangedBy(changeLogEntry.getChangedBy());
+    change.setChangedOn(changeLogEntry.getChangedOn().toInstant().toString());
+
+    final String state = changeLogEntry.getState();
+    if (state != null) {
+      switch (Change.Type.valueOf(changeLogEntry.getEntityType())) {
+        case OFFICE:
+          change.setOffice(this.gson.fromJson(state, Office.class));
+          break;
+        case ADDRESS:
+          change.setAddress(this.gson.fromJson(state, Address.class));
+          break;
+        case EXTERNAL_REFERENCE:
+          change.setExternalReference(this.gson.fromJson(state, ExternalReference.class));
+          break;
+        case EMPLOYEE:
+          change.setEmployee(this.gson.fromJson(state, Employee.class));
+          break;
+        case CONTACT_DETAILS:
+          change.setContactDetails(this.gson.fromJson(state, CONTACT_DETAILS_TYPE));
+          break;
+      }
+    }
+    return change;
+  }
+}
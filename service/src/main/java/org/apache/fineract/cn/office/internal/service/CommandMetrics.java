@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Times each command in four phases, recorded as
+ * {@code office.commands.<tenant>.<operation>.<phase>[.<outcome>]}:
+ * <ul>
+ *   <li>{@code queue}, from dispatch until the handler starts,</li>
+ *   <li>{@code execution}, the handler itself,</li>
+ *   <li>{@code commit}, from the handler's return until its transaction committed or rolled back,</li>
+ *   <li>{@code emission}, sending the command's events, both those sent after the commit and the
+ *   one its handler declares.</li>
+ * </ul>
+ */
+@Component
+public class CommandMetrics {
+
+  public static final String SUCCESS = "success";
+  public static final String FAILURE = "failure";
+
+  private static final String PREFIX = "office.commands";
+  private static final double NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1L);
+
+  private final MetricRegistry metricRegistry;
+  private final Map<Object, Long> dispatchTimes;
+  // events are sent after the handler returned, on the thread that ran it, until the declared one is sent
+  private final ThreadLocal<Execution> lastExecution;
+
+  @Autowired
+  public CommandMetrics(final MetricRegistry metricRegistry) {
+    super();
+    this.metricRegistry = metricRegistry;
+    this.dispatchTimes = Collections.synchronizedMap(new WeakHashMap<>());
+    this.lastExecution = new ThreadLocal<>();
+  }
+
+  public void dispatched(final Object command) {
+    this.dispatchTimes.put(command, System.nanoTime());
+  }
+
+  public Execution started(final String operation, final Object command, final boolean emitsEvent) {
+    final Execution execution = new Execution(TenantContextHolder.identifier().orElse("unknown"), operation, emitsEvent);
+    final Long dispatchTime = command != null ? this.dispatchTimes.remove(command) : null;
+    if (dispatchTime != null) {
+      this.timer(execution, "queue").update(execution.start - dispatchTime, TimeUnit.NANOSECONDS);
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(execution);
+    }
+    this.lastExecution.set(execution);
+    return execution;
+  }
+
+  public void emitted(final long duration, final boolean success) {
+    final Execution execution = this.lastExecution.get();
+    if (execution == null) {
+      return;
+    }
+
+    this.timer(execution, "emission", success ? SUCCESS : FAILURE).update(duration, TimeUnit.NANOSECONDS);
+    // the event the handler declares is sent last, once the transaction is gone
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      this.lastExecution.remove();
+    }
+  }
+
+  /**
+   * Returns the timers of the given tenant by operation and phase, with durations in milliseconds.
+   */
+  public Map<String, Map<String, Double>> snapshot(final String tenant) {
+    final String tenantPrefix = MetricRegistry.name(PREFIX, tenant) + ".";
+    final Map<String, Map<String, Double>> timers = new LinkedHashMap<>();
+    this.metricRegistry.getTimers((name, metric) -> name.startsWith(tenantPrefix))
+        .forEach((name, timer) -> {
+          final Snapshot snapshot = timer.getSnapshot();
+          final Map<String, Double> values = new LinkedHashMap<>();
+          values.put("count", (double) timer.getCount());
+          values.put("mean", snapshot.getMean() / NANOS_PER_MILLISECOND);
+          values.put("p50", snapshot.getMedian() / NANOS_PER_MILLISECOND);
+          values.put("p95", snapshot.get95thPercentile() / NANOS_PER_MILLISECOND);
+          values.put("p99", snapshot.get99thPercentile() / NANOS_PER_MILLISECOND);
+          values.put("p999", snapshot.get999thPercentile() / NANOS_PER_MILLISECOND);
+          values.put("max", snapshot.getMax() / NANOS_PER_MILLISECOND);
+          timers.put(name.substring(tenantPrefix.length()), values);
+        });
+    return timers;
+  }
+
+  private Timer timer(final Execution execution, final String... phase) {
+    return this.metricRegistry.timer(MetricRegistry.name(PREFIX, execution.tenant, execution.operation) + "."
+        + String.join(".", phase));
+  }
+
+  public class Execution extends TransactionSynchronizationAdapter {
+
+    private final String tenant;
+    private final String operation;
+    private final boolean emitsEvent;
+    private final long start;
+    private long commitStart;
+
+    private Execution(final String tenant, final String operation, final boolean emitsEvent) {
+      super();
+      this.tenant = tenant;
+      this.operation = operation;
+      this.emitsEvent = emitsEvent;
+      this.start = System.nanoTime();
+    }
+
+    public void handled(final boolean success) {
+      this.commitStart = System.nanoTime();
+      timer(this, "execution", success ? SUCCESS : FAILURE).update(this.commitStart - this.start, TimeUnit.NANOSECONDS);
+    }
+
+    // runs before the commit callbacks registered by the handler, which may send events
+    @Override
+    public void afterCommit() {
+      this.committed(SUCCESS);
+    }
+
+    @Override
+    public void afterCompletion(final int status) {
+      if (status != TransactionSynchronization.STATUS_COMMITTED) {
+        this.committed(FAILURE);
+      }
+      if ((status != TransactionSynchronization.STATUS_COMMITTED || !this.emitsEvent) && lastExecution.get() == this) {
+        lastExecution.remove();
+      }
+    }
+
+    private void committed(final String outcome) {
+      if (this.commitStart > 0L) {
+        timer(this, "commit", outcome).update(System.nanoTime() - this.commitStart, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+}
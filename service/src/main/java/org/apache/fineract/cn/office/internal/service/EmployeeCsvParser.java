@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.fineract.cn.lang.ServiceException;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.ImportError;
+
+/**
+ * Reads employees from comma separated values. The first line names the columns; besides the employee
+ * attributes a column may be named after a contact detail type, whose values become business contact
+ * details ranked in column order.
+ */
+class EmployeeCsvParser {
+
+  private static final String IDENTIFIER = "identifier";
+  private static final String GIVEN_NAME = "givenName";
+  private static final String MIDDLE_NAME = "middleName";
+  private static final String SURNAME = "surname";
+  private static final String ASSIGNED_OFFICE = "assignedOffice";
+
+  private EmployeeCsvParser() {
+    super();
+  }
+
+  static Map<Integer, Employee> parse(final String csv, final List<ImportError> errors) {
+    final List<List<String>> records = EmployeeCsvParser.records(csv);
+    if (records.isEmpty()) {
+      throw ServiceException.badRequest("A header line must be given.");
+    }
+
+    final List<String> header = records.get(0);
+    header.forEach(EmployeeCsvParser::validateColumn);
+    if (!header.contains(IDENTIFIER)) {
+      throw ServiceException.badRequest("Column {0} must be given.", IDENTIFIER);
+    }
+
+    final Map<Integer, Employee> employees = new LinkedHashMap<>();
+    for (int row = 1; row < records.size(); row++) {
+      final List<String> record = records.get(row);
+      if (record.size() != header.size()) {
+        errors.add(new ImportError(row, null, "Expected " + header.size() + " columns, found " + record.size() + "."));
+        continue;
+      }
+      employees.put(row, EmployeeCsvParser.employee(header, record));
+    }
+    return employees;
+  }
+
+  private static void validateColumn(final String column) {
+    switch (column) {
+      case IDENTIFIER:
+      case GIVEN_NAME:
+      case MIDDLE_NAME:
+      case SURNAME:
+      case ASSIGNED_OFFICE:
+        return;
+      default:
+        try {
+          ContactDetail.Type.valueOf(column.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException ex) {
+          throw ServiceException.badRequest("Unknown column {0}.", column);
+        }
+    }
+  }
+
+  private static Employee employee(final List<String> header, final List<String> record) {
+    final Employee employee = new Employee();
+    final List<ContactDetail> contactDetails = new ArrayList<>();
+    for (int column = 0; column < header.size(); column++) {
+      final String value = record.get(column).isEmpty() ? null : record.get(column);
+      switch (header.get(column)) {
+        case IDENTIFIER:
+          employee.setIdentifier(value);
+          break;
+        case GIVEN_NAME:
+          employee.setGivenName(value);
+          break;
+        case MIDDLE_NAME:
+          employee.setMiddleName(value);
+          break;
+        case SURNAME:
+          employee.setSurname(value);
+          break;
+        case ASSIGNED_OFFICE:
+          employee.setAssignedOffice(value);
+          break;
+        default:
+          if (value != null) {
+            final ContactDetail contactDetail = new ContactDetail();
+            contactDetail.setType(header.get(column).toUpperCase(Locale.ROOT));
+            contactDetail.setGroup(ContactDetail.Group.BUSINESS.name());
+            contactDetail.setValue(value);
+            contactDetail.setPreferenceLevel(contactDetails.size() + 1);
+            contactDetails.add(contactDetail);
+          }
+      }
+    }
+    employee.setContactDetails(contactDetails);
+    return employee;
+  }
+
+  private static List<List<String>> records(final String csv) {
+    final List<List<String>> records = new ArrayList<>();
+    List<String> record = new ArrayList<>();
+    final StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < csv.length(); i++) {
+      final char c = csv.charAt(i);
+      if (quoted) {
+        if (c == '"') {
+          if (i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+            field.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        record.add(field.toString().trim());
+        field.setLength(0);
+      } else if (c == '\n' || c == '\r') {
+        if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+          i++;
+        }
+        record.add(field.toString().trim());
+        field.setLength(0);
+        EmployeeCsvParser.addRecord(records, record);
+        record = new ArrayList<>();
+      } else {
+        field.append(c);
+      }
+    }
+
+    if (quoted) {
+      throw ServiceException.badRequest("Unterminated quoted value.");
+    }
+    record.add(field.toString().trim());
+    EmployeeCsvParser.addRecord(records, record);
+    return records;
+  }
+
+  private static void addRecord(final List<List<String>> records, final List<String> record) {
+    if (record.size() > 1 || !record.get(0).isEmpty()) {
+      records.add(record);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import org.apache.fineract.cn.command.domain.CommandProcessingException;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
+import org.apache.fineract.cn.office.api.v1.domain.ImportError;
+import org.apache.fineract.cn.office.internal.command.ImportEmployeesCommand;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EmployeeImportService {
+
+  private static final int CHUNK_SIZE = 500;
+
+  private final Logger logger;
+  private final Validator validator;
+
+  @Autowired
+  public EmployeeImportService(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger) {
+    super();
+    this.logger = logger;
+    this.validator = Validation.buildDefaultValidatorFactory().getValidator();
+  }
+
+  /**
+   * Validates the employees and imports the valid ones in chunks, each processed by the given
+   * importer. Chunks imported before the importer throws stay imported.
+   */
+  public EmployeeImportReport importEmployees(final List<Employee> employees,
+                                              final Function<ImportEmployeesCommand, EmployeeImportReport> importer) {
+    final Map<Integer, Employee> rows = new LinkedHashMap<>();
+    for (int i = 0; i < employees.size(); i++) {
+      rows.put(i + 1, employees.get(i));
+    }
+    return this.importRows(rows, new ArrayList<>(), importer);
+  }
+
+  public EmployeeImportReport importEmployees(final String csv,
+                                              final Function<ImportEmployeesCommand, EmployeeImportReport> importer) {
+    final List<ImportError> errors = new ArrayList<>();
+    final Map<Integer, Employee> rows = EmployeeCsvParser.parse(csv, errors);
+    return this.importRows(rows, errors, importer);
+  }
+
+  private EmployeeImportReport importRows(final Map<Integer, Employee> rows, final List<ImportError> errors,
+                                          final Function<ImportEmployeesCommand, EmployeeImportReport> importer) {
+    final Set<String> identifiers = new HashSet<>();
+    final List<Map.Entry<Integer, Employee>> validRows = new ArrayList<>(rows.size());
+    rows.entrySet().forEach(entry -> {
+      final Employee employee = entry.getValue();
+      if (employee == null) {
+        errors.add(new ImportError(entry.getKey(), null, "An employee must be given."));
+        return;
+      }
+
+      final Set<ConstraintViolation<Employee>> violations = this.validator.validate(employee);
+      if (!violations.isEmpty()) {
+        errors.add(new ImportError(entry.getKey(), employee.getIdentifier(), violations.stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "))));
+        return;
+      }
+
+      if (!identifiers.add(employee.getIdentifier())) {
+        errors.add(new ImportError(entry.getKey(), employee.getIdentifier(), "Employee is listed more than once."));
+        return;
+      }
+      validRows.add(entry);
+    });
+
+    int imported = 0;
+    for (int from = 0; from < validRows.size(); from += CHUNK_SIZE) {
+      final Map<Integer, Employee> chunk = new LinkedHashMap<>();
+      validRows.subList(from, Math.min(from + CHUNK_SIZE, validRows.size()))
+          .forEach(entry -> chunk.put(entry.getKey(), entry.getValue()));
+      try {
+        final EmployeeImportReport chunkReport = importer.apply(new ImportEmployeesCommand(chunk));
+        imported += chunkReport.getImported();
+        errors.addAll(chunkReport.getErrors());
+      } catch (final CommandProcessingException ex) {
+        this.logger.warn("Could not import chunk of {} employees.", chunk.size(), ex);
+        chunk.forEach((row, employee) ->
+            errors.add(new ImportError(row, employee.getIdentifier(), "Employee could not be imported.")));
+      }
+    }
+
+    errors.sort(Comparator.comparing(ImportError::getRow));
+
+    final EmployeeImportReport employeeImportReport = new EmployeeImportReport();
+    employeeImportReport.setImported(imported);
+    employeeImportReport.setErrors(errors);
+    return employeeImportReport;
+  }
+}
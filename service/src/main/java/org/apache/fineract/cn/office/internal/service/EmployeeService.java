@@ -19,9 +19,14 @@
 package org.apache.fineract.cn.office.internal.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.fineract.cn.lang.ServiceException;
 import org.apache.fineract.cn.office.ServiceConstants;
@@ -34,6 +39,8 @@ import org.apache.fineract.cn.office.internal.repository.ContactDetailEntity;
 import org.apache.fineract.cn.office.internal.repository.ContactDetailRepository;
 import org.apache.fineract.cn.office.internal.repository.EmployeeEntity;
 import org.apache.fineract.cn.office.internal.repository.EmployeeRepository;
+import org.apache.fineract.cn.office.internal.repository.FieldSelection;
+import org.apache.fineract.cn.office.internal.repository.Keyset;
 import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
 import org.apache.fineract.cn.office.internal.repository.OfficeRepository;
 import org.slf4j.Logger;
@@ -42,8 +49,10 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Transactional(readOnly = true)
 public class EmployeeService {
 
   private final Logger logger;
@@ -71,43 +80,124 @@ public class EmployeeService {
     final EmployeeEntity employeeEntity = this.employeeRepository.findByIdentifier(code);
     if (employeeEntity != null) {
       final Employee employee = EmployeeMapper.map(employeeEntity);
-      employee.setContactDetails(this.findContactDetailsByEmployee(employeeEntity.getIdentifier()));
+      employee.setContactDetails(this.findContactDetails(employeeEntity));
       return Optional.of(employee);
     } else {
       return Optional.empty();
     }
   }
 
-  public EmployeePage findEmployees(final String term, final String officeIdentifier, final Pageable pageRequest) {
+  public Optional<ResourceVersion> findEmployeeVersion(final String identifier) {
+    return Optional.ofNullable(this.employeeRepository.findByIdentifier(identifier))
+        .map(employeeEntity -> ResourceVersion.of(employeeEntity.getId(), employeeEntity.getVersion(),
+            employeeEntity.getCreatedOn(), employeeEntity.getLastModifiedOn()));
+  }
+
+  @Transactional(readOnly = true)
+  public EmployeePage findEmployees(final String term, final String officeIdentifier, final Pageable pageRequest,
+                                    final FieldSelection fieldSelection) {
 
     final Page<EmployeeEntity> employeeEntityPage;
-    if (term != null) {
-      employeeEntityPage = this.employeeRepository.findByIdentifierContaining(term, pageRequest);
+    if (!fieldSelection.isAll()) {
+      final Long assignedOfficeId;
+      if (term == null && officeIdentifier != null) {
+        assignedOfficeId = this.officeRepository.findByIdentifier(officeIdentifier)
+            .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", officeIdentifier))
+            .getId();
+      } else {
+        assignedOfficeId = null;
+      }
+      employeeEntityPage = this.employeeRepository.findProjected(term, assignedOfficeId, pageRequest, fieldSelection);
+    } else if (term != null) {
+      employeeEntityPage = this.employeeRepository.search(term, pageRequest);
     } else if (officeIdentifier != null) {
       final OfficeEntity officeEntity = this.officeRepository.findByIdentifier(officeIdentifier)
           .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", officeIdentifier));
       employeeEntityPage = this.employeeRepository.findByAssignedOffice(officeEntity, pageRequest);
     } else {
-      employeeEntityPage = this.employeeRepository.findAll(pageRequest);
+      employeeEntityPage = this.employeeRepository.findAllWithAssignedOffice(pageRequest);
     }
 
     final EmployeePage employeePage = new EmployeePage();
     employeePage.setTotalPages(employeeEntityPage.getTotalPages());
     employeePage.setTotalElements(employeeEntityPage.getTotalElements());
+    employeePage.setEmployees(this.extractEmployeeEntities(employeeEntityPage.getContent(), fieldSelection));
 
-    final List<Employee> employees = new ArrayList<>();
-    employeePage.setEmployees(employees);
-    employeeEntityPage.forEach(employeeEntity -> {
-      final Employee employee = EmployeeMapper.map(employeeEntity);
-      employees.add(employee);
+    return employeePage;
+  }
 
-      employee.setContactDetails(this.findContactDetailsByEmployee(employeeEntity.getIdentifier()));
+  @Transactional(readOnly = true)
+  public EmployeePage findEmployees(final String term, final String officeIdentifier, final Keyset keyset, final int size,
+                                    final FieldSelection fieldSelection) {
+    final OfficeEntity officeEntity;
+    if (term == null && officeIdentifier != null) {
+      officeEntity = this.officeRepository.findByIdentifier(officeIdentifier)
+          .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", officeIdentifier));
+    } else {
+      officeEntity = null;
+    }
 
-    });
+    final List<EmployeeEntity> employeeEntities = this.employeeRepository.findByKeyset(term, officeEntity, keyset, size + 1);
+
+    final EmployeePage employeePage = new EmployeePage();
+    if (employeeEntities.size() > size) {
+      final EmployeeEntity lastEmployeeEntity = employeeEntities.get(size - 1);
+      employeePage.setNextCursor(keyset.next(lastEmployeeEntity, lastEmployeeEntity.getId()).encode());
+      employeePage.setEmployees(this.extractEmployeeEntities(employeeEntities.subList(0, size), fieldSelection));
+    } else {
+      employeePage.setEmployees(this.extractEmployeeEntities(employeeEntities, fieldSelection));
+    }
 
     return employeePage;
   }
 
+  @Transactional(readOnly = true)
+  public List<Employee> findEmployeesByIdentifiers(final Collection<String> identifiers) {
+    if (identifiers.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final Map<String, Employee> employees = this.extractEmployeeEntities(this.employeeRepository.findByIdentifierIn(identifiers))
+        .stream()
+        .collect(Collectors.toMap(Employee::getIdentifier, Function.identity()));
+    return identifiers.stream()
+        .map(employees::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  public List<Employee> extractEmployeeEntities(final List<EmployeeEntity> employeeEntities) {
+    return this.extractEmployeeEntities(employeeEntities, FieldSelection.all());
+  }
+
+  public List<Employee> extractEmployeeEntities(final List<EmployeeEntity> employeeEntities, final FieldSelection fieldSelection) {
+    final List<Employee> employees = new ArrayList<>(employeeEntities.size());
+    if (employeeEntities.isEmpty()) {
+      return employees;
+    }
+
+    final Map<Long, List<ContactDetail>> contactDetails;
+    if (fieldSelection.expands("contactDetails")) {
+      final Set<Long> employeeIds = employeeEntities.stream().map(EmployeeEntity::getId).collect(Collectors.toSet());
+      contactDetails = this.contactDetailRepository.findByEmployeeIds(employeeIds)
+          .stream()
+          .collect(Collectors.groupingBy(contactDetailEntity -> contactDetailEntity.getEmployee().getId(),
+              Collectors.mapping(ContactDetailMapper::map, Collectors.toList())));
+    } else {
+      contactDetails = Collections.emptyMap();
+    }
+
+    employeeEntities.forEach(employeeEntity -> {
+      final Employee employee = EmployeeMapper.map(employeeEntity);
+      employee.setContactDetails(contactDetails.getOrDefault(employeeEntity.getId(), Collections.emptyList()));
+      if (!fieldSelection.isAll()) {
+        EmployeeMapper.select(employee, fieldSelection);
+      }
+      employees.add(employee);
+    });
+    return employees;
+  }
+
 
   public List<ContactDetail> findContactDetailsByEmployee(final String identifier) {
     final EmployeeEntity employeeEntity = this.employeeRepository.findByIdentifier(identifier);
@@ -115,6 +205,10 @@ public class EmployeeService {
       throw ServiceException.notFound("Employee {0} not found.", identifier);
     }
 
+    return this.findContactDetails(employeeEntity);
+  }
+
+  private List<ContactDetail> findContactDetails(final EmployeeEntity employeeEntity) {
     final List<ContactDetailEntity> contactDetailEntities = this.contactDetailRepository.findByEmployeeOrderByPreferenceLevelAsc(employeeEntity);
     if (contactDetailEntities != null && !contactDetailEntities.isEmpty()) {
       return contactDetailEntities
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import com.google.gson.Gson;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.jms.Message;
+import org.apache.activemq.command.ActiveMQTopic;
+import org.apache.fineract.cn.command.util.CommandConstants;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.lang.config.TenantHeaderFilter;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.api.v1.EventConstants;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeEvent;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeEvent;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes the state of changed offices and employees to {@link EventConstants#ENRICHED_DESTINATION}.
+ * The state is read just before the command's transaction commits and sent once it has committed,
+ * so subscribers never see changes that were rolled back. Changes registered more than once within
+ * a transaction, e.g. an address set as part of an office update, are published once under the
+ * operation registered last.
+ */
+@Component
+public class EnrichedEventPublisher implements ChangeCollector.Consumer<EnrichedEventPublisher.PendingEvents> {
+
+  private static final String OFFICE_KEY = "office:";
+  private static final String EMPLOYEE_KEY = "employee:";
+
+  private final Logger logger;
+  private final Gson gson;
+  private final JmsTemplate jmsTemplate;
+  private final ChangeCollector changeCollector;
+  private final boolean enabled;
+  private final ActiveMQTopic destination;
+
+  @Autowired
+  public EnrichedEventPublisher(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger,
+                                @Qualifier(CommandConstants.SERIALIZER) final Gson gson,
+                                final JmsTemplate jmsTemplate,
+                                final ChangeCollector changeCollector,
+                                @Value("${office.events.enriched.enabled:false}") final boolean enabled) {
+    super();
+    this.logger = logger;
+    this.gson = gson;
+    this.jmsTemplate = jmsTemplate;
+    this.changeCollector = changeCollector;
+    this.enabled = enabled;
+    this.destination = new ActiveMQTopic(EventConstants.ENRICHED_DESTINATION);
+  }
+
+  public void officeChanged(final String operation, final String identifier) {
+    this.register(OFFICE_KEY + identifier, new PendingEvent(operation, identifier, true));
+  }
+
+  public void employeeChanged(final String operation, final String identifier) {
+    this.register(EMPLOYEE_KEY + identifier, new PendingEvent(operation, identifier, false));
+  }
+
+  private void register(final String key, final PendingEvent pendingEvent) {
+    if (!this.enabled || pendingEvent.identifier == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      this.logger.warn("No transaction active, enriched {} event for {} not published.",
+          pendingEvent.operation, pendingEvent.identifier);
+      return;
+    }
+
+    final Map<String, PendingEvent> pendingEvents = this.changeCollector.pendingChanges(this).events;
+    pendingEvents.remove(key);
+    pendingEvents.put(key, pendingEvent);
+  }
+
+  @Override
+  public PendingEvents begin() {
+    return new PendingEvents(TenantContextHolder.checkedGetIdentifier());
+  }
+
+  @Override
+  public void beforeCommit(final PendingEvents pendingEvents, final ChangeCollector.State state) {
+    pendingEvents.events.values().forEach(pendingEvent -> this.loadPayload(pendingEvent, state));
+  }
+
+  @Override
+  public void afterCommit(final PendingEvents pendingEvents) {
+    pendingEvents.events.values().forEach(pendingEvent -> this.send(pendingEvents.tenant, pendingEvent));
+  }
+
+  private void loadPayload(final PendingEvent pendingEvent, final ChangeCollector.State state) {
+    if (pendingEvent.office) {
+      final Office office = state.office(pendingEvent.identifier).orElse(null);
+      final Office parent = office != null && office.getParentIdentifier() != null
+          ? state.office(office.getParentIdentifier()).orElse(null)
+          : null;
+      pendingEvent.payload = this.gson.toJson(new OfficeEvent(pendingEvent.identifier, office, parent));
+    } else {
+      pendingEvent.payload = this.gson.toJson(
+          new EmployeeEvent(pendingEvent.identifier, state.employee(pendingEvent.identifier).orElse(null)));
+    }
+  }
+
+  private void send(final String tenant, final PendingEvent pendingEvent) {
+    try {
+      this.jmsTemplate.convertAndSend(this.destination, pendingEvent.payload, (final Message message) -> {
+        message.setStringProperty(TenantHeaderFilter.TENANT_HEADER, tenant);
+        message.setStringProperty(EventConstants.OPERATION_HEADER, pendingEvent.operation);
+        message.setStringProperty(EventConstants.VERSION_HEADER, EventConstants.ENRICHED_EVENT_VERSION);
+        return message;
+      });
+    } catch (final JmsException ex) {
+      this.logger.warn("Could not publish enriched {} event for {}.", pendingEvent.operation, pendingEvent.identifier, ex);
+    }
+  }
+
+  static class PendingEvents {
+    private final String tenant;
+    private final Map<String, PendingEvent> events;
+
+    private PendingEvents(final String tenant) {
+      super();
+      this.tenant = tenant;
+      this.events = new LinkedHashMap<>();
+    }
+  }
+
+  private static class PendingEvent {
+    private final String operation;
+    private final String identifier;
+    private final boolean office;
+    private String payload;
+
+    private PendingEvent(final String operation, final String identifier, final boolean office) {
+      super();
+      this.operation = operation;
+      this.identifier = identifier;
+      this.office = office;
+    }
+  }
+}
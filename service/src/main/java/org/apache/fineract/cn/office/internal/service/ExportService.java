@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
+import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ExportService {
+
+  private static final int FETCH_SIZE = 500;
+
+  private static final String OFFICE_QUERY =
+      "SELECT o.identifier, o.a_name, o.description, p.identifier AS parent_identifier, " +
+          "a.street, a.city, a.region, a.postal_code, a.country_code, a.country, " +
+          "(EXISTS (SELECT 1 FROM horus_offices b WHERE b.parent_office_id = o.id) " +
+          "OR EXISTS (SELECT 1 FROM horus_employees e WHERE e.assigned_office_id = o.id) " +
+          "OR EXISTS (SELECT 1 FROM horus_external_references r WHERE r.office_identifier = o.identifier AND r.a_state = 'ACTIVE')) AS external_references " +
+          "FROM horus_offices o " +
+          "LEFT JOIN horus_offices p ON p.id = o.parent_office_id " +
+          "LEFT JOIN horus_addresses a ON a.office_id = o.id " +
+          "ORDER BY o.id";
+
+  private static final String EMPLOYEE_QUERY =
+      "SELECT e.id, e.identifier, e.given_name, e.middle_name, e.surname, o.identifier AS assigned_office, " +
+          "c.a_type, c.a_group, c.a_value, c.preference_level " +
+          "FROM horus_employees e " +
+          "LEFT JOIN horus_offices o ON o.id = e.assigned_office_id " +
+          "LEFT JOIN horus_contact_details c ON c.employee_id = e.id " +
+          "ORDER BY e.id, c.preference_level, c.id";
+
+  private final Logger logger;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectWriter objectWriter;
+
+  @Autowired
+  public ExportService(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger,
+                       final DataSource dataSource,
+                       final ObjectMapper objectMapper) {
+    super();
+    this.logger = logger;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    // the same mapper as the JSON endpoints, writing to the response without closing or flushing it per line
+    this.objectWriter = objectMapper.writer()
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Transactional(readOnly = true)
+  public void exportOffices(final Writer writer) {
+    this.jdbcTemplate.query(OFFICE_QUERY, (RowCallbackHandler) resultSet -> {
+      final Office office = new Office();
+      office.setIdentifier(resultSet.getString("identifier"));
+      office.setName(resultSet.getString("a_name"));
+      office.setDescription(resultSet.getString("description"));
+      office.setParentIdentifier(resultSet.getString("parent_identifier"));
+      if (resultSet.getString("street") != null) {
+        final Address address = new Address();
+        address.setStreet(resultSet.getString("street"));
+        address.setCity(resultSet.getString("city"));
+        address.setRegion(resultSet.getString("region"));
+        address.setPostalCode(resultSet.getString("postal_code"));
+        address.setCountryCode(resultSet.getString("country_code"));
+        address.setCountry(resultSet.getString("country"));
+        office.setAddress(address);
+      }
+      office.setExternalReferences(resultSet.getBoolean("external_references"));
+      this.writeLine(writer, office);
+    });
+  }
+
+  @Transactional(readOnly = true)
+  public void exportEmployees(final Writer writer) {
+    final EmployeeRowCallbackHandler employeeRowCallbackHandler = new EmployeeRowCallbackHandler(writer);
+    this.jdbcTemplate.query(EMPLOYEE_QUERY, employeeRowCallbackHandler);
+    employeeRowCallbackHandler.flush();
+  }
+
+  private void writeLine(final Writer writer, final Object object) {
+    try {
+      this.objectWriter.writeValue(writer, object);
+      writer.write('\n');
+    } catch (final IOException ex) {
+      this.logger.warn("Could not write export line.", ex);
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private class EmployeeRowCallbackHandler implements RowCallbackHandler {
+
+    private final Writer writer;
+    private Long currentId;
+    private Employee currentEmployee;
+
+    EmployeeRowCallbackHandler(final Writer writer) {
+      super();
+      this.writer = writer;
+    }
+
+    @Override
+    public void processRow(final ResultSet resultSet) throws SQLException {
+      final long id = resultSet.getLong("id");
+      if (this.currentId == null || this.currentId != id) {
+        this.flush();
+        this.currentId = id;
+        this.currentEmployee = new Employee();
+        this.currentEmployee.setIdentifier(resultSet.getString("identifier"));
+        this.currentEmployee.setGivenName(resultSet.getString("given_name"));
+        this.currentEmployee.setMiddleName(resultSet.getString("middle_name"));
+        this.currentEmployee.setSurname(resultSet.getString("surname"));
+        this.currentEmployee.setAssignedOffice(resultSet.getString("assigned_office"));
+        this.currentEmployee.setContactDetails(new ArrayList<>());
+      }
+
+      if (resultSet.getString("a_type") != null) {
+        final ContactDetail contactDetail = new ContactDetail();
+        contactDetail.setType(resultSet.getString("a_type"));
+        contactDetail.setGroup(resultSet.getString("a_group"));
+        contactDetail.setValue(resultSet.getString("a_value"));
+        contactDetail.setPreferenceLevel((Integer) resultSet.getObject("preference_level"));
+        this.currentEmployee.getContactDetails().add(contactDetail);
+      }
+    }
+
+    void flush() {
+      if (this.currentEmployee != null) {
+        writeLine(this.writer, this.currentEmployee);
+        this.currentEmployee = null;
+      }
+    }
+  }
+}
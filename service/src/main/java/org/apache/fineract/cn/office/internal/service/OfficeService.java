@@ -19,21 +19,34 @@
 package org.apache.fineract.cn.office.internal.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.fineract.cn.lang.ServiceException;
 import org.apache.fineract.cn.office.ServiceConstants;
 import org.apache.fineract.cn.office.api.v1.domain.Address;
 import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
 import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
+import org.apache.fineract.cn.office.internal.cache.OfficeTree;
+import org.apache.fineract.cn.office.internal.cache.OfficeTreeCache;
 import org.apache.fineract.cn.office.internal.mapper.AddressMapper;
 import org.apache.fineract.cn.office.internal.mapper.OfficeMapper;
 import org.apache.fineract.cn.office.internal.repository.AddressEntity;
 import org.apache.fineract.cn.office.internal.repository.AddressRepository;
 import org.apache.fineract.cn.office.internal.repository.EmployeeRepository;
 import org.apache.fineract.cn.office.internal.repository.ExternalReferenceRepository;
+import org.apache.fineract.cn.office.internal.repository.FieldSelection;
+import org.apache.fineract.cn.office.internal.repository.Keyset;
 import org.apache.fineract.cn.office.internal.repository.OfficeEntity;
+import org.apache.fineract.cn.office.internal.repository.OfficeHierarchyRepository;
 import org.apache.fineract.cn.office.internal.repository.OfficeRepository;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +57,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Transactional(readOnly = true)
 public class OfficeService {
 
   private final Logger logger;
@@ -51,23 +65,35 @@ public class OfficeService {
   private final AddressRepository addressRepository;
   private final EmployeeRepository employeeRepository;
   private final ExternalReferenceRepository externalReferenceRepository;
+  private final OfficeHierarchyRepository officeHierarchyRepository;
+  private final OfficeTreeCache officeTreeCache;
 
   @Autowired
   public OfficeService(@Qualifier(ServiceConstants.SERVICE_LOGGER_NAME) final Logger logger,
                        final OfficeRepository officeRepository,
                        final AddressRepository addressRepository,
                        final EmployeeRepository employeeRepository,
-                       final ExternalReferenceRepository externalReferenceRepository) {
+                       final ExternalReferenceRepository externalReferenceRepository,
+                       final OfficeHierarchyRepository officeHierarchyRepository,
+                       final OfficeTreeCache officeTreeCache) {
     super();
     this.logger = logger;
     this.officeRepository = officeRepository;
     this.addressRepository = addressRepository;
     this.employeeRepository = employeeRepository;
     this.externalReferenceRepository = externalReferenceRepository;
+    this.officeHierarchyRepository = officeHierarchyRepository;
+    this.officeTreeCache = officeTreeCache;
   }
 
   public boolean officeExists(final String identifier) {
-    return this.officeRepository.existsByIdentifier(identifier);
+    return this.officeTreeCache.get()
+        .map(officeTree -> officeTree.contains(identifier))
+        .orElseGet(() -> this.officeRepository.existsByIdentifier(identifier));
+  }
+
+  public List<String> findExistingIdentifiers(final Collection<String> identifiers) {
+    return this.officeRepository.findIdentifiers(identifiers);
   }
 
   public boolean branchExists(final String identifier) {
@@ -82,10 +108,12 @@ public class OfficeService {
   }
 
   @Transactional(readOnly = true)
-  public OfficePage fetchOffices(final String term, final Pageable pageRequest) {
+  public OfficePage fetchOffices(final String term, final Pageable pageRequest, final FieldSelection fieldSelection) {
     final Page<OfficeEntity> officeEntityPage;
-    if (term != null) {
-      officeEntityPage = this.officeRepository.findByIdentifierContainingOrNameContaining(term, term, pageRequest);
+    if (!fieldSelection.isAll()) {
+      officeEntityPage = this.officeRepository.findProjected(term, null, pageRequest, fieldSelection);
+    } else if (term != null) {
+      officeEntityPage = this.officeRepository.search(term, pageRequest);
     } else {
       officeEntityPage = this.officeRepository.findByParentOfficeIdIsNull(pageRequest);
     }
@@ -93,37 +121,77 @@ public class OfficeService {
     final OfficePage officePage = new OfficePage();
     officePage.setTotalPages(officeEntityPage.getTotalPages());
     officePage.setTotalElements(officeEntityPage.getTotalElements());
-    officePage.setOffices(this.extractOfficeEntities(officeEntityPage, null));
+    officePage.setOffices(this.extractOfficeEntities(officeEntityPage.getContent(), null, fieldSelection));
+
+    return officePage;
+  }
+
+  @Transactional(readOnly = true)
+  public OfficePage fetchOffices(final String term, final Keyset keyset, final int size, final FieldSelection fieldSelection) {
+    final List<OfficeEntity> officeEntities = this.officeRepository.findByKeyset(term, keyset, size + 1);
+
+    final OfficePage officePage = new OfficePage();
+    if (officeEntities.size() > size) {
+      final OfficeEntity lastOfficeEntity = officeEntities.get(size - 1);
+      officePage.setNextCursor(keyset.next(lastOfficeEntity, lastOfficeEntity.getId()).encode());
+      officePage.setOffices(this.extractOfficeEntities(officeEntities.subList(0, size), null, fieldSelection));
+    } else {
+      officePage.setOffices(this.extractOfficeEntities(officeEntities, null, fieldSelection));
+    }
 
     return officePage;
   }
 
   public Optional<Office> findOfficeByIdentifier(final String identifier) {
-    final Optional<OfficeEntity> officeEntityOptional = this.officeRepository.findByIdentifier(identifier);
+    final Optional<OfficeTree> optionalOfficeTree = this.officeTreeCache.get();
+    if (optionalOfficeTree.isPresent()) {
+      return optionalOfficeTree.get().find(identifier);
+    }
 
-    if (officeEntityOptional.isPresent()) {
-      final Optional<Office> officeOptional = officeEntityOptional.map(OfficeMapper::map);
+    return this.loadOfficeByIdentifier(identifier);
+  }
 
-      officeOptional.ifPresent(office -> {
-        final Long parentOfficeId = officeEntityOptional.get().getParentOfficeId();
-        if(parentOfficeId != null) {
-          final OfficeEntity parentEntity = this.officeRepository.getOne(parentOfficeId);
-          office.setParentIdentifier(parentEntity.getIdentifier());
-        }
+  public Optional<ResourceVersion> findOfficeVersion(final String identifier) {
+    final Optional<OfficeTree> optionalOfficeTree = this.officeTreeCache.getIfPresent();
+    final Optional<OfficeEntity> optionalOfficeEntity = optionalOfficeTree.isPresent()
+        ? optionalOfficeTree.get().findOfficeEntity(identifier)
+        : this.officeRepository.findByIdentifier(identifier);
 
-        final Optional<AddressEntity> addressEntityOptional = this.addressRepository.findByOffice(officeEntityOptional.get());
-        addressEntityOptional.ifPresent(addressEntity -> office.setAddress(AddressMapper.map(addressEntity)));
+    return optionalOfficeEntity.map(officeEntity -> ResourceVersion.of(officeEntity.getId(), officeEntity.getVersion(),
+        officeEntity.getCreatedOn(), officeEntity.getLastModifiedOn()));
+  }
 
-        office.setExternalReferences(
-            this.branchExists(office.getIdentifier())
-                || this.hasEmployees(office.getIdentifier())
-                || this.hasExternalReferences(office.getIdentifier())
-        );
-      });
+  public Optional<Office> loadOfficeByIdentifier(final String identifier) {
+    return this.officeRepository.findByIdentifier(identifier)
+        .flatMap(officeEntity -> this.extractOfficeEntities(Collections.singletonList(officeEntity), null)
+            .stream()
+            .findFirst());
+  }
+
+  @Transactional(readOnly = true)
+  public List<Office> findOfficesByIdentifiers(final Collection<String> identifiers) {
+    if (identifiers.isEmpty()) {
+      return Collections.emptyList();
+    }
 
-      return officeOptional;
+    final Optional<OfficeTree> optionalOfficeTree = this.officeTreeCache.get();
+    final Map<String, Office> offices;
+    if (optionalOfficeTree.isPresent()) {
+      offices = identifiers.stream()
+          .map(identifier -> optionalOfficeTree.get().find(identifier))
+          .filter(Optional::isPresent)
+          .map(Optional::get)
+          .collect(Collectors.toMap(Office::getIdentifier, Function.identity(), (first, second) -> first));
+    } else {
+      offices = this.extractOfficeEntities(this.officeRepository.findByIdentifierIn(identifiers), null)
+          .stream()
+          .collect(Collectors.toMap(Office::getIdentifier, Function.identity()));
     }
-    return Optional.empty();
+
+    return identifiers.stream()
+        .map(offices::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
   }
 
   public Optional<Address> findAddressOfOffice(final String identifier) {
@@ -139,40 +207,148 @@ public class OfficeService {
   }
 
   @Transactional(readOnly = true)
-  public OfficePage fetchBranches(final String parentIdentifier, final Pageable pageRequest) {
+  public OfficePage fetchBranches(final String parentIdentifier, final Pageable pageRequest, final FieldSelection fieldSelection) {
+    final Optional<OfficeTree> optionalOfficeTree = this.officeTreeCache.get();
+    if (optionalOfficeTree.isPresent()) {
+      final OfficeTree officeTree = optionalOfficeTree.get();
+      if (!officeTree.contains(parentIdentifier)) {
+        throw ServiceException.notFound("Parent office {0} not found!", parentIdentifier);
+      }
+
+      final Optional<Page<Office>> optionalBranchPage = officeTree.findBranches(parentIdentifier, pageRequest);
+      if (optionalBranchPage.isPresent()) {
+        final Page<Office> branchPage = optionalBranchPage.get();
+        final OfficePage officePage = new OfficePage();
+        officePage.setTotalPages(branchPage.getTotalPages());
+        officePage.setTotalElements(branchPage.getTotalElements());
+        officePage.setOffices(fieldSelection.isAll()
+            ? branchPage.getContent()
+            : branchPage.getContent().stream().map(office -> OfficeMapper.select(office, fieldSelection)).collect(Collectors.toList()));
+        return officePage;
+      }
+    }
+
     final OfficeEntity parentOfficeEntity = this.officeRepository.findByIdentifier(parentIdentifier)
         .orElseThrow(() -> ServiceException.notFound("Parent office {0} not found!", parentIdentifier));
 
-    final Page<OfficeEntity> officeEntityPage = this.officeRepository.findByParentOfficeId(parentOfficeEntity.getId(), pageRequest);
+    final Page<OfficeEntity> officeEntityPage = fieldSelection.isAll()
+        ? this.officeRepository.findByParentOfficeId(parentOfficeEntity.getId(), pageRequest)
+        : this.officeRepository.findProjected(null, parentOfficeEntity.getId(), pageRequest, fieldSelection);
+    final OfficePage officePage = new OfficePage();
+    officePage.setTotalPages(officeEntityPage.getTotalPages());
+    officePage.setTotalElements(officeEntityPage.getTotalElements());
+    officePage.setOffices(this.extractOfficeEntities(officeEntityPage.getContent(), parentIdentifier, fieldSelection));
+
+    return officePage;
+  }
+
+  @Transactional(readOnly = true)
+  public OfficePage fetchDescendants(final String identifier, final Integer maxDepth, final Pageable pageRequest) {
+    final OfficeEntity officeEntity = this.officeRepository.findByIdentifier(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", identifier));
+
+    final Page<OfficeEntity> officeEntityPage =
+        this.officeHierarchyRepository.findDescendants(officeEntity.getId(), this.depthLimit(maxDepth), pageRequest);
+    final OfficePage officePage = new OfficePage();
+    officePage.setTotalPages(officeEntityPage.getTotalPages());
+    officePage.setTotalElements(officeEntityPage.getTotalElements());
+    officePage.setOffices(this.extractOfficeEntities(officeEntityPage, null));
+
+    return officePage;
+  }
+
+  @Transactional(readOnly = true)
+  public OfficePage fetchAncestors(final String identifier, final Integer maxDepth, final Pageable pageRequest) {
+    final OfficeEntity officeEntity = this.officeRepository.findByIdentifier(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", identifier));
+
+    final Page<OfficeEntity> officeEntityPage =
+        this.officeHierarchyRepository.findAncestors(officeEntity.getId(), this.depthLimit(maxDepth), pageRequest);
     final OfficePage officePage = new OfficePage();
     officePage.setTotalPages(officeEntityPage.getTotalPages());
     officePage.setTotalElements(officeEntityPage.getTotalElements());
-    officePage.setOffices(this.extractOfficeEntities(officeEntityPage, parentIdentifier));
+    officePage.setOffices(this.extractOfficeEntities(officeEntityPage, null));
 
     return officePage;
   }
 
   public List<Office> extractOfficeEntities(final Page<OfficeEntity> officeEntityPage, final String parentIdentifier) {
-    final List<Office> offices = new ArrayList<>(officeEntityPage.getSize());
-    officeEntityPage.forEach(officeEntity -> {
+    return this.extractOfficeEntities(officeEntityPage.getContent(), parentIdentifier);
+  }
+
+  public List<Office> extractOfficeEntities(final List<OfficeEntity> officeEntities, final String parentIdentifier) {
+    return this.extractOfficeEntities(officeEntities, parentIdentifier, FieldSelection.all());
+  }
+
+  public List<Office> extractOfficeEntities(final List<OfficeEntity> officeEntities, final String parentIdentifier,
+                                            final FieldSelection fieldSelection) {
+    final List<Office> offices = new ArrayList<>(officeEntities.size());
+    if (officeEntities.isEmpty()) {
+      return offices;
+    }
+
+    final Set<Long> officeIds = officeEntities.stream().map(OfficeEntity::getId).collect(Collectors.toSet());
+    final Set<String> officeIdentifiers = officeEntities.stream().map(OfficeEntity::getIdentifier).collect(Collectors.toSet());
+
+    final Map<Long, AddressEntity> addressEntities = fieldSelection.expands("address")
+        ? this.addressRepository.findByOfficeIds(officeIds)
+            .stream()
+            .collect(Collectors.toMap(addressEntity -> addressEntity.getOffice().getId(), Function.identity(), (first, second) -> first))
+        : Collections.emptyMap();
+    final boolean externalReferences = fieldSelection.expands("externalReferences");
+    final Set<Long> officesWithBranches = externalReferences
+        ? new HashSet<>(this.officeRepository.findParentOfficeIds(officeIds)) : Collections.emptySet();
+    final Set<Long> officesWithEmployees = externalReferences
+        ? new HashSet<>(this.employeeRepository.findAssignedOfficeIds(officeIds)) : Collections.emptySet();
+    final Set<String> officesWithActiveReferences = externalReferences
+        ? new HashSet<>(this.externalReferenceRepository.findOfficeIdentifiersByState(officeIdentifiers, ExternalReference.State.ACTIVE.name()))
+        : Collections.emptySet();
+
+    final Map<Long, String> parentIdentifiers;
+    if (parentIdentifier == null && fieldSelection.includes("parentIdentifier")) {
+      final Set<Long> parentOfficeIds = officeEntities.stream()
+          .map(OfficeEntity::getParentOfficeId)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toSet());
+      parentIdentifiers = parentOfficeIds.isEmpty()
+          ? Collections.emptyMap()
+          : this.officeRepository.findAll(parentOfficeIds)
+              .stream()
+              .collect(Collectors.toMap(OfficeEntity::getId, OfficeEntity::getIdentifier));
+    } else {
+      parentIdentifiers = Collections.emptyMap();
+    }
+
+    officeEntities.forEach(officeEntity -> {
       final Office office = OfficeMapper.map(officeEntity);
       if (parentIdentifier != null) {
         office.setParentIdentifier(parentIdentifier);
+      } else if (officeEntity.getParentOfficeId() != null) {
+        office.setParentIdentifier(parentIdentifiers.get(officeEntity.getParentOfficeId()));
       }
       offices.add(office);
 
-      final Optional<AddressEntity> addressEntityOptional = this.addressRepository.findByOffice(officeEntity);
-      addressEntityOptional.ifPresent(addressEntity -> office.setAddress(AddressMapper.map(addressEntity)));
+      final AddressEntity addressEntity = addressEntities.get(officeEntity.getId());
+      if (addressEntity != null) {
+        office.setAddress(AddressMapper.map(addressEntity));
+      }
 
       office.setExternalReferences(
-          this.branchExists(office.getIdentifier())
-              || this.hasEmployees(office.getIdentifier())
-              || this.hasExternalReferences(office.getIdentifier())
+          officesWithBranches.contains(officeEntity.getId())
+              || officesWithEmployees.contains(officeEntity.getId())
+              || officesWithActiveReferences.contains(officeEntity.getIdentifier())
       );
+      if (!fieldSelection.isAll()) {
+        OfficeMapper.select(office, fieldSelection);
+      }
     });
     return offices;
   }
 
+  private Integer depthLimit(final Integer maxDepth) {
+    return maxDepth != null ? maxDepth : Integer.MAX_VALUE;
+  }
+
   public boolean hasExternalReferences(final String officeIdentifier) {
     return this.externalReferenceRepository.findByOfficeIdentifier(officeIdentifier)
         .stream()
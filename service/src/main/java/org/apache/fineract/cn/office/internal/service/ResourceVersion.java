@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.internal.service;
+
+import java.util.Date;
+
+public final class ResourceVersion {
+
+  private final String eTag;
+  private final long lastModified;
+
+  private ResourceVersion(final String eTag, final long lastModified) {
+    super();
+    this.eTag = eTag;
+    this.lastModified = lastModified;
+  }
+
+  static ResourceVersion of(final Long id, final Long version, final Date createdOn, final Date lastModifiedOn) {
+    final Date modifiedOn = lastModifiedOn != null ? lastModifiedOn : createdOn;
+    // the row id keeps a resource re-created under the same identifier from matching an old tag
+    return new ResourceVersion("\"" + id + "-" + version + "\"", modifiedOn != null ? modifiedOn.getTime() : -1L);
+  }
+
+  public String getETag() {
+    return this.eTag;
+  }
+
+  public long getLastModified() {
+    return this.lastModified;
+  }
+}
@@ -26,8 +26,11 @@ import org.apache.fineract.cn.lang.config.EnableServiceException;
 import org.apache.fineract.cn.lang.config.EnableTenantContext;
 import org.apache.fineract.cn.office.ServiceConstants;
 import org.apache.fineract.cn.office.internal.config.OfficeServiceConfiguration;
+import org.apache.fineract.cn.office.rest.controller.CommandWorkerPostProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Bean;
@@ -62,6 +65,28 @@ public class OfficeRestConfiguration extends WebMvcConfigurerAdapter {
     return LoggerFactory.getLogger(ServiceConstants.REST_LOGGER_NAME);
   }
 
+  @Bean
+  public StatementBudget statementBudget() {
+    return new StatementBudget();
+  }
+
+  @Bean
+  public StatementTimingFilter statementTimingFilter(@Qualifier(ServiceConstants.REST_LOGGER_NAME) final Logger logger,
+                                                     final StatementBudget statementBudget,
+                                                     @Value("${office.statements.repeatThreshold:10}") final int repeatThreshold) {
+    return new StatementTimingFilter(logger, statementBudget, repeatThreshold);
+  }
+
+  @Bean
+  public static VirtualThreadPostProcessor virtualThreadPostProcessor() {
+    return new VirtualThreadPostProcessor();
+  }
+
+  @Bean
+  public static CommandWorkerPostProcessor commandWorkerPostProcessor() {
+    return new CommandWorkerPostProcessor();
+  }
+
   @Override
   public void configurePathMatch(final PathMatchConfigurer configurer) {
     configurer.setUseSuffixPatternMatch(Boolean.FALSE);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.fineract.cn.office.internal.config.StatementStatistics;
+
+/**
+ * Lets tests declare how many statements an endpoint may execute per request. Requests exceeding
+ * their endpoint's budget are collected until {@link #verify()} is called. Endpoints are given as
+ * method and mapping, e.g. {@code GET /offices/{identifier}/branches}.
+ */
+public class StatementBudget {
+
+  private final Map<String, Integer> budgets;
+  private final List<String> violations;
+
+  public StatementBudget() {
+    super();
+    this.budgets = new ConcurrentHashMap<>();
+    this.violations = new CopyOnWriteArrayList<>();
+  }
+
+  public void declare(final String endpoint, final int maximumStatements) {
+    this.budgets.put(endpoint, maximumStatements);
+  }
+
+  public void reset() {
+    this.budgets.clear();
+    this.violations.clear();
+  }
+
+  /**
+   * @throws AssertionError listing every request that exceeded its budget since the last call
+   */
+  public void verify() {
+    if (!this.violations.isEmpty()) {
+      final String message = String.join("\n", this.violations);
+      this.violations.clear();
+      throw new AssertionError("Statement budget exceeded:\n" + message);
+    }
+  }
+
+  void record(final String endpoint, final StatementStatistics statementStatistics) {
+    final Integer budget = this.budgets.get(endpoint);
+    if (budget != null && statementStatistics.getCount() > budget) {
+      this.violations.add(endpoint + " executed " + statementStatistics.getCount() + " statements, "
+          + budget + " allowed. Repeated: " + statementStatistics.getRepeatedStatements(2));
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.apache.fineract.cn.office.internal.config.StatementStatistics;
+import org.slf4j.Logger;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the statements each request executes and reports them in a {@code Server-Timing} header,
+ * in the log and to the {@link StatementBudget}. Statements are taken as of the moment the response
+ * is committed, so a streamed response reports those executed before its first bytes.
+ */
+public class StatementTimingFilter extends OncePerRequestFilter {
+
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private final Logger logger;
+  private final StatementBudget statementBudget;
+  private final int repeatThreshold;
+
+  public StatementTimingFilter(final Logger logger, final StatementBudget statementBudget, final int repeatThreshold) {
+    super();
+    this.logger = logger;
+    this.statementBudget = statementBudget;
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                  final FilterChain filterChain) throws ServletException, IOException {
+    final StatementStatistics statementStatistics = StatementStatistics.begin();
+    final TimedResponse timedResponse = new TimedResponse(request, response, statementStatistics);
+    try {
+      filterChain.doFilter(request, timedResponse);
+    } finally {
+      timedResponse.report();
+      StatementStatistics.end();
+    }
+  }
+
+  private void report(final HttpServletRequest request, final HttpServletResponse response,
+                      final StatementStatistics statementStatistics) {
+    final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    final String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+    response.setHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+        statementStatistics.getDurationInMillis(), statementStatistics.getCount()));
+    this.logger.debug("{} executed {} statements in {} ms.", endpoint, statementStatistics.getCount(),
+        statementStatistics.getDurationInMillis());
+    statementStatistics.getRepeatedStatements(this.repeatThreshold).forEach((sql, executions) ->
+        this.logger.warn("{} executed the same statement {} times, possibly once per row: {}", endpoint, executions, sql));
+    this.statementBudget.record(endpoint, statementStatistics);
+  }
+
+  private class TimedResponse extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private final StatementStatistics statementStatistics;
+    private boolean reported;
+
+    TimedResponse(final HttpServletRequest request, final HttpServletResponse response,
+                  final StatementStatistics statementStatistics) {
+      super(response);
+      this.request = request;
+      this.statementStatistics = statementStatistics;
+    }
+
+    // headers can't be added once the response is committed
+    void report() {
+      if (!this.reported) {
+        this.reported = true;
+        StatementTimingFilter.this.report(this.request, (HttpServletResponse) this.getResponse(), this.statementStatistics);
+      }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      this.report();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      this.report();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      this.report();
+      super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(final int sc) throws IOException {
+      this.report();
+      super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(final int sc, final String msg) throws IOException {
+      this.report();
+      super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(final String location) throws IOException {
+      this.report();
+      super.sendRedirect(location);
+    }
+  }
+}
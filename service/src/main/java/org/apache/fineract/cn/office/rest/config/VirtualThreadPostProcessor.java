@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import org.apache.fineract.cn.api.util.UserContext;
+import org.apache.fineract.cn.api.util.UserContextHolder;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+/**
+ * Moves Jetty's request handling and the asynchronous command executor onto virtual threads if
+ * {@code office.threads.virtual.enabled} is set and the JVM supports them. Neither executor is
+ * bounded then, concurrency is limited by the connection pool the blocking work waits on.
+ *
+ * <p>Runs ahead of the other post processors, so it sees the {@link AsyncAnnotationBeanPostProcessor}
+ * before that starts proxying beans.</p>
+ */
+public class VirtualThreadPostProcessor
+    implements BeanPostProcessor, PriorityOrdered, BeanFactoryAware, EnvironmentAware, DisposableBean {
+
+  private final Logger logger;
+  private final List<ExecutorService> executorServices;
+  private BeanFactory beanFactory;
+  private Environment environment;
+
+  public VirtualThreadPostProcessor() {
+    super();
+    this.logger = LoggerFactory.getLogger(ServiceConstants.REST_LOGGER_NAME);
+    this.executorServices = new ArrayList<>();
+  }
+
+  @Override
+  public void setBeanFactory(final BeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+  }
+
+  @Override
+  public void setEnvironment(final Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+    if (!(bean instanceof JettyEmbeddedServletContainerFactory || bean instanceof AsyncAnnotationBeanPostProcessor)
+        || !this.environment.getProperty("office.threads.virtual.enabled", Boolean.class, Boolean.FALSE)) {
+      return bean;
+    }
+
+    final Optional<ThreadFactory> threadFactory = VirtualThreads.factory(
+        bean instanceof AsyncAnnotationBeanPostProcessor ? "async-virtual-" : "jetty-virtual-");
+    if (!threadFactory.isPresent()) {
+      this.logger.warn("Virtual threads are not supported by this JVM, {} stays on platform threads.", beanName);
+      return bean;
+    }
+
+    final ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor(threadFactory.get());
+    if (bean instanceof JettyEmbeddedServletContainerFactory) {
+      // Jetty shuts the executor down when it stops
+      ((JettyEmbeddedServletContainerFactory) bean).setThreadPool(new ExecutorThreadPool(executorService));
+      this.logger.info("Handling requests on virtual threads.");
+      return bean;
+    }
+
+    this.executorServices.add(executorService);
+    final AsyncAnnotationBeanPostProcessor asyncAnnotationBeanPostProcessor = (AsyncAnnotationBeanPostProcessor) bean;
+    asyncAnnotationBeanPostProcessor.setExecutor(withContext(executorService));
+    // the advisor holding the executor is built when the bean factory is set, which already happened
+    asyncAnnotationBeanPostProcessor.setBeanFactory(this.beanFactory);
+    this.logger.info("Processing commands on virtual threads.");
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    return bean;
+  }
+
+  @Override
+  public void destroy() {
+    this.executorServices.forEach(ExecutorService::shutdown);
+  }
+
+  // carries over the contexts the replaced executor carries over
+  private static Executor withContext(final ExecutorService executorService) {
+    return runnable -> {
+      final Optional<String> tenant = TenantContextHolder.identifier();
+      final Optional<UserContext> userContext = UserContextHolder.getUserContext();
+      executorService.execute(() -> {
+        tenant.ifPresent(TenantContextHolder::setIdentifier);
+        userContext.ifPresent(context -> UserContextHolder.setAccessToken(context.getUser(), context.getAccessToken()));
+        try {
+          runnable.run();
+        } finally {
+          UserContextHolder.clear();
+          TenantContextHolder.clear();
+        }
+      });
+    };
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.config;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads where the running JVM provides them. The service is built for Java 8,
+ * so the JDK 21 API is looked up reflectively.
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {
+    super();
+  }
+
+  public static Optional<ThreadFactory> factory(final String namePrefix) {
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Object builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(Thread.class.getMethod("ofVirtual").invoke(null), namePrefix, 0L);
+      return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+    } catch (final ReflectiveOperationException | LinkageError ex) {
+      return Optional.empty();
+    }
+  }
+
+  public static ExecutorService newThreadPerTaskExecutor(final ThreadFactory threadFactory) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+          .invoke(null, threadFactory);
+    } catch (final ReflectiveOperationException ex) {
+      throw new IllegalStateException("Could not create thread per task executor.", ex);
+    }
+  }
+}
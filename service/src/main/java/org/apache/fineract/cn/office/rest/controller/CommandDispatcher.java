@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.controller;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import org.apache.fineract.cn.command.domain.CommandCallback;
+import org.apache.fineract.cn.command.gateway.CommandGateway;
+import org.apache.fineract.cn.lang.ServiceException;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.internal.config.ReplicaRoutingDataSource;
+import org.apache.fineract.cn.office.internal.service.CommandMetrics;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands write commands to the {@link CommandGateway}. Requests carrying
+ * {@code Prefer: return=representation} wait for the command to complete, bounded by
+ * {@code office.commands.completionTimeout}, and receive the resulting resource instead
+ * of a bare 202. If the command does not finish in time the request falls back to 202. Without the
+ * {@link CommandQueue} at most {@code office.commands.completionThreads} requests wait at a time,
+ * further ones receive 202 right away.
+ * If the {@link CommandQueue} is enabled and full, commands are answered with 429.
+ */
+@Component
+public class CommandDispatcher {
+
+  static final String PREFER_HEADER = "Prefer";
+  static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+  static final String RETURN_REPRESENTATION = "return=representation";
+  static final String RETRY_AFTER_HEADER = "Retry-After";
+
+  private final Logger logger;
+  private final CommandGateway commandGateway;
+  private final CommandQueue commandQueue;
+  private final CommandMetrics commandMetrics;
+  private final HttpServletRequest request;
+  private final long completionTimeout;
+  private final long retryAfter;
+  private final ThreadPoolExecutor completionExecutor;
+
+  @Autowired
+  public CommandDispatcher(@Qualifier(ServiceConstants.REST_LOGGER_NAME) final Logger logger,
+                           final CommandGateway commandGateway,
+                           final CommandQueue commandQueue,
+                           final CommandMetrics commandMetrics,
+                           final HttpServletRequest request,
+                           @Value("${office.commands.completionTimeout:5000}") final long completionTimeout,
+                           @Value("${office.commands.completionThreads:32}") final int completionThreads,
+                           @Value("${office.commands.queue.retryAfter:1}") final long retryAfter) {
+    super();
+    this.logger = logger;
+    this.commandGateway = commandGateway;
+    this.commandQueue = commandQueue;
+    this.commandMetrics = commandMetrics;
+    this.request = request;
+    this.completionTimeout = completionTimeout;
+    this.retryAfter = retryAfter;
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.completionExecutor = new ThreadPoolExecutor(0, completionThreads, 60L, TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        runnable -> {
+          final Thread thread = new Thread(runnable, "command-completion-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public ResponseEntity<Void> dispatch(final Object command) {
+    return this.dispatch(command, HttpStatus.NO_CONTENT, () -> null);
+  }
+
+  public <T> ResponseEntity<T> dispatch(final Object command,
+                                        final HttpStatus completedStatus,
+                                        final Supplier<T> representation) {
+    this.commandMetrics.dispatched(command);
+    final Future<Object> completion;
+    if (this.commandQueue.isEnabled()) {
+      try {
+        completion = this.commandQueue.submit(command);
+      } catch (final RejectedExecutionException ex) {
+        this.logger.info("Command queue is full, rejecting {}.", command.getClass().getSimpleName());
+        return this.tooManyRequests();
+      }
+      if (!this.representationRequested()) {
+        return ResponseEntity.accepted().build();
+      }
+    } else {
+      if (!this.representationRequested()) {
+        this.commandGateway.process(command);
+        return ResponseEntity.accepted().build();
+      }
+      // CommandCallback blocks without a limit, so the wait happens on a separate thread.
+      final CommandCallback<Object> callback = this.commandGateway.process(command, Object.class);
+      try {
+        completion = this.completionExecutor.submit(callback::get);
+      } catch (final RejectedExecutionException ex) {
+        this.logger.info("Too many requests waiting for commands, not waiting for {}.", command.getClass().getSimpleName());
+        return ResponseEntity.accepted().build();
+      }
+    }
+
+    try {
+      completion.get(this.completionTimeout, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException ex) {
+      this.logger.info("Command {} did not complete within {} ms.", command.getClass().getSimpleName(), this.completionTimeout);
+      // frees the completion thread; a queued command keeps its worker until it is done
+      if (!this.commandQueue.isEnabled()) {
+        completion.cancel(true);
+      }
+      return ResponseEntity.accepted().build();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return ResponseEntity.accepted().build();
+    } catch (final ExecutionException ex) {
+      throw this.unwrap(ex.getCause());
+    }
+
+    // the command has just committed on the primary, a replica might not have it yet
+    final T body = ReplicaRoutingDataSource.onPrimary(representation);
+    if (body == null) {
+      return ResponseEntity.noContent().header(PREFERENCE_APPLIED_HEADER, RETURN_REPRESENTATION).build();
+    }
+    return ResponseEntity.status(completedStatus).header(PREFERENCE_APPLIED_HEADER, RETURN_REPRESENTATION).body(body);
+  }
+
+  /**
+   * Runs the command through the command queue, if it is enabled, and waits for its result. Unlike
+   * {@link #dispatch}, this is for callers that need the result to continue, e.g. to import the
+   * next chunk of employees.
+   *
+   * @throws RejectedExecutionException if the command queue is full and rejects commands
+   */
+  public <T> T process(final Object command, final Class<T> resultType) {
+    this.commandMetrics.dispatched(command);
+    if (!this.commandQueue.isEnabled()) {
+      return this.commandGateway.process(command, resultType).get();
+    }
+
+    final Future<Object> completion;
+    try {
+      completion = this.commandQueue.submit(command);
+    } catch (final RejectedExecutionException ex) {
+      this.logger.info("Command queue is full, rejecting {}.", command.getClass().getSimpleName());
+      throw ex;
+    }
+    try {
+      return resultType.cast(completion.get());
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    } catch (final ExecutionException ex) {
+      // the same exceptions the command gateway throws when called directly
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  <T> ResponseEntity<T> tooManyRequests() {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(RETRY_AFTER_HEADER, String.valueOf(this.retryAfter))
+        .build();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.completionExecutor.shutdownNow();
+  }
+
+  private boolean representationRequested() {
+    final String prefer = this.request.getHeader(PREFER_HEADER);
+    return prefer != null && prefer.contains(RETURN_REPRESENTATION);
+  }
+
+  private RuntimeException unwrap(final Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause != null) {
+      if (cause instanceof ServiceException) {
+        return (ServiceException) cause;
+      }
+      cause = cause.getCause();
+    }
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    return new IllegalStateException(throwable);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.controller;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.cn.api.util.UserContext;
+import org.apache.fineract.cn.api.util.UserContextHolder;
+import org.apache.fineract.cn.command.gateway.CommandGateway;
+import org.apache.fineract.cn.lang.TenantContextHolder;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.rest.config.VirtualThreads;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded execution of write commands. Each worker hands one command to the
+ * {@link CommandGateway}, and the {@link CommandWorkerPostProcessor} makes the handler run on that
+ * worker, so no more commands run at a time than there are workers, by default as many as the
+ * connection pool holds. Commands beyond that wait in a bounded queue, or are handed to a worker
+ * directly if the capacity is 0. Once the queue is full, commands are either rejected, which the
+ * {@link CommandDispatcher} answers with 429, or run on the request thread. Workers are virtual
+ * threads if {@code office.threads.virtual.enabled} is set.
+ */
+@Component
+public class CommandQueue {
+
+  enum RejectionPolicy {
+    REJECT,
+    CALLER_RUNS
+  }
+
+  private static final ThreadLocal<Boolean> RUNNING_COMMAND = new ThreadLocal<>();
+
+  private final Logger logger;
+  private final CommandGateway commandGateway;
+  private final boolean enabled;
+  private final ThreadPoolExecutor executor;
+  private final Counter rejections;
+
+  @Autowired
+  public CommandQueue(@Qualifier(ServiceConstants.REST_LOGGER_NAME) final Logger logger,
+                      final CommandGateway commandGateway,
+                      final MetricRegistry metricRegistry,
+                      @Value("${office.commands.queue.enabled:true}") final boolean enabled,
+                      @Value("${office.commands.queue.workers:0}") final int workers,
+                      @Value("${office.commands.queue.capacity:100}") final int capacity,
+                      @Value("${office.commands.queue.rejectionPolicy:REJECT}") final RejectionPolicy rejectionPolicy,
+                      @Value("${office.threads.virtual.enabled:false}") final boolean virtualThreads,
+                      @Value("${bonecp.partitionCount:2}") final int partitionCount,
+                      @Value("${bonecp.maxConnectionsPerPartition:10}") final int maxConnectionsPerPartition) {
+    super();
+    this.logger = logger;
+    this.commandGateway = commandGateway;
+    this.enabled = enabled;
+    this.rejections = metricRegistry.counter("office.commands.queue.rejections");
+
+    if (!enabled) {
+      this.executor = null;
+      return;
+    }
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Command queue capacity must not be negative, was " + capacity + ".");
+    }
+
+    final int poolSize = workers > 0 ? workers : partitionCount * maxConnectionsPerPartition;
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadFactory threadFactory = (virtualThreads ? VirtualThreads.factory("command-worker-") : Optional.<ThreadFactory>empty())
+        .orElse(runnable -> {
+          final Thread thread = new Thread(runnable, "command-worker-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    final RejectedExecutionHandler rejectedExecutionHandler = rejectionPolicy == RejectionPolicy.CALLER_RUNS
+        ? new ThreadPoolExecutor.CallerRunsPolicy()
+        : new ThreadPoolExecutor.AbortPolicy();
+    final BlockingQueue<Runnable> queue = capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new SynchronousQueue<>();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        queue,
+        threadFactory,
+        (runnable, threadPoolExecutor) -> {
+          this.rejections.inc();
+          rejectedExecutionHandler.rejectedExecution(runnable, threadPoolExecutor);
+        });
+
+    metricRegistry.register("office.commands.queue.depth", (Gauge<Integer>) () -> this.executor.getQueue().size());
+    metricRegistry.register("office.commands.queue.active", (Gauge<Integer>) this.executor::getActiveCount);
+    this.logger.info("Executing commands on {} workers with a queue of {}, {} when full.", poolSize, capacity, rejectionPolicy);
+  }
+
+  boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Tells whether the current thread is running a queued command, either as a worker or as the
+   * request thread under {@code CALLER_RUNS}.
+   */
+  static boolean isRunningCommand() {
+    return RUNNING_COMMAND.get() != null;
+  }
+
+  /**
+   * Queues the command and returns a future completing with its result.
+   *
+   * @throws RejectedExecutionException if the queue is full and the rejection policy is {@code REJECT}
+   */
+  Future<Object> submit(final Object command) {
+    final String tenant = TenantContextHolder.checkedGetIdentifier();
+    final Optional<UserContext> userContext = UserContextHolder.getUserContext();
+
+    return this.executor.submit(() -> {
+      // with CALLER_RUNS this is the request thread, which keeps both contexts afterwards
+      final Optional<String> previousTenant = TenantContextHolder.identifier();
+      final Optional<UserContext> previousUserContext = UserContextHolder.getUserContext();
+      TenantContextHolder.setIdentifier(tenant);
+      userContext.ifPresent(CommandQueue::setUserContext);
+      RUNNING_COMMAND.set(Boolean.TRUE);
+      try {
+        return this.commandGateway.process(command, Object.class).get();
+      } finally {
+        RUNNING_COMMAND.remove();
+        TenantContextHolder.clear();
+        previousTenant.ifPresent(TenantContextHolder::setIdentifier);
+        UserContextHolder.clear();
+        previousUserContext.ifPresent(CommandQueue::setUserContext);
+      }
+    });
+  }
+
+  private static void setUserContext(final UserContext userContext) {
+    UserContextHolder.setAccessToken(userContext.getUser(), userContext.getAccessToken());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (this.executor != null) {
+      this.executor.shutdown();
+    }
+  }
+}
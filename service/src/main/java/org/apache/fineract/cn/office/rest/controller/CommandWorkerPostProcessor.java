@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cn.office.rest.controller;
+
+import java.util.concurrent.Executor;
+import org.apache.fineract.cn.office.ServiceConstants;
+import org.apache.fineract.cn.office.rest.config.VirtualThreadPostProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+/**
+ * Runs asynchronous invocations made while a {@link CommandQueue} worker runs a command on that
+ * worker, if {@code office.commands.queue.enabled} is set. The command gateway invokes handlers
+ * asynchronously, so otherwise each queued command would take a worker waiting for it and a thread
+ * of the asynchronous executor running it, and handlers would not be bounded by the queue.
+ *
+ * <p>Runs right after the {@link VirtualThreadPostProcessor}, so it wraps the executor that one
+ * chose.</p>
+ */
+public class CommandWorkerPostProcessor implements BeanPostProcessor, PriorityOrdered, BeanFactoryAware, EnvironmentAware {
+
+  private final Logger logger;
+  private BeanFactory beanFactory;
+  private Environment environment;
+
+  public CommandWorkerPostProcessor() {
+    super();
+    this.logger = LoggerFactory.getLogger(ServiceConstants.REST_LOGGER_NAME);
+  }
+
+  @Override
+  public void setBeanFactory(final BeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+  }
+
+  @Override
+  public void setEnvironment(final Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE + 1;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+    if (!(bean instanceof AsyncAnnotationBeanPostProcessor)
+        || !this.environment.getProperty("office.commands.queue.enabled", Boolean.class, Boolean.TRUE)) {
+      return bean;
+    }
+
+    // set by the async configuration before the post processor is initialized, there is no getter
+    final Executor executor = (Executor) new DirectFieldAccessor(bean).getPropertyValue("executor");
+    if (executor == null) {
+      this.logger.warn("No asynchronous executor configured, command handlers do not run on queue workers.");
+      return bean;
+    }
+
+    final AsyncAnnotationBeanPostProcessor asyncAnnotationBeanPostProcessor = (AsyncAnnotationBeanPostProcessor) bean;
+    asyncAnnotationBeanPostProcessor.setExecutor(runnable -> {
+      if (CommandQueue.isRunningCommand()) {
+        runnable.run();
+      } else {
+        executor.execute(runnable);
+      }
+    });
+    // the advisor holding the executor is built when the bean factory is set, which already happened
+    asyncAnnotationBeanPostProcessor.setBeanFactory(this.beanFactory);
+    this.logger.info("Running command handlers on command queue workers.");
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    return bean;
+  }
+}
@@ -20,19 +20,34 @@ package org.apache.fineract.cn.office.rest.controller;
 
 import org.apache.fineract.cn.office.api.v1.PermittableGroupIds;
 import org.apache.fineract.cn.office.api.v1.domain.Address;
+import org.apache.fineract.cn.office.api.v1.domain.ChangePage;
 import org.apache.fineract.cn.office.api.v1.domain.ContactDetail;
 import org.apache.fineract.cn.office.api.v1.domain.Employee;
+import org.apache.fineract.cn.office.api.v1.domain.EmployeeImportReport;
 import org.apache.fineract.cn.office.api.v1.domain.EmployeePage;
 import org.apache.fineract.cn.office.api.v1.domain.ExternalReference;
 import org.apache.fineract.cn.office.api.v1.domain.Office;
+import org.apache.fineract.cn.office.api.v1.domain.OfficeNode;
 import org.apache.fineract.cn.office.api.v1.domain.OfficePage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import org.apache.fineract.cn.anubis.annotation.AcceptedTokenType;
 import org.apache.fineract.cn.anubis.annotation.Permittable;
 import org.apache.fineract.cn.command.gateway.CommandGateway;
 import org.apache.fineract.cn.lang.ServiceException;
+import org.apache.fineract.cn.lang.TenantContextHolder;
 import org.apache.fineract.cn.office.internal.command.AddBranchCommand;
 import org.apache.fineract.cn.office.internal.command.AddExternalReferenceCommand;
 import org.apache.fineract.cn.office.internal.command.CreateEmployeeCommand;
@@ -41,17 +56,28 @@ import org.apache.fineract.cn.office.internal.command.DeleteAddressOfOfficeComma
 import org.apache.fineract.cn.office.internal.command.DeleteContactDetailCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteEmployeeCommand;
 import org.apache.fineract.cn.office.internal.command.DeleteOfficeCommand;
+import org.apache.fineract.cn.office.internal.command.ImportEmployeesCommand;
+import org.apache.fineract.cn.office.internal.command.ImportOfficesCommand;
 import org.apache.fineract.cn.office.internal.command.InitializeServiceCommand;
 import org.apache.fineract.cn.office.internal.command.SetAddressForOfficeCommand;
 import org.apache.fineract.cn.office.internal.command.SetContactDetailsCommand;
 import org.apache.fineract.cn.office.internal.command.UpdateEmployeeCommand;
 import org.apache.fineract.cn.office.internal.command.UpdateOfficeCommand;
+import org.apache.fineract.cn.office.internal.repository.ChangeCursor;
+import org.apache.fineract.cn.office.internal.repository.FieldSelection;
+import org.apache.fineract.cn.office.internal.repository.Keyset;
+import org.apache.fineract.cn.office.internal.service.ChangeService;
+import org.apache.fineract.cn.office.internal.service.CommandMetrics;
+import org.apache.fineract.cn.office.internal.service.EmployeeImportService;
 import org.apache.fineract.cn.office.internal.service.EmployeeService;
+import org.apache.fineract.cn.office.internal.service.ExportService;
 import org.apache.fineract.cn.office.internal.service.OfficeService;
+import org.apache.fineract.cn.office.internal.service.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -61,23 +87,44 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/")
 public class OfficeRestController {
 
+  private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+  private static final String CSV_MEDIA_TYPE = "text/csv";
+  private static final int MAX_LOOKUP_IDENTIFIERS = 1000;
+  private static final int MAX_KEYSET_SIZE = 1000;
+
   private final CommandGateway commandGateway;
+  private final CommandDispatcher commandDispatcher;
   private final OfficeService officeService;
   private final EmployeeService employeeService;
+  private final ExportService exportService;
+  private final EmployeeImportService employeeImportService;
+  private final ChangeService changeService;
+  private final CommandMetrics commandMetrics;
 
   @Autowired
   public OfficeRestController(final CommandGateway commandGateway,
+                              final CommandDispatcher commandDispatcher,
                               final OfficeService officeService,
-                              final EmployeeService employeeService) {
+                              final EmployeeService employeeService,
+                              final ExportService exportService,
+                              final EmployeeImportService employeeImportService,
+                              final ChangeService changeService,
+                              final CommandMetrics commandMetrics) {
     super();
     this.commandGateway = commandGateway;
+    this.commandDispatcher = commandDispatcher;
     this.officeService = officeService;
     this.employeeService = employeeService;
+    this.exportService = exportService;
+    this.employeeImportService = employeeImportService;
+    this.changeService = changeService;
+    this.commandMetrics = commandMetrics;
   }
 
   @Permittable(value = AcceptedTokenType.SYSTEM)
@@ -103,7 +150,7 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> createOffice(@RequestBody @Valid final Office office) throws InterruptedException {
+  ResponseEntity<Office> createOffice(@RequestBody @Valid final Office office) throws InterruptedException {
     if (office == null) {
       throw ServiceException.badRequest("An office must be given.");
     }
@@ -111,8 +158,46 @@ public class OfficeRestController {
     if (this.officeService.officeExists(office.getIdentifier())) {
       throw ServiceException.conflict("Office {0} already exists.", office.getIdentifier());
     }
-    this.commandGateway.process(new CreateOfficeCommand(office));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new CreateOfficeCommand(office), HttpStatus.CREATED,
+        () -> this.officeService.findOfficeByIdentifier(office.getIdentifier()).orElse(null));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.POST,
+      params = "import",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<Office> importOffices(@RequestBody @Valid final OfficeNode officeNode) {
+    final String parentIdentifier = officeNode.getOffice().getParentIdentifier();
+    if (parentIdentifier != null && !this.officeService.officeExists(parentIdentifier)) {
+      throw ServiceException.notFound("Parent office {0} not found.", parentIdentifier);
+    }
+
+    final Set<String> identifiers = new HashSet<>();
+    final Deque<OfficeNode> officeNodes = new ArrayDeque<>();
+    officeNodes.push(officeNode);
+    while (!officeNodes.isEmpty()) {
+      final OfficeNode currentOfficeNode = officeNodes.pop();
+      if (!identifiers.add(currentOfficeNode.getOffice().getIdentifier())) {
+        throw ServiceException.badRequest("Office {0} is listed more than once.", currentOfficeNode.getOffice().getIdentifier());
+      }
+      if (currentOfficeNode.getBranches() != null) {
+        currentOfficeNode.getBranches().forEach(officeNodes::push);
+      }
+    }
+
+    final List<String> existingIdentifiers = this.officeService.findExistingIdentifiers(identifiers);
+    if (!existingIdentifiers.isEmpty()) {
+      throw ServiceException.conflict("Office {0} already exists.", existingIdentifiers.get(0));
+    }
+
+    return this.commandDispatcher.dispatch(new ImportOfficesCommand(officeNode), HttpStatus.CREATED,
+        () -> this.officeService.findOfficeByIdentifier(officeNode.getOffice().getIdentifier()).orElse(null));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -128,8 +213,58 @@ public class OfficeRestController {
                                           @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
                                           @RequestParam(value = "size", required = false) final Integer size,
                                           @RequestParam(value = "sortColumn", required = false) final String sortColumn,
-                                          @RequestParam(value = "sortDirection", required = false) final String sortDirection) {
-    return ResponseEntity.ok(this.officeService.fetchOffices(term, this.createPageRequest(pageIndex, size, sortColumn, sortDirection)));
+                                          @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                          @RequestParam(value = "cursor", required = false) final String cursor,
+                                          @RequestParam(value = "fields", required = false) final String fields,
+                                          @RequestParam(value = "expand", required = false) final String expand) {
+    final FieldSelection fieldSelection = FieldSelection.forOffices(fields, expand);
+    if (cursor != null) {
+      return ResponseEntity.ok(this.officeService.fetchOffices(term, this.createKeyset(cursor, sortColumn, sortDirection), this.keysetSize(size), fieldSelection));
+    }
+    return ResponseEntity.ok(this.officeService.fetchOffices(term, this.createPageRequest(pageIndex, size, sortColumn, sortDirection), fieldSelection));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.GET,
+      params = "identifiers",
+      consumes = MediaType.ALL_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<List<Office>> findOfficesByIdentifiers(@RequestParam("identifiers") final List<String> identifiers) {
+    return ResponseEntity.ok(this.officeService.findOfficesByIdentifiers(this.lookupIdentifiers(identifiers)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices",
+      method = RequestMethod.POST,
+      params = "lookup",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<List<Office>> lookupOffices(@RequestBody final List<String> identifiers) {
+    return ResponseEntity.ok(this.officeService.findOfficesByIdentifiers(this.lookupIdentifiers(identifiers)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices/export",
+      method = RequestMethod.GET,
+      consumes = MediaType.ALL_VALUE,
+      produces = NDJSON_MEDIA_TYPE
+  )
+  public void exportOffices(final HttpServletResponse response) throws IOException {
+    response.setContentType(NDJSON_MEDIA_TYPE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    final Writer writer = response.getWriter();
+    this.exportService.exportOffices(writer);
+    writer.flush();
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -141,7 +276,13 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Office> findOffice(@PathVariable("identifier") final String identifier) {
+  ResponseEntity<Office> findOffice(@PathVariable("identifier") final String identifier, final WebRequest webRequest) {
+    final ResourceVersion resourceVersion = this.officeService.findOfficeVersion(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Office with identifier {0} not found.", identifier));
+    if (webRequest.checkNotModified(resourceVersion.getETag(), resourceVersion.getLastModified())) {
+      return null;
+    }
+
     final Optional<Office> office = this.officeService.findOfficeByIdentifier(identifier);
     if (office.isPresent()) {
       return ResponseEntity.ok(office.get());
@@ -159,8 +300,8 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> updateOffice(@PathVariable("identifier") final String identifier,
-                                    @RequestBody @Valid final Office office) throws InterruptedException {
+  ResponseEntity<Office> updateOffice(@PathVariable("identifier") final String identifier,
+                                      @RequestBody @Valid final Office office) throws InterruptedException {
     if (!this.officeService.officeExists(identifier)) {
       throw ServiceException.notFound("Office {0} not found.", identifier);
     }
@@ -169,8 +310,8 @@ public class OfficeRestController {
       throw ServiceException.badRequest("Office identifier must match resource identifier");
     }
 
-    this.commandGateway.process(new UpdateOfficeCommand(office));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new UpdateOfficeCommand(office), HttpStatus.OK,
+        () -> this.officeService.findOfficeByIdentifier(identifier).orElse(null));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -182,8 +323,8 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> addBranch(@PathVariable("identifier") final String identifier,
-                                 @RequestBody @Valid final Office office) {
+  ResponseEntity<Office> addBranch(@PathVariable("identifier") final String identifier,
+                                   @RequestBody @Valid final Office office) {
     if (!this.officeService.officeExists(identifier)) {
       throw ServiceException.notFound("Parent office {0} not found.", identifier);
     }
@@ -196,8 +337,8 @@ public class OfficeRestController {
       throw ServiceException.conflict("Office {0} already exists.", office.getIdentifier());
     }
 
-    this.commandGateway.process(new AddBranchCommand(identifier, office));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new AddBranchCommand(identifier, office), HttpStatus.CREATED,
+        () -> this.officeService.findOfficeByIdentifier(office.getIdentifier()).orElse(null));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -213,11 +354,52 @@ public class OfficeRestController {
                                          @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
                                          @RequestParam(value = "size", required = false) final Integer size,
                                          @RequestParam(value = "sortColumn", required = false) final String sortColumn,
-                                         @RequestParam(value = "sortDirection", required = false) final String sortDirection) {
+                                         @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                         @RequestParam(value = "fields", required = false) final String fields,
+                                         @RequestParam(value = "expand", required = false) final String expand) {
+    final FieldSelection fieldSelection = FieldSelection.forOffices(fields, expand);
     if (!this.officeService.officeExists(identifier)) {
       throw ServiceException.notFound("Parent office {0} not found.", identifier);
     }
-    return ResponseEntity.ok(this.officeService.fetchBranches(identifier, this.createPageRequest(pageIndex, size, sortColumn, sortDirection)));
+    return ResponseEntity.ok(this.officeService.fetchBranches(identifier, this.createPageRequest(pageIndex, size, sortColumn, sortDirection), fieldSelection));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices/{identifier}/descendants",
+      method = RequestMethod.GET,
+      produces = MediaType.APPLICATION_JSON_VALUE,
+      consumes = MediaType.ALL_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<OfficePage> getDescendants(@PathVariable("identifier") final String identifier,
+                                            @RequestParam(value = "maxDepth", required = false) final Integer maxDepth,
+                                            @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                                            @RequestParam(value = "size", required = false) final Integer size,
+                                            @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                            @RequestParam(value = "sortDirection", required = false) final String sortDirection) {
+    this.validateMaxDepth(maxDepth);
+    return ResponseEntity.ok(this.officeService.fetchDescendants(identifier, maxDepth, this.createPageRequest(pageIndex, size, sortColumn, sortDirection)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/offices/{identifier}/ancestors",
+      method = RequestMethod.GET,
+      produces = MediaType.APPLICATION_JSON_VALUE,
+      consumes = MediaType.ALL_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<OfficePage> getAncestors(@PathVariable("identifier") final String identifier,
+                                          @RequestParam(value = "maxDepth", required = false) final Integer maxDepth,
+                                          @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
+                                          @RequestParam(value = "size", required = false) final Integer size,
+                                          @RequestParam(value = "sortColumn", required = false) final String sortColumn,
+                                          @RequestParam(value = "sortDirection", required = false) final String sortDirection) {
+    this.validateMaxDepth(maxDepth);
+    return ResponseEntity.ok(this.officeService.fetchAncestors(identifier, maxDepth, this.createPageRequest(pageIndex, size, sortColumn, sortDirection)));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -247,9 +429,7 @@ public class OfficeRestController {
       throw ServiceException.conflict("Office {0} has external references.", identifier);
     }
 
-    this.commandGateway.process(new DeleteOfficeCommand(identifier));
-
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new DeleteOfficeCommand(identifier));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -261,14 +441,14 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> setAddressForOffice(@PathVariable("identifier") final String identifier,
-                                           @RequestBody @Valid final Address address) {
+  ResponseEntity<Address> setAddressForOffice(@PathVariable("identifier") final String identifier,
+                                              @RequestBody @Valid final Address address) {
     if (!this.officeService.officeExists(identifier)) {
       throw ServiceException.notFound("Office {0} not found.", identifier);
     }
 
-    this.commandGateway.process(new SetAddressForOfficeCommand(identifier, address));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new SetAddressForOfficeCommand(identifier, address), HttpStatus.OK,
+        () -> this.officeService.findAddressOfOffice(identifier).orElse(null));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -280,7 +460,13 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity getAddressOfOffice(@PathVariable("identifier") final String identifier) {
+  ResponseEntity getAddressOfOffice(@PathVariable("identifier") final String identifier, final WebRequest webRequest) {
+    final ResourceVersion resourceVersion = this.officeService.findOfficeVersion(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Office {0} not found.", identifier));
+    if (webRequest.checkNotModified(resourceVersion.getETag(), resourceVersion.getLastModified())) {
+      return null;
+    }
+
     final Optional<Address> addressOfOffice = this.officeService.findAddressOfOffice(identifier);
     if (addressOfOffice.isPresent()) {
       return ResponseEntity.ok(addressOfOffice.get());
@@ -303,8 +489,7 @@ public class OfficeRestController {
       throw ServiceException.notFound("Parent office {0} not found.", identifier);
     }
 
-    this.commandGateway.process(new DeleteAddressOfOfficeCommand(identifier));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new DeleteAddressOfOfficeCommand(identifier));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
@@ -316,7 +501,7 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> createEmployee(@RequestBody @Valid final Employee employee) throws InterruptedException {
+  ResponseEntity<Employee> createEmployee(@RequestBody @Valid final Employee employee) throws InterruptedException {
     if (employee.getAssignedOffice() != null && !this.officeService.officeExists(employee.getAssignedOffice())) {
       throw ServiceException.notFound("Office {0} to assign not found.", employee.getAssignedOffice());
     }
@@ -325,8 +510,45 @@ public class OfficeRestController {
       throw ServiceException.conflict("Employee {0} already exists.", employee.getIdentifier());
     }
 
-    this.commandGateway.process(new CreateEmployeeCommand(employee));
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new CreateEmployeeCommand(employee), HttpStatus.CREATED,
+        () -> this.employeeService.findByCode(employee.getIdentifier()).orElse(null));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
+  @RequestMapping(
+      value = "/employees/import",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<EmployeeImportReport> importEmployees(@RequestBody final List<Employee> employees) {
+    if (employees == null) {
+      throw ServiceException.badRequest("Employees must be given.");
+    }
+    try {
+      return ResponseEntity.ok(this.employeeImportService.importEmployees(employees, this::importChunk));
+    } catch (final RejectedExecutionException ex) {
+      return this.commandDispatcher.tooManyRequests();
+    }
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
+  @RequestMapping(
+      value = "/employees/import",
+      method = RequestMethod.POST,
+      consumes = CSV_MEDIA_TYPE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<EmployeeImportReport> importEmployeesFromCsv(@RequestBody final String csv) {
+    try {
+      return ResponseEntity.ok(this.employeeImportService.importEmployees(csv, this::importChunk));
+    } catch (final RejectedExecutionException ex) {
+      return this.commandDispatcher.tooManyRequests();
+    }
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
@@ -343,11 +565,61 @@ public class OfficeRestController {
                                               @RequestParam(value = "pageIndex", required = false) final Integer pageIndex,
                                               @RequestParam(value = "size", required = false) final Integer size,
                                               @RequestParam(value = "sortColumn", required = false) final String sortColumn,
-                                              @RequestParam(value = "sortDirection", required = false) final String sortDirection) {
+                                              @RequestParam(value = "sortDirection", required = false) final String sortDirection,
+                                              @RequestParam(value = "cursor", required = false) final String cursor,
+                                              @RequestParam(value = "fields", required = false) final String fields,
+                                              @RequestParam(value = "expand", required = false) final String expand) {
+    final FieldSelection fieldSelection = FieldSelection.forEmployees(fields, expand);
     if (officeIdentifier != null && !this.officeService.officeExists(officeIdentifier)) {
       throw ServiceException.notFound("Office {0} not found.", officeIdentifier);
     }
-    return ResponseEntity.ok(this.employeeService.findEmployees(term, officeIdentifier, this.createPageRequest(pageIndex, size, sortColumn, sortDirection)));
+    if (cursor != null) {
+      return ResponseEntity.ok(this.employeeService.findEmployees(term, officeIdentifier, this.createKeyset(cursor, sortColumn, sortDirection), this.keysetSize(size), fieldSelection));
+    }
+    return ResponseEntity.ok(this.employeeService.findEmployees(term, officeIdentifier, this.createPageRequest(pageIndex, size, sortColumn, sortDirection), fieldSelection));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
+  @RequestMapping(
+      value = "/employees",
+      method = RequestMethod.GET,
+      params = "identifiers",
+      consumes = MediaType.ALL_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<List<Employee>> findEmployeesByIdentifiers(@RequestParam("identifiers") final List<String> identifiers) {
+    return ResponseEntity.ok(this.employeeService.findEmployeesByIdentifiers(this.lookupIdentifiers(identifiers)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
+  @RequestMapping(
+      value = "/employees",
+      method = RequestMethod.POST,
+      params = "lookup",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<List<Employee>> lookupEmployees(@RequestBody final List<String> identifiers) {
+    return ResponseEntity.ok(this.employeeService.findEmployeesByIdentifiers(this.lookupIdentifiers(identifiers)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
+  @RequestMapping(
+      value = "/employees/export",
+      method = RequestMethod.GET,
+      consumes = MediaType.ALL_VALUE,
+      produces = NDJSON_MEDIA_TYPE
+  )
+  public void exportEmployees(final HttpServletResponse response) throws IOException {
+    response.setContentType(NDJSON_MEDIA_TYPE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    final Writer writer = response.getWriter();
+    this.exportService.exportEmployees(writer);
+    writer.flush();
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
@@ -360,7 +632,13 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Employee> findEmployee(@PathVariable("useridentifier") final String identifier) {
+  ResponseEntity<Employee> findEmployee(@PathVariable("useridentifier") final String identifier, final WebRequest webRequest) {
+    final ResourceVersion resourceVersion = this.employeeService.findEmployeeVersion(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Employee with identifier {0} not found.", identifier));
+    if (webRequest.checkNotModified(resourceVersion.getETag(), resourceVersion.getLastModified())) {
+      return null;
+    }
+
     final Optional<Employee> employee = this.employeeService.findByCode(identifier);
     if (employee.isPresent()) {
       return ResponseEntity.ok(employee.get());
@@ -379,8 +657,8 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> updateEmployee(@PathVariable("useridentifier") final String identifier,
-                                      @RequestBody @Valid final Employee employee) {
+  ResponseEntity<Employee> updateEmployee(@PathVariable("useridentifier") final String identifier,
+                                          @RequestBody @Valid final Employee employee) {
     if (!this.employeeService.employeeExists(identifier)) {
       throw ServiceException.notFound("Employee {0} not found.", identifier);
     }
@@ -393,9 +671,8 @@ public class OfficeRestController {
       throw ServiceException.notFound("Office {0} to assign not found.", employee.getAssignedOffice());
     }
 
-    this.commandGateway.process(new UpdateEmployeeCommand(employee));
-
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new UpdateEmployeeCommand(employee), HttpStatus.OK,
+        () -> this.employeeService.findByCode(identifier).orElse(null));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
@@ -409,7 +686,7 @@ public class OfficeRestController {
   @ResponseBody
   ResponseEntity<Void> deleteEmployee(@PathVariable("useridentifier") final String identifier) {
     if (this.employeeService.employeeExists(identifier)) {
-      this.commandGateway.process(new DeleteEmployeeCommand(identifier));
+      return this.commandDispatcher.dispatch(new DeleteEmployeeCommand(identifier));
     }
     return ResponseEntity.accepted().build();
   }
@@ -424,15 +701,14 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> setContactDetails(@PathVariable("useridentifier") final String identifier,
-                                         @RequestBody @Valid final List<ContactDetail> contactDetails) {
+  ResponseEntity<List<ContactDetail>> setContactDetails(@PathVariable("useridentifier") final String identifier,
+                                                        @RequestBody @Valid final List<ContactDetail> contactDetails) {
     if (!this.employeeService.employeeExists(identifier)) {
       throw ServiceException.notFound("Employee {0} not found.", identifier);
     }
 
-    this.commandGateway.process(new SetContactDetailsCommand(identifier, contactDetails));
-
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new SetContactDetailsCommand(identifier, contactDetails), HttpStatus.OK,
+        () -> this.employeeService.findContactDetailsByEmployee(identifier));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.EMPLOYEE_MANAGEMENT)
@@ -445,9 +721,12 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<List<ContactDetail>> fetchContactDetails(@PathVariable("useridentifier") final String identifier) {
-    if (!this.employeeService.employeeExists(identifier)) {
-      throw ServiceException.notFound("Employee {0} not found.", identifier);
+  ResponseEntity<List<ContactDetail>> fetchContactDetails(@PathVariable("useridentifier") final String identifier,
+                                                          final WebRequest webRequest) {
+    final ResourceVersion resourceVersion = this.employeeService.findEmployeeVersion(identifier)
+        .orElseThrow(() -> ServiceException.notFound("Employee {0} not found.", identifier));
+    if (webRequest.checkNotModified(resourceVersion.getETag(), resourceVersion.getLastModified())) {
+      return null;
     }
     return ResponseEntity.ok(this.employeeService.findContactDetailsByEmployee(identifier));
   }
@@ -467,9 +746,7 @@ public class OfficeRestController {
       throw ServiceException.notFound("Employee {0} not found.", identifier);
     }
 
-    this.commandGateway.process(new DeleteContactDetailCommand(identifier));
-
-    return ResponseEntity.accepted().build();
+    return this.commandDispatcher.dispatch(new DeleteContactDetailCommand(identifier));
   }
 
   @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
@@ -481,15 +758,84 @@ public class OfficeRestController {
   )
   public
   @ResponseBody
-  ResponseEntity<Void> addExternalReference(@PathVariable("identifier") final String officeIdentifier,
-                                            @RequestBody @Valid final ExternalReference externalReference) {
+  ResponseEntity<Office> addExternalReference(@PathVariable("identifier") final String officeIdentifier,
+                                              @RequestBody @Valid final ExternalReference externalReference) {
     if (!this.officeService.officeExists(officeIdentifier)) {
       throw ServiceException.notFound("Office {0} not found.", officeIdentifier);
     }
 
-    this.commandGateway.process(new AddExternalReferenceCommand(officeIdentifier, externalReference));
+    return this.commandDispatcher.dispatch(new AddExternalReferenceCommand(officeIdentifier, externalReference), HttpStatus.OK,
+        () -> this.officeService.findOfficeByIdentifier(officeIdentifier).orElse(null));
+  }
 
-    return ResponseEntity.accepted().build();
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/changes",
+      method = RequestMethod.GET,
+      consumes = MediaType.ALL_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<ChangePage> fetchChanges(@RequestParam(value = "since", required = false) final String since,
+                                          @RequestParam(value = "size", required = false) final Integer size) {
+    final ChangeCursor changeCursor = since != null && !since.isEmpty() ? ChangeCursor.decode(since) : ChangeCursor.first();
+    return ResponseEntity.ok(this.changeService.fetchChanges(changeCursor, this.keysetSize(size)));
+  }
+
+  @Permittable(value = AcceptedTokenType.TENANT, groupId = PermittableGroupIds.OFFICE_MANAGEMENT)
+  @RequestMapping(
+      value = "/metrics/commands",
+      method = RequestMethod.GET,
+      consumes = MediaType.ALL_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public
+  @ResponseBody
+  ResponseEntity<Map<String, Map<String, Double>>> fetchCommandMetrics() {
+    return ResponseEntity.ok(this.commandMetrics.snapshot(TenantContextHolder.checkedGetIdentifier()));
+  }
+
+  private EmployeeImportReport importChunk(final ImportEmployeesCommand importEmployeesCommand) {
+    return this.commandDispatcher.process(importEmployeesCommand, EmployeeImportReport.class);
+  }
+
+  private Set<String> lookupIdentifiers(final List<String> identifiers) {
+    if (identifiers == null) {
+      throw ServiceException.badRequest("Identifiers must be given.");
+    }
+
+    final Set<String> lookupIdentifiers = new LinkedHashSet<>(identifiers);
+    if (lookupIdentifiers.size() > MAX_LOOKUP_IDENTIFIERS) {
+      throw ServiceException.badRequest("At most {0} identifiers can be looked up at once.", MAX_LOOKUP_IDENTIFIERS);
+    }
+    return lookupIdentifiers;
+  }
+
+  private void validateMaxDepth(final Integer maxDepth) {
+    if (maxDepth != null && maxDepth < 1) {
+      throw ServiceException.badRequest("Max depth must be greater than zero.");
+    }
+  }
+
+  private Keyset createKeyset(final String cursor, final String sortColumn, final String sortDirection) {
+    if (!cursor.isEmpty()) {
+      return Keyset.decode(cursor);
+    }
+    final String sortColumnToUse = sortColumn != null ? sortColumn : "identifier";
+    final Sort.Direction direction = sortDirection != null ? Sort.Direction.valueOf(sortDirection.toUpperCase()) : Sort.Direction.ASC;
+    return Keyset.first(sortColumnToUse, direction);
+  }
+
+  private int keysetSize(final Integer size) {
+    final int sizeToUse = size != null ? size : 20;
+    if (sizeToUse < 1) {
+      throw ServiceException.badRequest("Size must be greater than zero.");
+    }
+    if (sizeToUse > MAX_KEYSET_SIZE) {
+      throw ServiceException.badRequest("Size must not exceed {0}.", MAX_KEYSET_SIZE);
+    }
+    return sizeToUse;
   }
 
   private Pageable createPageRequest(final Integer pageIndex, final Integer size, final String sortColumn, final String sortDirection) {
@@ -0,0 +1,34 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE horus_office_hierarchy ( id BIGSERIAL, ancestor_id BIGINT NOT NULL, descendant_id BIGINT NOT NULL, depth INT NOT NULL,
+                                      CONSTRAINT office_hierarchy_pk PRIMARY KEY (id),
+                                      CONSTRAINT office_hierarchy_uq UNIQUE (ancestor_id, descendant_id),
+                                      CONSTRAINT office_hierarchy_ancestor_fk FOREIGN KEY (ancestor_id) REFERENCES horus_offices (id) ON UPDATE RESTRICT,
+                                      CONSTRAINT office_hierarchy_descendant_fk FOREIGN KEY (descendant_id) REFERENCES horus_offices (id) ON UPDATE RESTRICT);
+
+CREATE INDEX office_hierarchy_descendant_idx ON horus_office_hierarchy (descendant_id, depth);
+
+INSERT INTO horus_office_hierarchy (ancestor_id, descendant_id, depth)
+  WITH RECURSIVE closure (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM horus_offices
+    UNION ALL
+    SELECT c.ancestor_id, o.id, c.depth + 1 FROM closure c JOIN horus_offices o ON o.parent_office_id = c.descendant_id
+  )
+  SELECT ancestor_id, descendant_id, depth FROM closure;
@@ -0,0 +1,26 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE INDEX office_parent_identifier_idx ON horus_offices (parent_office_id, identifier, id);
+CREATE INDEX office_name_idx ON horus_offices (a_name, id);
+
+CREATE INDEX employee_identifier_idx ON horus_employees (identifier, id);
+CREATE INDEX employee_given_name_idx ON horus_employees (COALESCE(given_name, ''), id);
+CREATE INDEX employee_surname_idx ON horus_employees (COALESCE(surname, ''), id);
+CREATE INDEX employee_office_identifier_idx ON horus_employees (assigned_office_id, identifier, id);
@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX office_identifier_trgm_idx ON horus_offices USING GIN (lower(identifier) gin_trgm_ops);
+CREATE INDEX office_name_trgm_idx ON horus_offices USING GIN (lower(a_name) gin_trgm_ops);
+
+CREATE INDEX employee_identifier_trgm_idx ON horus_employees USING GIN (lower(identifier) gin_trgm_ops);
+CREATE INDEX employee_given_name_trgm_idx ON horus_employees USING GIN (lower(given_name) gin_trgm_ops);
+CREATE INDEX employee_surname_trgm_idx ON horus_employees USING GIN (lower(surname) gin_trgm_ops);
@@ -0,0 +1,23 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE horus_change_log ( id BIGSERIAL, tx_id BIGINT NOT NULL DEFAULT txid_current(), entity_type VARCHAR(32) NOT NULL, entity_identifier VARCHAR(32) NOT NULL, a_action VARCHAR(16) NOT NULL, a_state TEXT NULL, changed_by VARCHAR(32) NOT NULL, changed_on TIMESTAMP(3) NOT NULL,
+                                CONSTRAINT change_log_pk PRIMARY KEY (id));
+
+CREATE INDEX change_log_tx_idx ON horus_change_log (tx_id, id);
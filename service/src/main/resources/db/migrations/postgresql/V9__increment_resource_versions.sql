@@ -0,0 +1,28 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE FUNCTION horus_increment_version() RETURNS TRIGGER AS $$
+BEGIN
+  NEW.a_version := OLD.a_version + 1;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER offices_version_trg BEFORE UPDATE ON horus_offices FOR EACH ROW EXECUTE PROCEDURE horus_increment_version();
+CREATE TRIGGER employees_version_trg BEFORE UPDATE ON horus_employees FOR EACH ROW EXECUTE PROCEDURE horus_increment_version();